@@ -0,0 +1,63 @@
+package com.github.matei.sentinel.benchmark;
+
+import com.github.matei.sentinel.model.MonitoringEvent;
+import com.github.matei.sentinel.monitor.EventDetector;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link EventDetector#detectEvents} on a full poll snapshot
+ * (runs x jobs x {@value Payloads#STEPS_PER_JOB} steps).
+ * <ul>
+ *   <li>{@link #firstSeen}: a fresh detector sees every run, job and step for the
+ *       first time and emits an event for each.</li>
+ *   <li>{@link #unchanged}: a detector that has already seen the snapshot
+ *       re-checks it; no events are emitted. This is the common steady-state poll.</li>
+ * </ul>
+ * {@link #parallelism} is the number of shards; above 1, polls with enough runs
+ * are detected on the common fork-join pool.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DetectBenchmark
+{
+    private static final String REPOSITORY = "octo-org/octo-repo";
+
+    @Param({"10", "100"})
+    int runs;
+
+    @Param({"5", "50"})
+    int jobs;
+
+    @Param({"1", "4"})
+    int parallelism;
+
+    private Snapshot snapshot;
+    private EventDetector warmDetector;
+
+    @Setup
+    public void setUp()
+    {
+        snapshot = Snapshot.of(runs, jobs, "in_progress");
+        warmDetector = new EventDetector(REPOSITORY, parallelism);
+        warmDetector.detectEvents(snapshot.runs, snapshot.jobsByRun);
+    }
+
+    @Benchmark
+    public List<MonitoringEvent> firstSeen()
+    {
+        return new EventDetector(REPOSITORY, parallelism).detectEvents(snapshot.runs, snapshot.jobsByRun);
+    }
+
+    @Benchmark
+    public List<MonitoringEvent> unchanged()
+    {
+        return warmDetector.detectEvents(snapshot.runs, snapshot.jobsByRun);
+    }
+}
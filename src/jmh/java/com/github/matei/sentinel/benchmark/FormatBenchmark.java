@@ -0,0 +1,50 @@
+package com.github.matei.sentinel.benchmark;
+
+import com.github.matei.sentinel.formatter.ConsoleEventFormatter;
+import com.github.matei.sentinel.model.MonitoringEvent;
+import com.github.matei.sentinel.monitor.EventDetector;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link ConsoleEventFormatter#format} over the events of one poll.
+ * Each operation formats every event detected in a first-seen snapshot, which
+ * mixes workflow, job and step events.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FormatBenchmark
+{
+    @Param({"10", "100"})
+    int runs;
+
+    @Param({"5", "50"})
+    int jobs;
+
+    private ConsoleEventFormatter formatter;
+    private List<MonitoringEvent> events;
+
+    @Setup
+    public void setUp()
+    {
+        Snapshot snapshot = Snapshot.of(runs, jobs, "in_progress");
+        formatter = new ConsoleEventFormatter();
+        events = new EventDetector("octo-org/octo-repo").detectEvents(snapshot.runs, snapshot.jobsByRun);
+    }
+
+    @Benchmark
+    public void format(Blackhole blackhole)
+    {
+        for (MonitoringEvent event : events)
+        {
+            blackhole.consume(formatter.format(event));
+        }
+    }
+}
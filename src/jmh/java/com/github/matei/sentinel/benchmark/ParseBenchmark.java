@@ -0,0 +1,56 @@
+package com.github.matei.sentinel.benchmark;
+
+import com.github.matei.sentinel.client.GitHubResponseParser;
+import com.github.matei.sentinel.model.Job;
+import com.github.matei.sentinel.model.WorkflowRun;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link GitHubResponseParser} throughput on workflow run and job responses.
+ * <p>
+ * Each operation parses one complete response body, so ops/s is responses per
+ * second. Run with the GC profiler (the profile default) to see bytes allocated
+ * per response.
+ * </p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParseBenchmark
+{
+    @Param({"10", "100"})
+    int runs;
+
+    @Param({"5", "50"})
+    int jobs;
+
+    private String runsBody;
+    private String jobsBody;
+
+    @Setup
+    public void setUp()
+    {
+        runsBody = Payloads.workflowRuns(runs, "in_progress");
+        jobsBody = Payloads.jobs(Payloads.runId(0), jobs, "in_progress");
+    }
+
+    @Benchmark
+    public List<WorkflowRun> parseWorkflowRuns() throws IOException
+    {
+        return GitHubResponseParser.parseWorkflowRuns(new StringReader(runsBody));
+    }
+
+    @Benchmark
+    public List<Job> parseJobs() throws IOException
+    {
+        return GitHubResponseParser.parseJobs(new StringReader(jobsBody));
+    }
+}
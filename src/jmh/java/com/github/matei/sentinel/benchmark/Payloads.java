@@ -0,0 +1,178 @@
+package com.github.matei.sentinel.benchmark;
+
+import java.time.Instant;
+
+/**
+ * Generates GitHub Actions API response bodies for benchmarks.
+ * <p>
+ * The payloads follow the shape of real {@code /actions/runs} and
+ * {@code /actions/runs/{run_id}/jobs} responses, including the nested
+ * {@code repository}, {@code head_commit} and {@code actor} objects, URLs and
+ * labels that the parser has to skip, so parse costs are representative. Content
+ * is deterministic for a given size, keeping results comparable between runs.
+ * </p>
+ */
+final class Payloads
+{
+    /**
+     * Number of steps in every generated job.
+     */
+    static final int STEPS_PER_JOB = 20;
+
+    static final Instant BASE_TIME = Instant.parse("2025-11-15T10:00:00Z");
+
+    private static final String REPO_URL = "https://api.github.com/repos/octo-org/octo-repo";
+
+    private Payloads()
+    {
+        throw new UnsupportedOperationException("Payloads should not be instantiated");
+    }
+
+    /**
+     * Builds a {@code /actions/runs} response.
+     *
+     * @param runCount number of workflow runs
+     * @param status status of every run ("queued", "in_progress" or "completed")
+     * @return JSON body
+     */
+    static String workflowRuns(int runCount, String status)
+    {
+        StringBuilder json = new StringBuilder(runCount * 3000);
+        json.append("{\"total_count\":").append(runCount).append(",\"workflow_runs\":[");
+        for (int i = 0; i < runCount; i++)
+        {
+            if (i > 0)
+            {
+                json.append(',');
+            }
+            appendRun(json, runId(i), status);
+        }
+        return json.append("]}").toString();
+    }
+
+    /**
+     * Builds a {@code /actions/runs/{run_id}/jobs} response.
+     *
+     * @param runId ID of the run the jobs belong to
+     * @param jobCount number of jobs
+     * @param status status of every job and step
+     * @return JSON body
+     */
+    static String jobs(long runId, int jobCount, String status)
+    {
+        StringBuilder json = new StringBuilder(jobCount * STEPS_PER_JOB * 250);
+        json.append("{\"total_count\":").append(jobCount).append(",\"jobs\":[");
+        for (int i = 0; i < jobCount; i++)
+        {
+            if (i > 0)
+            {
+                json.append(',');
+            }
+            appendJob(json, runId, jobId(runId, i), i, status);
+        }
+        return json.append("]}").toString();
+    }
+
+    static long runId(int index)
+    {
+        return 9_000_000_000L + index;
+    }
+
+    static long jobId(long runId, int index)
+    {
+        return runId * 100 + index;
+    }
+
+    private static void appendRun(StringBuilder json, long id, String status)
+    {
+        boolean completed = "completed".equals(status);
+        String updatedAt = BASE_TIME.plusSeconds(id % 3600).toString();
+        json.append('{')
+                .append("\"id\":").append(id).append(',')
+                .append("\"name\":\"CI Pipeline\",")
+                .append("\"node_id\":\"WFR_kwLOAbc").append(id).append("\",")
+                .append("\"head_branch\":\"feature/branch-").append(id % 17).append("\",")
+                .append("\"head_sha\":\"").append(sha(id)).append("\",")
+                .append("\"path\":\".github/workflows/ci.yml\",")
+                .append("\"display_title\":\"Improve polling performance (#").append(id % 1000).append(")\",")
+                .append("\"run_number\":").append(id % 10000).append(',')
+                .append("\"event\":\"push\",")
+                .append("\"status\":\"").append(status).append("\",")
+                .append("\"conclusion\":").append(completed ? "\"success\"" : "null").append(',')
+                .append("\"workflow_id\":161335,")
+                .append("\"check_suite_id\":").append(id + 42).append(',')
+                .append("\"url\":\"").append(REPO_URL).append("/actions/runs/").append(id).append("\",")
+                .append("\"html_url\":\"https://github.com/octo-org/octo-repo/actions/runs/").append(id).append("\",")
+                .append("\"pull_requests\":[],")
+                .append("\"created_at\":\"").append(BASE_TIME).append("\",")
+                .append("\"updated_at\":\"").append(updatedAt).append("\",")
+                .append("\"actor\":{\"login\":\"octocat\",\"id\":1,\"type\":\"User\",\"site_admin\":false},")
+                .append("\"run_attempt\":1,")
+                .append("\"run_started_at\":\"").append(BASE_TIME).append("\",")
+                .append("\"run_finished_at\":").append(completed ? "\"" + updatedAt + "\"" : "null").append(',')
+                .append("\"jobs_url\":\"").append(REPO_URL).append("/actions/runs/").append(id).append("/jobs\",")
+                .append("\"logs_url\":\"").append(REPO_URL).append("/actions/runs/").append(id).append("/logs\",")
+                .append("\"head_commit\":{\"id\":\"").append(sha(id)).append("\",")
+                .append("\"message\":\"Improve polling performance\\n\\nDetails of the change.\",")
+                .append("\"timestamp\":\"").append(BASE_TIME).append("\",")
+                .append("\"author\":{\"name\":\"Mona Octocat\",\"email\":\"mona@example.com\"}},")
+                .append("\"repository\":{\"id\":1296269,\"name\":\"octo-repo\",\"full_name\":\"octo-org/octo-repo\",")
+                .append("\"private\":false,\"owner\":{\"login\":\"octo-org\",\"id\":2,\"type\":\"Organization\"},")
+                .append("\"html_url\":\"https://github.com/octo-org/octo-repo\",\"fork\":false}")
+                .append('}');
+    }
+
+    private static void appendJob(StringBuilder json, long runId, long id, int index, String status)
+    {
+        boolean completed = "completed".equals(status);
+        Instant startedAt = BASE_TIME.plusSeconds(index * 60L);
+        json.append('{')
+                .append("\"id\":").append(id).append(',')
+                .append("\"run_id\":").append(runId).append(',')
+                .append("\"run_url\":\"").append(REPO_URL).append("/actions/runs/").append(runId).append("\",")
+                .append("\"node_id\":\"CR_kwDOAbc").append(id).append("\",")
+                .append("\"head_sha\":\"").append(sha(runId)).append("\",")
+                .append("\"url\":\"").append(REPO_URL).append("/actions/jobs/").append(id).append("\",")
+                .append("\"html_url\":\"https://github.com/octo-org/octo-repo/actions/runs/").append(runId)
+                .append("/job/").append(id).append("\",")
+                .append("\"status\":\"").append(status).append("\",")
+                .append("\"conclusion\":").append(completed ? "\"success\"" : "null").append(',')
+                .append("\"created_at\":\"").append(BASE_TIME).append("\",")
+                .append("\"started_at\":\"").append(startedAt).append("\",")
+                .append("\"completed_at\":").append(completed ? "\"" + startedAt.plusSeconds(59) + "\"" : "null")
+                .append(',')
+                .append("\"name\":\"build (ubuntu-latest, ").append(index).append(")\",")
+                .append("\"steps\":[");
+        for (int step = 1; step <= STEPS_PER_JOB; step++)
+        {
+            if (step > 1)
+            {
+                json.append(',');
+            }
+            Instant stepStart = startedAt.plusSeconds(step * 2L);
+            json.append("{\"name\":\"Step ").append(step).append(": run build script\",")
+                    .append("\"status\":\"").append(status).append("\",")
+                    .append("\"conclusion\":").append(completed ? "\"success\"" : "null").append(',')
+                    .append("\"number\":").append(step).append(',')
+                    .append("\"started_at\":\"").append(stepStart).append("\",")
+                    .append("\"completed_at\":")
+                    .append(completed ? "\"" + stepStart.plusSeconds(2) + "\"" : "null")
+                    .append('}');
+        }
+        json.append("],")
+                .append("\"check_run_url\":\"").append(REPO_URL).append("/check-runs/").append(id).append("\",")
+                .append("\"labels\":[\"ubuntu-latest\"],")
+                .append("\"runner_id\":").append(index + 1).append(',')
+                .append("\"runner_name\":\"GitHub Actions ").append(index + 1).append("\",")
+                .append("\"runner_group_id\":2,")
+                .append("\"runner_group_name\":\"GitHub Actions\",")
+                .append("\"workflow_name\":\"CI Pipeline\",")
+                .append("\"head_branch\":\"main\"")
+                .append('}');
+    }
+
+    private static String sha(long seed)
+    {
+        return String.format("%040x", seed * 0x9E3779B97F4A7C15L & Long.MAX_VALUE);
+    }
+}
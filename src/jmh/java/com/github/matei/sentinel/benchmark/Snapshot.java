@@ -0,0 +1,55 @@
+package com.github.matei.sentinel.benchmark;
+
+import com.github.matei.sentinel.client.GitHubResponseParser;
+import com.github.matei.sentinel.model.Job;
+import com.github.matei.sentinel.model.WorkflowRun;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One poll's worth of parsed data: workflow runs and the jobs of every run,
+ * as {@link com.github.matei.sentinel.monitor.EventDetector#detectEvents} receives them.
+ */
+final class Snapshot
+{
+    final List<WorkflowRun> runs;
+    final Map<Long, List<Job>> jobsByRun;
+
+    private Snapshot(List<WorkflowRun> runs, Map<Long, List<Job>> jobsByRun)
+    {
+        this.runs = runs;
+        this.jobsByRun = jobsByRun;
+    }
+
+    /**
+     * Parses generated payloads into a snapshot.
+     *
+     * @param runCount number of workflow runs
+     * @param jobCount number of jobs per run
+     * @param status status of every run, job and step
+     * @return the parsed snapshot
+     */
+    static Snapshot of(int runCount, int jobCount, String status)
+    {
+        try
+        {
+            List<WorkflowRun> runs = GitHubResponseParser.parseWorkflowRuns(
+                    new StringReader(Payloads.workflowRuns(runCount, status)));
+            Map<Long, List<Job>> jobsByRun = new HashMap<>();
+            for (WorkflowRun run : runs)
+            {
+                jobsByRun.put(run.getId(), GitHubResponseParser.parseJobs(
+                        new StringReader(Payloads.jobs(run.getId(), jobCount, status))));
+            }
+            return new Snapshot(runs, jobsByRun);
+        } catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
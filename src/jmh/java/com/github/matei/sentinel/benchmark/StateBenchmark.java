@@ -0,0 +1,103 @@
+package com.github.matei.sentinel.benchmark;
+
+import com.github.matei.sentinel.model.MonitoringEvent;
+import com.github.matei.sentinel.monitor.EventDetector;
+import com.github.matei.sentinel.persistence.FileStateManager;
+import com.github.matei.sentinel.persistence.PersistenceMode;
+import com.github.matei.sentinel.util.Constants;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Measures the {@link FileStateManager} paths taken on every poll.
+ * <ul>
+ *   <li>{@link #dedup}: fingerprints and marks every event of a poll that has
+ *       already been processed, the steady-state duplicate check.</li>
+ *   <li>{@link #save}: records one check-time update and one new event, then
+ *       saves, with the fingerprint set full at {@link Constants#MAX_EVENT_IDS}.
+ *       Compare {@code SNAPSHOT} and {@code JOURNAL} via the {@code mode} parameter.</li>
+ * </ul>
+ * State files are written to a temporary directory that is deleted on teardown.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StateBenchmark
+{
+    private static final String REPOSITORY = "octo-org/octo-repo";
+
+    @Param({"SNAPSHOT", "JOURNAL"})
+    PersistenceMode mode;
+
+    private Path directory;
+    private FileStateManager stateManager;
+    private List<MonitoringEvent> events;
+    private long nextEvent;
+    private Instant checkTime;
+
+    @Setup
+    public void setUp() throws IOException
+    {
+        directory = Files.createTempDirectory("sentinel-bench");
+        stateManager = new FileStateManager(directory.resolve("state.json"), mode);
+
+        // Fill the fingerprint set so saves write a full-size state
+        for (nextEvent = 0; nextEvent < Constants.MAX_EVENT_IDS; nextEvent++)
+        {
+            stateManager.markProcessed(REPOSITORY, nextEvent);
+        }
+
+        // Mark one poll's events (fewer than the capacity) last so none are evicted
+        Snapshot snapshot = Snapshot.of(5, 5, "in_progress");
+        events = new EventDetector(REPOSITORY).detectEvents(snapshot.runs, snapshot.jobsByRun);
+        for (MonitoringEvent event : events)
+        {
+            stateManager.markProcessed(REPOSITORY, event.fingerprint());
+        }
+        checkTime = Payloads.BASE_TIME;
+        stateManager.updateLastCheckTime(REPOSITORY, checkTime);
+        stateManager.save();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException
+    {
+        try (Stream<Path> files = Files.walk(directory))
+        {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList())
+            {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Benchmark
+    public void dedup(Blackhole blackhole)
+    {
+        for (MonitoringEvent event : events)
+        {
+            blackhole.consume(stateManager.markProcessed(REPOSITORY, event.fingerprint()));
+        }
+    }
+
+    @Benchmark
+    public void save()
+    {
+        checkTime = checkTime.plusSeconds(1);
+        stateManager.updateLastCheckTime(REPOSITORY, checkTime);
+        stateManager.markProcessed(REPOSITORY, nextEvent++);
+        stateManager.save();
+    }
+}
@@ -0,0 +1,78 @@
+package com.github.matei.sentinel.benchmark;
+
+import com.github.matei.sentinel.persistence.FileStateManager;
+import com.github.matei.sentinel.persistence.FsyncPolicy;
+import com.github.matei.sentinel.persistence.PersistenceMode;
+import com.github.matei.sentinel.persistence.StateFormat;
+import com.github.matei.sentinel.util.Constants;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Measures loading the state file at startup, with every repository's fingerprint
+ * set full at {@link Constants#MAX_EVENT_IDS}. Compare {@code JSON} and {@code BINARY}
+ * via the {@code format} parameter; the file sizes are printed on setup.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StateLoadBenchmark
+{
+    @Param({"JSON", "BINARY"})
+    StateFormat format;
+
+    @Param({"1", "100"})
+    int repositories;
+
+    private Path directory;
+    private Path stateFile;
+
+    @Setup
+    public void setUp() throws IOException
+    {
+        directory = Files.createTempDirectory("sentinel-bench");
+        stateFile = directory.resolve("state");
+        FileStateManager stateManager = new FileStateManager(stateFile, PersistenceMode.SNAPSHOT,
+                FsyncPolicy.NEVER, format);
+        long fingerprint = 0;
+        for (int i = 0; i < repositories; i++)
+        {
+            String repository = "octo-org/repo-" + i;
+            stateManager.updateLastCheckTime(repository, Payloads.BASE_TIME);
+            for (int j = 0; j < Constants.MAX_EVENT_IDS; j++)
+            {
+                // Spread fingerprints like real hashes
+                stateManager.markProcessed(repository, ++fingerprint * 0x9E3779B97F4A7C15L);
+            }
+        }
+        stateManager.save();
+        System.out.println(format + " state file: " + Files.size(stateFile) + " bytes");
+    }
+
+    @TearDown
+    public void tearDown() throws IOException
+    {
+        try (Stream<Path> files = Files.walk(directory))
+        {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList())
+            {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Benchmark
+    public FileStateManager load()
+    {
+        return new FileStateManager(stateFile, PersistenceMode.SNAPSHOT, FsyncPolicy.NEVER, format);
+    }
+}
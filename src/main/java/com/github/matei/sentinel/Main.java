@@ -1,17 +1,34 @@
 package com.github.matei.sentinel;
 
 
-import com.github.matei.sentinel.client.GitHubApiClient;
+import com.github.matei.sentinel.client.CacheStats;
 import com.github.matei.sentinel.client.GitHubApiClientImpl;
 import com.github.matei.sentinel.config.Configuration;
 import com.github.matei.sentinel.formatter.ConsoleEventFormatter;
 import com.github.matei.sentinel.formatter.EventFormatter;
 import com.github.matei.sentinel.monitor.EventDetector;
+import com.github.matei.sentinel.monitor.EventPipeline;
+import com.github.matei.sentinel.monitor.MultiRepositoryMonitor;
+import com.github.matei.sentinel.monitor.RateLimitPacer;
+import com.github.matei.sentinel.monitor.StageMetrics;
 import com.github.matei.sentinel.monitor.WorkflowMonitor;
+import com.github.matei.sentinel.persistence.AsyncCheckpointer;
 import com.github.matei.sentinel.persistence.FileStateManager;
-import com.github.matei.sentinel.persistence.StateManager;
+import com.github.matei.sentinel.persistence.FsyncPolicy;
+import com.github.matei.sentinel.persistence.PersistenceMode;
+import com.github.matei.sentinel.persistence.StateFormat;
 import com.github.matei.sentinel.util.Constants;
 import com.github.matei.sentinel.util.Logger;
+import com.github.matei.sentinel.webhook.WebhookReceiver;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
 
 /**
  * Entry point of the program
@@ -24,8 +41,18 @@ public class Main {
             System.exit(1);
         }
 
-        String repository = null;
+        List<String> repositories = new ArrayList<>();
         String token = null;
+        int concurrency = Constants.DEFAULT_JOB_FETCH_CONCURRENCY;
+        PersistenceMode persistenceMode = PersistenceMode.SNAPSHOT;
+        Duration checkpointInterval = Constants.DEFAULT_CHECKPOINT_INTERVAL;
+        int detectionParallelism = 1;
+        FsyncPolicy fsyncPolicy = FsyncPolicy.INTERVAL;
+        StateFormat stateFormat = StateFormat.JSON;
+        String branch = null;
+        String event = null;
+        Integer webhookPort = null;
+        String webhookSecret = null;
 
         // Parse arguments
         for (int i = 0; i < args.length; i++)
@@ -33,28 +60,77 @@ public class Main {
             if ((Constants.ARG_REPO_LONG.equals(args[i]) || Constants.ARG_REPO_SHORT.equals(args[i]))
                     && i + 1 < args.length)
             {
-                repository = args[i + 1];
+                repositories.add(args[i + 1]);
+                i++;
+            } else if (Constants.ARG_REPO_FILE_LONG.equals(args[i]) && i + 1 < args.length)
+            {
+                repositories.addAll(readRepositoryFile(args[i + 1]));
                 i++;
             } else if ((Constants.ARG_TOKEN_LONG.equals(args[i]) || Constants.ARG_TOKEN_SHORT.equals(args[i]))
                     && i + 1 < args.length)
             {
                 token = args[i + 1];
                 i++;
+            } else if ((Constants.ARG_CONCURRENCY_LONG.equals(args[i]) || Constants.ARG_CONCURRENCY_SHORT.equals(args[i]))
+                    && i + 1 < args.length)
+            {
+                concurrency = parsePositiveInt(args[i + 1], Constants.ARG_CONCURRENCY_LONG);
+                i++;
+            } else if (Constants.ARG_PERSISTENCE_LONG.equals(args[i]) && i + 1 < args.length)
+            {
+                persistenceMode = parsePersistenceMode(args[i + 1]);
+                i++;
+            } else if (Constants.ARG_CHECKPOINT_INTERVAL_LONG.equals(args[i]) && i + 1 < args.length)
+            {
+                checkpointInterval = Duration.ofMillis(
+                        parsePositiveInt(args[i + 1], Constants.ARG_CHECKPOINT_INTERVAL_LONG));
+                i++;
+            } else if (Constants.ARG_DETECTION_PARALLELISM_LONG.equals(args[i]) && i + 1 < args.length)
+            {
+                detectionParallelism = parsePositiveInt(args[i + 1], Constants.ARG_DETECTION_PARALLELISM_LONG);
+                i++;
+            } else if (Constants.ARG_FSYNC_LONG.equals(args[i]) && i + 1 < args.length)
+            {
+                fsyncPolicy = parseFsyncPolicy(args[i + 1]);
+                i++;
+            } else if (Constants.ARG_STATE_FORMAT_LONG.equals(args[i]) && i + 1 < args.length)
+            {
+                stateFormat = parseStateFormat(args[i + 1]);
+                i++;
+            } else if (Constants.ARG_BRANCH_LONG.equals(args[i]) && i + 1 < args.length)
+            {
+                branch = args[i + 1];
+                i++;
+            } else if (Constants.ARG_EVENT_LONG.equals(args[i]) && i + 1 < args.length)
+            {
+                event = args[i + 1];
+                i++;
+            } else if (Constants.ARG_WEBHOOK_PORT_LONG.equals(args[i]) && i + 1 < args.length)
+            {
+                webhookPort = parsePositiveInt(args[i + 1], Constants.ARG_WEBHOOK_PORT_LONG);
+                i++;
+            } else if (Constants.ARG_WEBHOOK_SECRET_LONG.equals(args[i]) && i + 1 < args.length)
+            {
+                webhookSecret = args[i + 1];
+                i++;
             }
         }
 
         // Validate arguments
-        if (repository == null || token == null)
+        if (repositories.isEmpty() || token == null)
         {
-            Logger.error("Error: Both --repo and --token are required.");
+            Logger.error("Error: Both --repo (or --repo-file) and --token are required.");
             printUsage();
             System.exit(1);
         }
 
-        if (!repository.contains(Constants.REPO_FORMAT_SEPARATOR)
-                || repository.split(Constants.REPO_FORMAT_SEPARATOR).length != Constants.REPO_FORMAT_PARTS) {
-            Logger.error("Error: Repository must be in format 'owner/repo'");
-            System.exit(1);
+        for (String repository : repositories)
+        {
+            if (!repository.contains(Constants.REPO_FORMAT_SEPARATOR)
+                    || repository.split(Constants.REPO_FORMAT_SEPARATOR).length != Constants.REPO_FORMAT_PARTS) {
+                Logger.error("Error: Repository must be in format 'owner/repo' (got '" + repository + "')");
+                System.exit(1);
+            }
         }
 
         if (token.trim().isEmpty())
@@ -63,22 +139,51 @@ public class Main {
             System.exit(1);
         }
 
+        if (webhookPort != null && (webhookSecret == null || webhookSecret.isEmpty()))
+        {
+            Logger.error("Error: " + Constants.ARG_WEBHOOK_PORT_LONG + " requires "
+                    + Constants.ARG_WEBHOOK_SECRET_LONG + "; unsigned webhooks are not accepted.");
+            System.exit(1);
+        }
+
         try
         {
-            Configuration cofig = new Configuration(repository, token);
+            Configuration config = new Configuration(repositories, token, concurrency, branch, event,
+                    webhookPort != null);
 
-            // Initialize all components
-            GitHubApiClient apiClient = new GitHubApiClientImpl(token);
-            StateManager stateManager = new FileStateManager();
-            EventDetector eventDetector = new EventDetector(repository);
+            // Initialize shared components: one HTTP client and one state file for all repositories
+            GitHubApiClientImpl apiClient = new GitHubApiClientImpl(token);
+            // State is written in the background so polls never wait for the disk
+            AsyncCheckpointer stateManager = new AsyncCheckpointer(
+                    new FileStateManager(stateFile(stateFormat), persistenceMode, fsyncPolicy, stateFormat),
+                    checkpointInterval, Constants.CHECKPOINT_DIRTY_THRESHOLD);
             EventFormatter eventFormatter = new ConsoleEventFormatter();
-            WorkflowMonitor monitor = new WorkflowMonitor(
-                    apiClient,
-                    stateManager,
-                    eventDetector,
-                    eventFormatter,
-                    cofig
-            );
+            EventPipeline eventPipeline = new EventPipeline(eventFormatter);
+            RateLimitPacer rateLimitPacer = new RateLimitPacer(apiClient.getRateLimitTracker());
+
+            // One monitor, with its own event detector, per repository
+            List<WorkflowMonitor> monitors = new ArrayList<>();
+            for (String repository : config.getRepositories())
+            {
+                monitors.add(new WorkflowMonitor(
+                        apiClient,
+                        stateManager,
+                        new EventDetector(repository, detectionParallelism),
+                        eventPipeline,
+                        config.forRepository(repository),
+                        rateLimitPacer
+                ));
+            }
+            MultiRepositoryMonitor monitor = new MultiRepositoryMonitor(monitors);
+
+            // Receive webhook deliveries on the monitoring thread; polling then only reconciles
+            WebhookReceiver webhookReceiver = null;
+            if (webhookPort != null)
+            {
+                webhookReceiver = new WebhookReceiver(new InetSocketAddress(webhookPort), webhookSecret,
+                        monitor::submit);
+                webhookReceiver.start();
+            }
 
             // Keep reference to main thread so shutdown hook can interrupt it
             Thread mainThread = Thread.currentThread();
@@ -89,14 +194,40 @@ public class Main {
                 monitor.stop();
                 mainThread.interrupt(); // Wake up the main thread if it's sleeping
                 try {
-                    mainThread.join(2000); // Wait up to 2 seconds for cleanup
+                    mainThread.join(Constants.SHUTDOWN_GRACE_PERIOD.toMillis()); // Wait for output and state to be flushed
                 } catch (InterruptedException e) {
                     // Ignore
                 }
+                stateManager.close(); // Waits for the final checkpoint if the main thread has not finished it
             }));
 
             // start monitoring
             monitor.start();
+            if (!stateManager.close())
+            {
+                Logger.warn("Final state checkpoint did not finish within "
+                        + Constants.CHECKPOINT_CLOSE_TIMEOUT.toSeconds() + " seconds");
+            }
+
+            if (webhookReceiver != null)
+            {
+                webhookReceiver.stop();
+                Logger.info("Webhooks: " + webhookReceiver.getAcceptedCount() + " accepted, "
+                        + webhookReceiver.getRejectedCount() + " rejected (invalid signature)");
+            }
+
+            Logger.info("Conditional requests: " + apiClient.getConditionalHitCount() + " not modified, "
+                    + apiClient.getConditionalMissCount() + " full responses");
+            CacheStats cacheStats = apiClient.getResponseCacheStats();
+            Logger.info(String.format("Response cache: %d entries (%d KiB), %.1f%% hit ratio, %d evicted",
+                    cacheStats.size(), cacheStats.weight() / 1024, cacheStats.hitRatio() * 100,
+                    cacheStats.evictionCount()));
+            for (StageMetrics stage : eventPipeline.metrics())
+            {
+                Logger.info("Pipeline " + stage.summary());
+            }
+            Logger.info("State checkpoints: " + stateManager.getCheckpointCount() + " written for "
+                    + stateManager.getSaveRequestCount() + " saves requested");
         } catch (Exception e)
         {
             Logger.error("Fatal error: " + e.getMessage());
@@ -105,13 +236,149 @@ public class Main {
         }
     }
 
+    /**
+     * Returns the state file for a format, converting an existing JSON state file
+     * the first time the binary format is used.
+     */
+    private static Path stateFile(StateFormat format) throws IOException
+    {
+        Path jsonFile = Path.of(Constants.STATE_FILE);
+        if (format == StateFormat.JSON)
+        {
+            return jsonFile;
+        }
+
+        Path binaryFile = Path.of(Constants.BINARY_STATE_FILE);
+        if (!Files.exists(binaryFile) && Files.exists(jsonFile))
+        {
+            FileStateManager.convert(jsonFile, StateFormat.JSON, binaryFile, StateFormat.BINARY);
+            Logger.info("Converted " + jsonFile + " to " + binaryFile);
+        }
+        return binaryFile;
+    }
+
+    /**
+     * Reads repositories from a file, one "owner/repo" per line.
+     * Blank lines and lines starting with '#' are ignored.
+     */
+    private static List<String> readRepositoryFile(String file)
+    {
+        try
+        {
+            List<String> repositories = new ArrayList<>();
+            for (String line : Files.readAllLines(Path.of(file)))
+            {
+                String trimmed = line.trim();
+                if (!trimmed.isEmpty() && !trimmed.startsWith("#"))
+                {
+                    repositories.add(trimmed);
+                }
+            }
+            return repositories;
+        } catch (IOException e)
+        {
+            Logger.error("Error: Cannot read repository file '" + file + "': " + e.getMessage());
+            System.exit(1);
+            return List.of(); // unreachable
+        }
+    }
+
+    /**
+     * Parses the persistence mode option value, exiting with an error if it is invalid.
+     */
+    private static PersistenceMode parsePersistenceMode(String value)
+    {
+        try
+        {
+            return PersistenceMode.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e)
+        {
+            Logger.error("Error: " + Constants.ARG_PERSISTENCE_LONG + " must be 'snapshot' or 'journal' (got '"
+                    + value + "')");
+            System.exit(1);
+            return null; // unreachable
+        }
+    }
+
+    /**
+     * Parses the fsync policy option value, exiting with an error if it is invalid.
+     */
+    private static FsyncPolicy parseFsyncPolicy(String value)
+    {
+        try
+        {
+            return FsyncPolicy.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e)
+        {
+            Logger.error("Error: " + Constants.ARG_FSYNC_LONG + " must be 'always', 'interval' or 'never' (got '"
+                    + value + "')");
+            System.exit(1);
+            return null; // unreachable
+        }
+    }
+
+    /**
+     * Parses the state format option value, exiting with an error if it is invalid.
+     */
+    private static StateFormat parseStateFormat(String value)
+    {
+        try
+        {
+            return StateFormat.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e)
+        {
+            Logger.error("Error: " + Constants.ARG_STATE_FORMAT_LONG + " must be 'json' or 'binary' (got '"
+                    + value + "')");
+            System.exit(1);
+            return null; // unreachable
+        }
+    }
+
+    /**
+     * Parses a positive integer option value, exiting with an error if it is invalid.
+     */
+    private static int parsePositiveInt(String value, String option)
+    {
+        try
+        {
+            int parsed = Integer.parseInt(value.trim());
+            if (parsed >= 1)
+            {
+                return parsed;
+            }
+        } catch (NumberFormatException e)
+        {
+            // Fall through to the error below
+        }
+        Logger.error("Error: " + option + " must be a positive integer (got '" + value + "')");
+        System.exit(1);
+        return -1; // unreachable
+    }
+
     private static void printUsage()
     {
-        Logger.info("Usage: java -jar sentinel.jar --repo owner/repo --token ghp_xxxxx");
+        Logger.info("Usage: java -jar sentinel.jar --repo owner/repo [--repo owner/other] --token ghp_xxxxx");
         System.err.println();
         Logger.info("Options:");
-        Logger.info("  --repo, -r    Repository in format 'owner/repo' (required)");
+        Logger.info("  --repo, -r    Repository in format 'owner/repo' (required, repeatable)");
+        Logger.info("  --repo-file   File listing one 'owner/repo' per line (alternative to --repo)");
         Logger.info("  --token, -t   GitHub Personal Access Token (required)");
+        Logger.info("  --concurrency, -c  Max concurrent job requests per poll (default: "
+                + Constants.DEFAULT_JOB_FETCH_CONCURRENCY + ")");
+        Logger.info("  --persistence State persistence: 'snapshot' (default) or 'journal' (append-only log)");
+        Logger.info("  --checkpoint-interval  Milliseconds between background state writes (default: "
+                + Constants.DEFAULT_CHECKPOINT_INTERVAL.toMillis() + ")");
+        Logger.info("  --detection-parallelism  Shards for detecting events of large polls in parallel"
+                + " (default: 1; only faster with spare cores; above 1, events are reported in timestamp order)");
+        Logger.info("  --fsync       Force state writes to disk: 'always', 'interval' (default, at most every "
+                + Constants.FSYNC_INTERVAL.toSeconds() + "s) or 'never'");
+        Logger.info("  --state-format  State file format: 'json' (default) or 'binary' (converts an existing JSON file)");
+        Logger.info("  --branch      Only monitor runs of this branch");
+        Logger.info("  --event       Only monitor runs triggered by this event (e.g. push, pull_request)");
+        Logger.info("  --webhook-port    Receive workflow_run/workflow_job webhooks on this port at "
+                + Constants.WEBHOOK_PATH + "; polling then only reconciles every "
+                + Constants.WEBHOOK_RECONCILIATION_INTERVAL.toMinutes() + " minutes");
+        Logger.info("  --webhook-secret  Secret configured on the webhook (required with --webhook-port)");
         System.err.println();
         Logger.info("Example:");
         Logger.info("  java -jar sentinel.jar --repo microsoft/vscode --token ghp_abc123");
@@ -0,0 +1,314 @@
+package com.github.matei.sentinel.client;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory cache bounded by total weight, with LRU eviction and time-based expiration.
+ * <p>
+ * Every entry carries a weight supplied by the caller, typically the size in bytes
+ * of the response body it was parsed from. When the total weight exceeds the
+ * configured maximum, the least recently used entries are evicted until it fits.
+ * Entries also expire a fixed time-to-live after they were written.
+ * </p>
+ *
+ * <h2>Expiration</h2>
+ * <ul>
+ *   <li>An expired entry is never returned by {@link #get}; it is removed when found.</li>
+ *   <li>In addition, once per TTL period any operation sweeps the whole cache and
+ *       removes every expired entry, so entries for keys that are never requested
+ *       again (e.g. jobs of finished runs) do not stay in memory. No background
+ *       thread is needed, and the sweep cost is amortized over the period.</li>
+ * </ul>
+ *
+ * <h2>Statistics</h2>
+ * {@link #stats()} returns hits, misses, evictions (entries removed to stay within the
+ * maximum weight), expirations, size and total weight.
+ *
+ * <h2>Thread Safety</h2>
+ * This class is thread-safe. All operations run under a single lock; each is O(1)
+ * apart from the periodic sweep, so contention stays low for the handful of
+ * threads fetching jobs in parallel.
+ *
+ * <h2>Usage Example</h2>
+ * <pre>{@code
+ * BoundedCache<String, List<Job>> cache = new BoundedCache<>(16 * 1024 * 1024, Duration.ofSeconds(10));
+ *
+ * cache.put(url, jobs, bodyBytes);
+ * List<Job> cached = cache.get(url); // null once expired or evicted
+ *
+ * CacheStats stats = cache.stats();
+ * System.out.println(stats.hitRatio());
+ * }</pre>
+ *
+ * @param <K> the type of keys in this cache
+ * @param <V> the type of values in this cache
+ * @see CacheStats
+ * @since 1.1
+ */
+public class BoundedCache<K, V>
+{
+    private final long maxWeight;
+    private final Duration ttl;
+    private final Clock clock;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // Access-ordered: iteration starts at the least recently used entry
+    private final LinkedHashMap<K, CacheEntry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long weight;
+    private Instant nextSweepAt;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long expirations;
+
+    /**
+     * Creates a cache using the system clock.
+     *
+     * @param maxWeight maximum total weight of all entries
+     * @param ttl time-to-live of entries after they are written
+     * @throws IllegalArgumentException if maxWeight is not positive or ttl is null or negative
+     */
+    public BoundedCache(long maxWeight, Duration ttl)
+    {
+        this(maxWeight, ttl, Clock.systemUTC());
+    }
+
+    /**
+     * Creates a cache using the given clock for expiration.
+     *
+     * @param maxWeight maximum total weight of all entries
+     * @param ttl time-to-live of entries after they are written
+     * @param clock clock for the current time
+     * @throws IllegalArgumentException if maxWeight is not positive or ttl is null or negative
+     */
+    public BoundedCache(long maxWeight, Duration ttl, Clock clock)
+    {
+        if (maxWeight <= 0)
+        {
+            throw new IllegalArgumentException("Maximum weight must be positive, got: " + maxWeight);
+        }
+        if (ttl == null || ttl.isNegative())
+        {
+            throw new IllegalArgumentException("TTL must be non-null and non-negative");
+        }
+        this.maxWeight = maxWeight;
+        this.ttl = ttl;
+        this.clock = clock;
+        this.nextSweepAt = clock.instant().plus(ttl);
+    }
+
+    /**
+     * Retrieves a value and marks it as recently used.
+     *
+     * @param key the key whose associated value is to be returned
+     * @return the cached value, or {@code null} if the key is not present or has expired
+     */
+    public V get(K key)
+    {
+        lock.lock();
+        try
+        {
+            Instant now = clock.instant();
+            sweepIfDue(now);
+
+            CacheEntry<V> entry = entries.get(key);
+            if (entry != null && entry.isExpired(now))
+            {
+                entries.remove(key);
+                weight -= entry.weight;
+                expirations++;
+                entry = null;
+            }
+
+            if (entry == null)
+            {
+                misses++;
+                return null;
+            }
+            hits++;
+            return entry.value;
+        } finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stores a value, replacing any previous value for the key, and evicts least
+     * recently used entries until the total weight fits again.
+     * <p>
+     * A value heavier than the maximum weight on its own is not stored, and any
+     * previous value for the key is removed.
+     * </p>
+     *
+     * @param key the key with which the value is to be associated
+     * @param value the value to be associated with the key
+     * @param entryWeight weight of the entry, e.g. response body size in bytes
+     * @throws IllegalArgumentException if entryWeight is negative
+     */
+    public void put(K key, V value, long entryWeight)
+    {
+        if (entryWeight < 0)
+        {
+            throw new IllegalArgumentException("Entry weight must not be negative, got: " + entryWeight);
+        }
+
+        lock.lock();
+        try
+        {
+            Instant now = clock.instant();
+            sweepIfDue(now);
+
+            CacheEntry<V> previous = entries.remove(key);
+            if (previous != null)
+            {
+                weight -= previous.weight;
+            }
+            if (entryWeight > maxWeight)
+            {
+                return;
+            }
+
+            entries.put(key, new CacheEntry<>(value, entryWeight, now.plus(ttl)));
+            weight += entryWeight;
+
+            Iterator<CacheEntry<V>> leastRecentlyUsed = entries.values().iterator();
+            while (weight > maxWeight)
+            {
+                weight -= leastRecentlyUsed.next().weight;
+                leastRecentlyUsed.remove();
+                evictions++;
+            }
+        } finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes the value for a key, if present.
+     *
+     * @param key the key to remove
+     */
+    public void remove(K key)
+    {
+        lock.lock();
+        try
+        {
+            CacheEntry<V> entry = entries.remove(key);
+            if (entry != null)
+            {
+                weight -= entry.weight;
+            }
+        } finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes all entries from the cache. Statistics are kept.
+     */
+    public void clear()
+    {
+        lock.lock();
+        try
+        {
+            entries.clear();
+            weight = 0;
+        } finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes every expired entry now, regardless of when the last sweep ran.
+     */
+    public void cleanUp()
+    {
+        lock.lock();
+        try
+        {
+            sweep(clock.instant());
+        } finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns a snapshot of the cache statistics.
+     *
+     * @return current counters, size and weight
+     */
+    public CacheStats stats()
+    {
+        lock.lock();
+        try
+        {
+            return new CacheStats(hits, misses, evictions, expirations, entries.size(), weight);
+        } finally
+        {
+            lock.unlock();
+        }
+    }
+
+    // ========== Expiration ==========
+
+    private void sweepIfDue(Instant now)
+    {
+        if (!now.isBefore(nextSweepAt))
+        {
+            sweep(now);
+        }
+    }
+
+    private void sweep(Instant now)
+    {
+        Iterator<CacheEntry<V>> iterator = entries.values().iterator();
+        while (iterator.hasNext())
+        {
+            CacheEntry<V> entry = iterator.next();
+            if (entry.isExpired(now))
+            {
+                weight -= entry.weight;
+                iterator.remove();
+                expirations++;
+            }
+        }
+        nextSweepAt = now.plus(ttl);
+    }
+
+    /**
+     * Cached value with its weight and expiration time.
+     *
+     * @param <V> the type of the cached value
+     */
+    private static class CacheEntry<V>
+    {
+        final V value;
+        final long weight;
+        final Instant expiresAt;
+
+        CacheEntry(V value, long weight, Instant expiresAt)
+        {
+            this.value = value;
+            this.weight = weight;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean isExpired(Instant now)
+        {
+            return now.isAfter(expiresAt);
+        }
+    }
+}
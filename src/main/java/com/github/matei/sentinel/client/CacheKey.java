@@ -0,0 +1,34 @@
+package com.github.matei.sentinel.client;
+
+/**
+ * Identifies a cached API resource by repository and workflow run.
+ * <p>
+ * A {@code runId} of 0 denotes a workflow run list, which is further identified by
+ * its query string since the run list is requested with different filters; any
+ * other value denotes the jobs of that run. Keys are compared by value.
+ * </p>
+ *
+ * @param owner repository owner
+ * @param repo repository name
+ * @param runId workflow run ID, or 0 for a run list
+ * @param query request URL of a run list, empty for jobs
+ * @since 1.1
+ */
+record CacheKey(String owner, String repo, long runId, String query)
+{
+    /**
+     * @return key for a filtered workflow run list of a repository
+     */
+    static CacheKey workflowRuns(String owner, String repo, String url)
+    {
+        return new CacheKey(owner, repo, 0, url);
+    }
+
+    /**
+     * @return key for the jobs of a workflow run
+     */
+    static CacheKey jobs(String owner, String repo, long runId)
+    {
+        return new CacheKey(owner, repo, runId, "");
+    }
+}
@@ -0,0 +1,40 @@
+package com.github.matei.sentinel.client;
+
+/**
+ * Point-in-time statistics of a {@link BoundedCache}.
+ *
+ * @param hitCount lookups that returned a cached value
+ * @param missCount lookups that found no value, or only an expired one
+ * @param evictionCount entries removed to stay within the maximum weight
+ * @param expirationCount entries removed because their time-to-live passed
+ * @param size number of entries currently cached
+ * @param weight total weight of the cached entries
+ * @since 1.1
+ */
+public record CacheStats(long hitCount, long missCount, long evictionCount, long expirationCount,
+                         int size, long weight)
+{
+    /**
+     * Returns the fraction of lookups that were hits.
+     *
+     * @return hits divided by all lookups, or 1.0 if there were no lookups
+     */
+    public double hitRatio()
+    {
+        long requests = hitCount + missCount;
+        return requests == 0 ? 1.0 : (double) hitCount / requests;
+    }
+
+    /**
+     * Adds the statistics of another cache to these, e.g. to report several caches as one.
+     *
+     * @param other statistics to add
+     * @return the combined statistics
+     */
+    public CacheStats plus(CacheStats other)
+    {
+        return new CacheStats(hitCount + other.hitCount, missCount + other.missCount,
+                evictionCount + other.evictionCount, expirationCount + other.expirationCount,
+                size + other.size, weight + other.weight);
+    }
+}
@@ -30,8 +30,9 @@ import java.util.List;
  * scope for public repositories only.
  *
  * <h2>Thread Safety</h2>
- * Implementations of this interface are not required to be thread-safe.
- * The tool uses a single-threaded polling model.
+ * Implementations must tolerate concurrent calls to {@link #getJobsForRun}, since
+ * {@link com.github.matei.sentinel.monitor.JobFetcher} fetches the jobs of several
+ * runs in parallel. Calls to {@link #getWorkflowRuns} are made from the polling thread.
  *
  * @see <a href="https://docs.github.com/en/rest/actions">GitHub Actions API</a>
  * @see <a href="https://docs.github.com/en/rest/overview/resources-in-the-rest-api#rate-limiting">GitHub Rate Limiting</a>
@@ -81,6 +82,65 @@ public interface GitHubApiClient
      */
     List<WorkflowRun> getWorkflowRuns(String owner, String repo, Instant since) throws Exception;
 
+    /**
+     * Fetches workflow runs matching a filter.
+     * <p>
+     * Behaves like {@link #getWorkflowRuns(String, String, Instant)}, but only
+     * returns runs for the filter's branch and event. Implementations should pass
+     * the filter to GitHub as query parameters; the default implementation ignores
+     * it and returns all runs.
+     * </p>
+     *
+     * @param owner the repository owner
+     * @param repo the repository name
+     * @param since only include runs updated after this timestamp; if {@code null}, returns all recent runs
+     * @param filter branch and event restrictions, {@link RunFilter#NONE} for none
+     * @return list of workflow runs, may be empty but never {@code null}
+     * @throws IllegalArgumentException if {@code owner} or {@code repo} is null or empty
+     * @throws RuntimeException if the API request fails
+     * @since 1.1
+     */
+    default List<WorkflowRun> getWorkflowRuns(String owner, String repo, Instant since, RunFilter filter)
+            throws Exception
+    {
+        return getWorkflowRuns(owner, repo, since);
+    }
+
+    /**
+     * Fetches workflow runs matching a filter and hands them to a consumer as they arrive.
+     * <p>
+     * Unlike {@link #getWorkflowRuns(String, String, Instant, RunFilter)}, which
+     * returns once every run has been read, this lets the caller process the first
+     * runs while later pages are still being downloaded, e.g. when catching up on
+     * thousands of runs after downtime. Every batch is delivered on the calling
+     * thread. A run is delivered again only if a later batch holds a more recently
+     * updated copy of it.
+     * </p>
+     * <p>
+     * The default implementation delivers the result of
+     * {@link #getWorkflowRuns(String, String, Instant, RunFilter)} as a single batch.
+     * </p>
+     *
+     * @param owner the repository owner
+     * @param repo the repository name
+     * @param since only include runs updated after this timestamp; if {@code null}, returns all recent runs
+     * @param filter branch and event restrictions, {@link RunFilter#NONE} for none
+     * @param consumer receives the runs, one non-empty batch at a time
+     * @throws IllegalArgumentException if {@code owner} or {@code repo} is null or empty
+     * @throws RuntimeException if the API request fails
+     * @throws Exception if the consumer fails
+     * @since 1.1
+     */
+    default void streamWorkflowRuns(String owner, String repo, Instant since, RunFilter filter,
+                                    WorkflowRunConsumer consumer) throws Exception
+    {
+        List<WorkflowRun> runs = getWorkflowRuns(owner, repo, since, filter);
+        if (!runs.isEmpty())
+        {
+            consumer.accept(runs);
+        }
+    }
+
     /**
      * Fetches all jobs for a specific workflow run, including their steps.
      * <p>
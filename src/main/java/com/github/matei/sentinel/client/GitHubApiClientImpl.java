@@ -1,22 +1,40 @@
 package com.github.matei.sentinel.client;
 
 import com.github.matei.sentinel.model.Job;
-import com.github.matei.sentinel.model.Step;
+import com.github.matei.sentinel.model.Status;
 import com.github.matei.sentinel.model.WorkflowRun;
 import com.github.matei.sentinel.util.Constants;
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
-import com.google.gson.JsonArray;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
 
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
 import java.net.URI;
+import java.net.URLEncoder;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
 /**
  * Implementation of {@link GitHubApiClient} using Java 11+ HttpClient.
  * <p>
@@ -30,21 +48,35 @@ import java.util.List;
  *   <li>Bearer token authentication with GitHub PAT</li>
  *   <li>Connection timeout: 10 seconds</li>
  *   <li>Request timeout: 30 seconds</li>
- *   <li>Simple in-memory caching (10-second TTL) to reduce redundant API calls</li>
- *   <li>JSON parsing with Gson</li>
+ *   <li>Typed caches of parsed, immutable results keyed by {@link CacheKey}
+ *       (owner, repo, run ID); a hit returns the cached list without parsing</li>
+ *   <li>Cached results are served without a request for 2 seconds, then revalidated
+ *       with conditional requests ({@code If-None-Match} / {@code If-Modified-Since});
+ *       a {@code 304 Not Modified} reuses the cached result and does not count
+ *       against the primary rate limit</li>
+ *   <li>Streaming JSON parsing straight from the response stream
+ *       ({@link GitHubResponseParser}), skipping fields the monitor never reads</li>
+ *   <li>Rate-limit headers of every response are recorded in a {@link RateLimitTracker}</li>
+ *   <li>Workflow runs are filtered server-side by creation date, status, branch and
+ *       event, so only runs that can produce events are downloaded</li>
  * </ul>
  *
  * <h2>Error Handling</h2>
  * This implementation throws {@link RuntimeException} for API errors:
  * <ul>
  *   <li>HTTP 401: "GitHub API error: 401 - Unauthorized"</li>
- *   <li>HTTP 403: "GitHub API error: 403 - Forbidden" (rate limit or permissions)</li>
- *   <li>HTTP 404: "GitHub API error: 404 - Not Found"</li>
+ *   <li>HTTP 403: "GitHub API error: 403 - Forbidden" (rate limit or permissions); when
+ *       the response shows an exhausted rate limit or carries {@code Retry-After}, a
+ *       {@link RateLimitExceededException} with the same message is thrown instead</li>
+ *   <li>HTTP 404: "GitHub API error: 404 - Not Found", as a {@link ResourceNotFoundException}</li>
  *   <li>Other status codes: "GitHub API error: {code} - {response body}"</li>
  * </ul>
  *
  * <h2>Thread Safety</h2>
- * This class is NOT thread-safe. It should only be used from a single thread.
+ * This class is thread-safe: {@link HttpClient} and {@link GitHubResponseParser} are
+ * safe for concurrent use and the caches are {@link BoundedCache}s guarded by a lock, so jobs for
+ * several runs can be fetched in parallel by
+ * {@link com.github.matei.sentinel.monitor.JobFetcher}.
  *
  * @since 1.0
  */
@@ -52,9 +84,19 @@ public class GitHubApiClientImpl implements GitHubApiClient
 {
 
     private final HttpClient httpClient;
-    private final Gson gson;
     private final String token;
-    private final SimpleCache<String, String> responseCache;
+    private final String apiBaseUrl;
+    private final Clock clock;
+    private final ParsedResponseCache<WorkflowRunPage> workflowRunsCache;
+    private final ParsedResponseCache<List<Job>> jobsCache;
+    private final RateLimitTracker rateLimitTracker;
+
+    // Statuses of runs that have not completed; each is listed with its own query
+    private static final List<String> ACTIVE_STATUSES = List.of(Constants.STATUS_IN_PROGRESS,
+            Constants.STATUS_QUEUED, Constants.STATUS_WAITING, Constants.STATUS_REQUESTED, Constants.STATUS_PENDING);
+
+    // IDs of the runs that were active at the previous poll, by "owner/repo"
+    private final Map<String, Set<Long>> activeRunIds = new ConcurrentHashMap<>();
 
     /**
      * Creates a new GitHub API client with the given authentication token.
@@ -63,52 +105,181 @@ public class GitHubApiClientImpl implements GitHubApiClient
      * @throws IllegalArgumentException if token is null or empty
      */
     public GitHubApiClientImpl(String token)
+    {
+        this(token, Constants.API_BASE_URL, Constants.CACHE_TTL);
+    }
+
+    /**
+     * Creates a new GitHub API client against a custom API endpoint.
+     * <p>
+     * Useful for GitHub Enterprise Server installations and for tests that serve
+     * canned responses from a local HTTP server.
+     * </p>
+     *
+     * @param token GitHub Personal Access Token (PAT) for authentication
+     * @param apiBaseUrl base URL of the REST API, without trailing slash
+     * @param cacheTtl how long a cached result is served before it is revalidated
+     * @throws IllegalArgumentException if token or apiBaseUrl is null or empty
+     */
+    public GitHubApiClientImpl(String token, String apiBaseUrl, Duration cacheTtl)
     {
         if (token == null || token.trim().isEmpty()) {
             throw new IllegalArgumentException("GitHub token cannot be null or empty");
         }
+        if (apiBaseUrl == null || apiBaseUrl.trim().isEmpty()) {
+            throw new IllegalArgumentException("API base URL cannot be null or empty");
+        }
 
         this.token = token;
+        this.apiBaseUrl = apiBaseUrl;
         this.httpClient = HttpClient.newBuilder()
                 .connectTimeout(Constants.HTTP_CONNECT_TIMEOUT)
                 .build();
-        this.gson = new GsonBuilder()
-                .setDateFormat(Constants.DATE_FORMAT)
-                .create();
-        this.responseCache = new SimpleCache<>(Constants.CACHE_TTL);
+        this.clock = Clock.systemUTC();
+        this.workflowRunsCache = new ParsedResponseCache<>(Constants.CACHE_MAX_WEIGHT_BYTES,
+                cacheTtl, Constants.CONDITIONAL_CACHE_TTL);
+        this.jobsCache = new ParsedResponseCache<>(Constants.CACHE_MAX_WEIGHT_BYTES,
+                cacheTtl, Constants.CONDITIONAL_CACHE_TTL);
+        this.rateLimitTracker = new RateLimitTracker();
     }
 
     @Override
     public List<WorkflowRun> getWorkflowRuns(String owner, String repo, Instant since) throws Exception
+    {
+        return getWorkflowRuns(owner, repo, since, RunFilter.NONE);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Collects the runs delivered by {@link #streamWorkflowRuns}, keeping the most
+     * recently updated copy of each run.
+     * </p>
+     */
+    @Override
+    public List<WorkflowRun> getWorkflowRuns(String owner, String repo, Instant since, RunFilter filter)
+            throws Exception
+    {
+        Map<Long, WorkflowRun> workflowRuns = new LinkedHashMap<>();
+        streamWorkflowRuns(owner, repo, since, filter, batch -> {
+            for (WorkflowRun run : batch)
+            {
+                workflowRuns.put(run.getId(), run);
+            }
+        });
+        return new ArrayList<>(workflowRuns.values());
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * GitHub cannot filter runs by update time, so when {@code since} is given this
+     * combines several filtered listings:
+     * </p>
+     * <ul>
+     *   <li>one per status a run has before it completes ({@code in_progress},
+     *       {@code queued}, {@code waiting}, {@code requested}, {@code pending}):
+     *       every run that is still active, however old. These listings are usually
+     *       empty or unchanged, and are then answered with a {@code 304}.</li>
+     *   <li>{@code created=>=since-}{@link Constants#RUN_CREATED_SKEW_MARGIN}: runs
+     *       created since the previous poll</li>
+     *   <li>by ID, each run that was active at the previous poll but is no longer
+     *       listed as active: runs that completed in between. A run deleted in the
+     *       meantime is dropped.</li>
+     *   <li>on the first poll of a repository by this client, e.g. after a restart,
+     *       the unfiltered listing of recent runs as well. The runs active at the
+     *       previous poll are only known in memory, so a run that was in progress at
+     *       shutdown and completed during the downtime is in no other listing.</li>
+     * </ul>
+     * <p>
+     * A steady-state poll reads only the first page of each listing. Further pages,
+     * up to {@link Constants#MAX_RUN_PAGES}, are read only on catch-up: when the
+     * listing has more runs than the first page and even the oldest run on that
+     * page was updated after {@code since}, so later pages may hold changes too.
+     * The first page reports the {@code total_count}; the remaining pages are then
+     * requested concurrently and each is delivered as soon as it arrives. Without
+     * {@code since}, a single page of the most recent runs is read.
+     * </p>
+     * <p>
+     * Unchanged pages are answered with {@code 304 Not Modified}, which does not
+     * count against the rate limit.
+     * </p>
+     */
+    @Override
+    public void streamWorkflowRuns(String owner, String repo, Instant since, RunFilter filter,
+                                   WorkflowRunConsumer consumer) throws Exception
     {
         // Validate parameters
         validateRepositoryParams(owner, repo);
 
-        String url = buildWorkflowRunsUrl(owner, repo);
-        String responseBody = makeRequest(url);
-
-        JsonObject json = gson.fromJson(responseBody, JsonObject.class);
-        JsonArray workflowRuns = json.getAsJsonArray(Constants.FIELD_WORKFLOW_RUNS);
+        String repository = owner + Constants.REPO_FORMAT_SEPARATOR + repo;
+        List<String> queries = new ArrayList<>();
+        if (since == null || !activeRunIds.containsKey(repository))
+        {
+            queries.add("");
+        }
+        if (since != null)
+        {
+            for (String status : ACTIVE_STATUSES)
+            {
+                queries.add(Constants.QUERY_STATUS + status);
+            }
+            Instant createdFrom = since.minus(Constants.RUN_CREATED_SKEW_MARGIN).truncatedTo(ChronoUnit.SECONDS);
+            queries.add(Constants.QUERY_CREATED + encode(">=" + createdFrom));
+        }
 
-        List<WorkflowRun> result = new ArrayList<>();
+        // A run can match several queries; deliver it again only if the copy is newer
+        Map<Long, Instant> delivered = new HashMap<>();
+        // Newest copy of every listed run, whether or not it changed since 'since'
+        Map<Long, WorkflowRun> listed = new HashMap<>();
+        WorkflowRunConsumer deliver = page -> {
+            List<WorkflowRun> batch = new ArrayList<>();
+            for (WorkflowRun run : page)
+            {
+                listed.merge(run.getId(), run,
+                        (old, copy) -> copy.getUpdatedAt().isAfter(old.getUpdatedAt()) ? copy : old);
+
+                // Filter by 'since' if provided
+                if (since != null && run.getUpdatedAt().isBefore(since))
+                {
+                    continue;
+                }
+                Instant previous = delivered.get(run.getId());
+                if (previous == null || run.getUpdatedAt().isAfter(previous))
+                {
+                    delivered.put(run.getId(), run.getUpdatedAt());
+                    batch.add(run);
+                }
+            }
+            if (!batch.isEmpty())
+            {
+                consumer.accept(batch);
+            }
+        };
 
-        for (JsonElement element : workflowRuns)
+        for (String query : queries)
         {
-            JsonObject runJson = element.getAsJsonObject();
-
-            // Parse workflow run
-            WorkflowRun workflowRun = parseWorkflowRun(runJson);
+            fetchRunPages(owner, repo, filter, query, since, deliver);
+        }
 
-            // Filter by 'since' if provided
-            if (since != null && workflowRun.getUpdatedAt().isBefore(since))
+        // Runs active at the previous poll that no longer show up as active have completed
+        for (long runId : activeRunIds.getOrDefault(repository, Set.of()))
+        {
+            if (!listed.containsKey(runId))
             {
-                continue;
+                fetchRunById(owner, repo, runId, deliver);
             }
-
-            result.add(workflowRun);
         }
 
-        return result;
+        Set<Long> active = new HashSet<>();
+        for (WorkflowRun run : listed.values())
+        {
+            if (run.getState() != Status.COMPLETED)
+            {
+                active.add(run.getId());
+            }
+        }
+        activeRunIds.put(repository, active);
     }
 
     @Override
@@ -121,218 +292,266 @@ public class GitHubApiClientImpl implements GitHubApiClient
         }
 
         String url = buildJobsUrl(owner, repo, runId);
-        String responseBody = makeRequest(url);
-
-        JsonObject json = gson.fromJson(responseBody, JsonObject.class);
-        JsonArray jobs = json.getAsJsonArray(Constants.FIELD_JOBS);
-
-        List<Job> result = new ArrayList<>();
-
-        for (JsonElement element : jobs) {
-            JsonObject jobJson = element.getAsJsonObject();
-            Job job = parseJob(jobJson);
-            result.add(job);
-        }
-
-        return result;
+        return makeRequest(url, CacheKey.jobs(owner, repo, runId), jobsCache, GitHubResponseParser::parseJobs);
     }
 
-    // ========== Helper Methods ==========
-
     /**
-     * Validates repository owner and name parameters.
+     * Returns the number of requests answered with {@code 304 Not Modified}.
+     * <p>
+     * These responses reuse the previously parsed result and do not count against
+     * GitHub's primary rate limit.
+     * </p>
      *
-     * @param owner the repository owner (GitHub username or organization)
-     * @param repo the repository name
-     * @throws IllegalArgumentException if owner or repo is null or empty
+     * @return number of conditional request hits since this client was created
      */
-    private void validateRepositoryParams(String owner, String repo)
+    public long getConditionalHitCount()
     {
-        if (owner == null || owner.trim().isEmpty())
-        {
-            throw new IllegalArgumentException("Repository owner cannot be null or empty");
-        }
-        if (repo == null || repo.trim().isEmpty())
-        {
-            throw new IllegalArgumentException("Repository name cannot be null or empty");
-        }
+        return workflowRunsCache.getNotModifiedCount() + jobsCache.getNotModifiedCount();
     }
 
     /**
-     * Builds the URL for fetching workflow runs.
+     * Returns the number of requests answered with a full response body.
      *
-     * @param owner repository owner
-     * @param repo repository name
-     * @return full API endpoint URL
+     * @return number of conditional request misses since this client was created
      */
-    private String buildWorkflowRunsUrl(String owner, String repo)
+    public long getConditionalMissCount()
     {
-        return String.format("%s/repos/%s/%s/actions/runs?per_page=%d",
-                Constants.API_BASE_URL, owner, repo, Constants.MAX_RESULTS_PER_PAGE);
+        return workflowRunsCache.getFullResponseCount() + jobsCache.getFullResponseCount();
     }
 
     /**
-     * Builds the URL for fetching jobs for a specific run.
+     * Returns hit, eviction and size statistics of the workflow run and job caches combined.
+     * A hit is a lookup that found a parsed result, whether it was served directly
+     * or revalidated with a {@code 304}.
      *
-     * @param owner repository owner
-     * @param repo repository name
-     * @param runId workflow run ID
-     * @return full API endpoint URL
+     * @return current statistics of the response caches
      */
-    private String buildJobsUrl(String owner, String repo, long runId)
+    public CacheStats getResponseCacheStats()
     {
-        return String.format("%s/repos/%s/%s/actions/runs/%d/jobs",
-                Constants.API_BASE_URL, owner, repo, runId);
+        return workflowRunsCache.stats().plus(jobsCache.stats());
     }
 
     /**
-     * Parses a WorkflowRun from JSON.
+     * Returns the tracker holding the rate-limit information of the latest responses.
      *
-     * @param json JSON object representing a workflow run
-     * @return parsed WorkflowRun object
+     * @return rate-limit tracker of this client
      */
-    private WorkflowRun parseWorkflowRun(JsonObject json)
+    public RateLimitTracker getRateLimitTracker()
     {
-        long id = json.get(Constants.FIELD_ID).getAsLong();
-        String name = json.get(Constants.FIELD_NAME).getAsString();
-        String status = json.get(Constants.FIELD_STATUS).getAsString();
-        String conclusion = getStringOrNull(json, Constants.FIELD_CONCLUSION);
-        String headBranch = json.get(Constants.FIELD_HEAD_BRANCH).getAsString();
-        String headSha = json.get(Constants.FIELD_HEAD_SHA).getAsString();
-
-        Instant updatedAt = parseInstant(json, Constants.FIELD_UPDATED_AT);
-        Instant concludedAt = parseInstantOrNull(json, Constants.FIELD_RUN_FINISHED_AT);
-
-        return new WorkflowRun(id, name, status, conclusion, headBranch, headSha,
-                updatedAt, concludedAt);
+        return rateLimitTracker;
     }
 
+    // ========== Helper Methods ==========
+
     /**
-     * Parses a Job from JSON, including its steps.
+     * Reads one workflow run listing and passes each page's runs on.
+     * <p>
+     * Only the first page is read unless the listing reaches back past what that
+     * page covers: it has more runs, and its oldest run was updated at or after
+     * {@code since}. GitHub lists runs newest first, so once a page ends with a run
+     * not updated since the previous poll, the monitor has already seen the rest
+     * of the listing, apart from long-running runs, which are refetched by ID.
+     * </p>
+     * <p>
+     * The first page is read on its own to learn the {@code total_count}. GitHub
+     * derives its {@code Link: rel="next"} header from the same total, so the
+     * remaining page URLs are known up front and can be requested concurrently,
+     * bounded by {@link Constants#RUN_PAGE_FETCH_CONCURRENCY}, instead of
+     * following next links one round trip at a time. Pages are handed to
+     * {@code pageConsumer} on the calling thread in the order they complete.
+     * </p>
      *
-     * @param json JSON object representing a job
-     * @return parsed Job object with steps
+     * @param since time of the previous poll, or {@code null} to read only the first page
+     * @throws Exception the first failure of a page request or of the consumer
      */
-    private Job parseJob(JsonObject json)
+    private void fetchRunPages(String owner, String repo, RunFilter filter, String query, Instant since,
+                               WorkflowRunConsumer pageConsumer) throws Exception
     {
-        long id = json.get(Constants.FIELD_ID).getAsLong();
-        long runId = json.get(Constants.FIELD_RUN_ID).getAsLong();
-        String name = json.get(Constants.FIELD_NAME).getAsString();
-        String status = json.get(Constants.FIELD_STATUS).getAsString();
-        String conclusion = getStringOrNull(json, Constants.FIELD_CONCLUSION);
+        WorkflowRunPage first = fetchRunPage(owner, repo, filter, query, 1);
+        pageConsumer.accept(first.runs());
 
-        Instant startedAt = parseInstantOrNull(json, Constants.FIELD_STARTED_AT);
-        Instant completedAt = parseInstantOrNull(json, Constants.FIELD_COMPLETED_AT);
+        int pageCount = Math.min(first.pageCount(Constants.MAX_RESULTS_PER_PAGE), Constants.MAX_RUN_PAGES);
+        if (pageCount <= 1 || since == null || first.runs().isEmpty()
+                || first.runs().getLast().getUpdatedAt().isBefore(since))
+        {
+            return;
+        }
 
-        // Parse steps if present
-        List<Step> steps = parseSteps(json);
+        Semaphore permits = new Semaphore(Constants.RUN_PAGE_FETCH_CONCURRENCY);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor())
+        {
+            CompletionService<WorkflowRunPage> pages = new ExecutorCompletionService<>(executor);
+            for (int page = 2; page <= pageCount; page++)
+            {
+                int pageNumber = page;
+                pages.submit(() -> {
+                    permits.acquire();
+                    try
+                    {
+                        return fetchRunPage(owner, repo, filter, query, pageNumber);
+                    }
+                    finally
+                    {
+                        permits.release();
+                    }
+                });
+            }
 
-        return new Job(id, runId, name, status, conclusion, startedAt, completedAt, steps);
+            try
+            {
+                for (int i = 2; i <= pageCount; i++)
+                {
+                    pageConsumer.accept(pages.take().get().runs());
+                }
+            }
+            catch (ExecutionException e)
+            {
+                executor.shutdownNow();
+                throw unwrap(e);
+            }
+            catch (Exception e)
+            {
+                executor.shutdownNow();
+                throw e;
+            }
+        }
     }
 
     /**
-     * Parses steps from a job JSON object.
-     *
-     * @param jobJson JSON object representing a job
-     * @return list of steps, may be empty but never null
+     * Fetches a single workflow run and passes it on, or nothing if it was deleted.
      */
-    private List<Step> parseSteps(JsonObject jobJson)
+    private void fetchRunById(String owner, String repo, long runId, WorkflowRunConsumer consumer) throws Exception
     {
-        List<Step> steps = new ArrayList<>();
-
-        if (!jobJson.has(Constants.FIELD_STEPS) || jobJson.get(Constants.FIELD_STEPS).isJsonNull())
+        String url = String.format("%s/repos/%s/%s/actions/runs/%d", apiBaseUrl, owner, repo, runId);
+        WorkflowRunPage run;
+        try
         {
-            return steps; // Return empty list if no steps
-        }
-
-        JsonArray stepsArray = jobJson.getAsJsonArray(Constants.FIELD_STEPS);
-
-        for (JsonElement element : stepsArray)
+            run = makeRequest(url, CacheKey.workflowRuns(owner, repo, url), workflowRunsCache,
+                    GitHubResponseParser::parseWorkflowRunAsPage);
+        } catch (ResourceNotFoundException e)
         {
-            JsonObject stepJson = element.getAsJsonObject();
-            Step step = parseStep(stepJson);
-            steps.add(step);
+            return;
         }
+        consumer.accept(run.runs());
+    }
 
-        return steps;
+    private WorkflowRunPage fetchRunPage(String owner, String repo, RunFilter filter, String query, int page)
+            throws Exception
+    {
+        String url = buildWorkflowRunsUrl(owner, repo, filter, query, page);
+        return makeRequest(url, CacheKey.workflowRuns(owner, repo, url), workflowRunsCache,
+                GitHubResponseParser::parseWorkflowRunPage);
     }
 
     /**
-     * Parses a Step from JSON.
-     *
-     * @param json JSON object representing a step
-     * @return parsed Step object
+     * Extracts the original failure from an {@link ExecutionException} so callers
+     * see the same exception types as for the first page.
      */
-    private Step parseStep(JsonObject json)
+    private static Exception unwrap(ExecutionException e)
     {
-        String name = json.get(Constants.FIELD_NAME).getAsString();
-        String status = json.get(Constants.FIELD_STATUS).getAsString();
-        String conclusion = getStringOrNull(json, Constants.FIELD_CONCLUSION);
-
-        Instant startedAt = parseInstantOrNull(json, Constants.FIELD_STARTED_AT);
-        Instant completedAt = parseInstantOrNull(json, Constants.FIELD_COMPLETED_AT);
-
-        return new Step(name, status, conclusion, startedAt, completedAt);
+        Throwable cause = e.getCause();
+        if (cause instanceof Error error)
+        {
+            throw error;
+        }
+        return cause instanceof Exception exception ? exception : e;
     }
 
     /**
-     * Safely gets a string value from JSON, returning null if field is missing or null.
+     * Validates repository owner and name parameters.
      *
-     * @param json JSON object to extract from
-     * @param fieldName name of the field
-     * @return field value as string, or null if missing/null
+     * @param owner the repository owner (GitHub username or organization)
+     * @param repo the repository name
+     * @throws IllegalArgumentException if owner or repo is null or empty
      */
-    private String getStringOrNull(JsonObject json, String fieldName)
+    private void validateRepositoryParams(String owner, String repo)
     {
-        if (!json.has(fieldName) || json.get(fieldName).isJsonNull()) {
-            return null;
+        if (owner == null || owner.trim().isEmpty())
+        {
+            throw new IllegalArgumentException("Repository owner cannot be null or empty");
+        }
+        if (repo == null || repo.trim().isEmpty())
+        {
+            throw new IllegalArgumentException("Repository name cannot be null or empty");
         }
-        return json.get(fieldName).getAsString();
     }
 
     /**
-     * Parses an Instant from JSON field (required field - throws if missing).
+     * Builds the URL for fetching workflow runs.
      *
-     * @param json JSON object to extract from
-     * @param fieldName name of the timestamp field
-     * @return parsed Instant
-     * @throws com.google.gson.JsonParseException if field is missing or invalid
+     * @param owner repository owner
+     * @param repo repository name
+     * @param filter branch and event restrictions
+     * @param query additional query parameter ({@code name=value}), or empty
+     * @param page 1-based page number
+     * @return full API endpoint URL
      */
-    private Instant parseInstant(JsonObject json, String fieldName)
+    private String buildWorkflowRunsUrl(String owner, String repo, RunFilter filter, String query, int page)
     {
-        return Instant.parse(json.get(fieldName).getAsString());
+        StringBuilder url = new StringBuilder(String.format("%s/repos/%s/%s/actions/runs?per_page=%d",
+                apiBaseUrl, owner, repo, Constants.MAX_RESULTS_PER_PAGE));
+        if (!query.isEmpty())
+        {
+            url.append('&').append(query);
+        }
+        if (filter.branch() != null)
+        {
+            url.append('&').append(Constants.QUERY_BRANCH).append(encode(filter.branch()));
+        }
+        if (filter.event() != null)
+        {
+            url.append('&').append(Constants.QUERY_EVENT).append(encode(filter.event()));
+        }
+        if (page > 1)
+        {
+            url.append('&').append(Constants.QUERY_PAGE).append(page);
+        }
+        return url.toString();
+    }
+
+    private static String encode(String value)
+    {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
     }
 
     /**
-     * Safely parses an Instant from JSON, returning null if field is missing or null.
+     * Builds the URL for fetching jobs for a specific run.
      *
-     * @param json JSON object to extract from
-     * @param fieldName name of the timestamp field
-     * @return parsed Instant, or null if missing/null
+     * @param owner repository owner
+     * @param repo repository name
+     * @param runId workflow run ID
+     * @return full API endpoint URL
      */
-    private Instant parseInstantOrNull(JsonObject json, String fieldName)
+    private String buildJobsUrl(String owner, String repo, long runId)
     {
-        if (!json.has(fieldName) || json.get(fieldName).isJsonNull())
-        {
-            return null;
-        }
-        return Instant.parse(json.get(fieldName).getAsString());
+        return String.format("%s/repos/%s/%s/actions/runs/%d/jobs",
+                apiBaseUrl, owner, repo, runId);
     }
 
     /**
-     * Makes an authenticated HTTP request to GitHub API.
+     * Makes an authenticated HTTP request to GitHub API and parses the response.
      * <p>
-     * This method checks the cache first to avoid redundant API calls. If the
-     * response is not cached, it makes the HTTP request and caches the result.
+     * This method checks the cache first: a fresh result is returned without any
+     * request. Otherwise it makes a conditional HTTP request using the
+     * {@code ETag} and {@code Last-Modified} validators of the cached response.
+     * A {@code 304 Not Modified} answer returns the cached parsed result and marks
+     * it fresh again; a {@code 200 OK} body is parsed while it streams in, without
+     * first being buffered into a String, and the immutable result is cached with
+     * its validators, weighted by the number of body bytes read.
      * </p>
      *
      * @param url the API endpoint URL to request
-     * @return the response body as a String
+     * @param key cache key of the requested resource
+     * @param cache cache of parsed results for this resource type
+     * @param parser converts the response body into an immutable result
+     * @param <T> type of the parsed result
+     * @return the parsed response
      * @throws IllegalArgumentException if url is null or empty
      * @throws RuntimeException if the API request fails (non-200 status code)
      * @throws Exception if network error occurs
      */
-    private String makeRequest(String url) throws Exception
+    private <T> T makeRequest(String url, CacheKey key, ParsedResponseCache<T> cache, ResponseParser<T> parser)
+            throws Exception
     {
         // Defensive validation
         if (url == null || url.trim().isEmpty())
@@ -341,37 +560,159 @@ public class GitHubApiClientImpl implements GitHubApiClient
         }
 
         // Check cache first
-        String cached = responseCache.get(url);
-        if (cached != null)
+        ParsedResponseCache.Entry<T> previous = cache.get(key);
+        if (previous != null && previous.isFresh(clock.instant()))
         {
-            return cached;
+            return previous.value();
         }
 
-        HttpRequest request = HttpRequest.newBuilder()
+        HttpRequest.Builder requestBuilder = HttpRequest.newBuilder()
                 .uri(URI.create(url))
                 .timeout(Constants.HTTP_REQUEST_TIMEOUT)
                 .header(Constants.HEADER_AUTHORIZATION, Constants.HEADER_BEARER_PREFIX + token)
                 .header(Constants.HEADER_ACCEPT, Constants.HEADER_ACCEPT_VALUE)
                 .header(Constants.HEADER_API_VERSION, Constants.HEADER_API_VERSION_VALUE)
-                .GET()
-                .build();
+                .GET();
+
+        // Revalidate the cached response instead of downloading it again
+        if (previous != null)
+        {
+            if (previous.etag() != null)
+            {
+                requestBuilder.header(Constants.HEADER_IF_NONE_MATCH, previous.etag());
+            }
+            if (previous.lastModified() != null)
+            {
+                requestBuilder.header(Constants.HEADER_IF_MODIFIED_SINCE, previous.lastModified());
+            }
+        }
+
+        HttpResponse<InputStream> response = httpClient.send(requestBuilder.build(),
+                HttpResponse.BodyHandlers.ofInputStream());
 
-        HttpResponse<String> response = httpClient.send(request,
-                HttpResponse.BodyHandlers.ofString());
+        rateLimitTracker.recordResponse(response.statusCode(), response.headers());
 
-        if (response.statusCode() != Constants.HTTP_OK)
+        T result;
+        long bodySize;
+        try (InputStream body = response.body())
         {
-            throw new RuntimeException(
-                    String.format("GitHub API error: %d - %s",
-                            response.statusCode(), response.body())
-            );
+            if (response.statusCode() == Constants.HTTP_NOT_MODIFIED && previous != null)
+            {
+                return cache.revalidated(key, previous, clock.instant());
+            }
+
+            if (response.statusCode() != Constants.HTTP_OK)
+            {
+                String message = String.format("GitHub API error: %d - %s",
+                        response.statusCode(), new String(body.readAllBytes(), StandardCharsets.UTF_8));
+                if (isRateLimited(response))
+                {
+                    throw new RateLimitExceededException(message, retryAt(response));
+                }
+                if (response.statusCode() == Constants.HTTP_NOT_FOUND)
+                {
+                    throw new ResourceNotFoundException(message);
+                }
+                throw new RuntimeException(message);
+            }
+
+            CountingInputStream counted = new CountingInputStream(body);
+            result = parser.parse(new InputStreamReader(counted, StandardCharsets.UTF_8));
+            bodySize = counted.count;
         }
 
-        String body = response.body();
+        // Cache the result with its validators, weighted by body size
+        cache.put(key,
+                response.headers().firstValue(Constants.HEADER_ETAG).orElse(null),
+                response.headers().firstValue(Constants.HEADER_LAST_MODIFIED).orElse(null),
+                result, bodySize, clock.instant());
 
-        // Cache the response
-        responseCache.put(url, body);
+        return result;
+    }
 
-        return body;
+    /**
+     * Checks whether an error response was caused by a rate limit.
+     * <p>
+     * GitHub answers with 403 or 429 and either an exhausted
+     * {@code X-RateLimit-Remaining} (primary limit) or a {@code Retry-After}
+     * header (secondary limit). A 403 without these is a permission problem.
+     * </p>
+     */
+    private boolean isRateLimited(HttpResponse<?> response)
+    {
+        if (response.statusCode() != Constants.HTTP_FORBIDDEN
+                && response.statusCode() != Constants.HTTP_TOO_MANY_REQUESTS)
+        {
+            return false;
+        }
+        return response.headers().firstValue(Constants.HEADER_RETRY_AFTER).isPresent()
+                || response.headers().firstValueAsLong(Constants.HEADER_RATE_LIMIT_REMAINING).orElse(-1) == 0;
+    }
+
+    /**
+     * Determines when a rate-limited request may be retried: the {@code Retry-After}
+     * deadline if present, otherwise the reset time of the primary limit.
+     */
+    private Instant retryAt(HttpResponse<?> response)
+    {
+        if (response.headers().firstValue(Constants.HEADER_RETRY_AFTER).isPresent())
+        {
+            return rateLimitTracker.getRetryAfterUntil().orElse(null);
+        }
+        return rateLimitTracker.getStatus().map(RateLimitStatus::resetAt).orElse(null);
+    }
+
+    /**
+     * Parses a response body read from the HTTP stream.
+     *
+     * @param <T> type of the parsed result
+     */
+    @FunctionalInterface
+    private interface ResponseParser<T>
+    {
+        T parse(Reader body) throws IOException;
+    }
+
+    /**
+     * Counts the bytes read through it, to weigh cached responses by body size.
+     */
+    private static class CountingInputStream extends FilterInputStream
+    {
+        long count;
+
+        CountingInputStream(InputStream in)
+        {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException
+        {
+            int b = super.read();
+            if (b >= 0)
+            {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException
+        {
+            int read = super.read(buffer, offset, length);
+            if (read > 0)
+            {
+                count += read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException
+        {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,453 @@
+package com.github.matei.sentinel.client;
+
+import com.github.matei.sentinel.model.Job;
+import com.github.matei.sentinel.model.Status;
+import com.github.matei.sentinel.model.Step;
+import com.github.matei.sentinel.model.WorkflowRun;
+import com.github.matei.sentinel.util.Constants;
+import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming parser for GitHub Actions API responses and webhook payloads.
+ * <p>
+ * Builds {@link WorkflowRun}, {@link Job} and {@link Step} objects directly from a
+ * {@link JsonReader} positioned on the HTTP response stream. Only the handful of
+ * fields the monitor needs are materialised; everything else (the embedded
+ * {@code repository} and {@code head_commit} objects, URLs, labels, ...) is skipped
+ * token by token without building a DOM, which keeps per-poll allocation small
+ * even for large job lists.
+ * </p>
+ *
+ * <h2>Unknown Fields</h2>
+ * Unknown fields are skipped with {@link JsonReader#skipValue()}, so new fields
+ * added by GitHub never break parsing.
+ *
+ * <h2>Required Fields</h2>
+ * {@code id} and {@code status} are required on every entity, as are
+ * {@code run_id} on jobs and {@code updated_at} on workflow runs. A missing
+ * required field raises a {@link JsonParseException}.
+ *
+ * <h2>Thread Safety</h2>
+ * This class is stateless and thread-safe.
+ *
+ * @see GitHubApiClientImpl
+ * @since 1.1
+ */
+public final class GitHubResponseParser
+{
+    /**
+     * Private constructor to prevent instantiation.
+     * This class only contains static parsing methods.
+     */
+    private GitHubResponseParser()
+    {
+        throw new UnsupportedOperationException("GitHubResponseParser should not be instantiated");
+    }
+
+    /**
+     * Parses the body of {@code GET /repos/{owner}/{repo}/actions/runs}.
+     *
+     * @param body reader over the JSON response body; not closed by this method
+     * @return immutable list of workflow runs in response order
+     * @throws IOException if the body cannot be read or is not valid JSON
+     * @throws JsonParseException if a required field is missing
+     */
+    public static List<WorkflowRun> parseWorkflowRuns(Reader body) throws IOException
+    {
+        return parseWorkflowRunPage(body).runs();
+    }
+
+    /**
+     * Parses one page of {@code GET /repos/{owner}/{repo}/actions/runs}, including
+     * the {@code total_count} of runs across all pages.
+     *
+     * @param body reader over the JSON response body; not closed by this method
+     * @return the page's runs in response order, with the total count
+     * @throws IOException if the body cannot be read or is not valid JSON
+     * @throws JsonParseException if a required field is missing
+     */
+    public static WorkflowRunPage parseWorkflowRunPage(Reader body) throws IOException
+    {
+        JsonReader reader = new JsonReader(body);
+        List<WorkflowRun> runs = new ArrayList<>();
+        int totalCount = -1;
+
+        reader.beginObject();
+        while (reader.hasNext())
+        {
+            String name = reader.nextName();
+            if (Constants.FIELD_WORKFLOW_RUNS.equals(name) && reader.peek() == JsonToken.BEGIN_ARRAY)
+            {
+                reader.beginArray();
+                while (reader.hasNext())
+                {
+                    runs.add(readWorkflowRun(reader));
+                }
+                reader.endArray();
+            }
+            else if (Constants.FIELD_TOTAL_COUNT.equals(name) && reader.peek() == JsonToken.NUMBER)
+            {
+                totalCount = reader.nextInt();
+            }
+            else
+            {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        // Without a total, assume this is the only page
+        return new WorkflowRunPage(totalCount >= 0 ? totalCount : runs.size(), List.copyOf(runs));
+    }
+
+    /**
+     * Parses the body of {@code GET /repos/{owner}/{repo}/actions/runs/{run_id}} as
+     * a page holding just that run, so it can be cached with the run listings.
+     *
+     * @param body reader over the JSON response body; not closed by this method
+     * @return page with the single run and a total count of 1
+     * @throws IOException if the body cannot be read or is not valid JSON
+     * @throws JsonParseException if a required field is missing
+     */
+    public static WorkflowRunPage parseWorkflowRunAsPage(Reader body) throws IOException
+    {
+        return new WorkflowRunPage(1, List.of(readWorkflowRun(new JsonReader(body))));
+    }
+
+    /**
+     * Parses the body of {@code GET /repos/{owner}/{repo}/actions/runs/{run_id}/jobs}.
+     *
+     * @param body reader over the JSON response body; not closed by this method
+     * @return immutable list of jobs, each with its steps, in response order
+     * @throws IOException if the body cannot be read or is not valid JSON
+     * @throws JsonParseException if a required field is missing
+     */
+    public static List<Job> parseJobs(Reader body) throws IOException
+    {
+        JsonReader reader = new JsonReader(body);
+        List<Job> jobs = new ArrayList<>();
+
+        reader.beginObject();
+        while (reader.hasNext())
+        {
+            if (Constants.FIELD_JOBS.equals(reader.nextName()) && reader.peek() == JsonToken.BEGIN_ARRAY)
+            {
+                reader.beginArray();
+                while (reader.hasNext())
+                {
+                    jobs.add(readJob(reader));
+                }
+                reader.endArray();
+            }
+            else
+            {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        return List.copyOf(jobs);
+    }
+
+    /**
+     * Parses the body of a {@code workflow_run} or {@code workflow_job} webhook delivery.
+     * <p>
+     * Only the repository name and the run or job are read; the sender,
+     * installation and workflow objects are skipped.
+     * </p>
+     *
+     * @param body reader over the JSON payload; not closed by this method
+     * @return the payload's repository and its run or job
+     * @throws IOException if the body cannot be read or is not valid JSON
+     * @throws JsonParseException if the repository, or both the run and the job, are missing
+     */
+    public static WebhookPayload parseWebhookPayload(Reader body) throws IOException
+    {
+        JsonReader reader = new JsonReader(body);
+        String repository = null;
+        ParsedRun run = null;
+        Job job = null;
+
+        reader.beginObject();
+        while (reader.hasNext())
+        {
+            String name = reader.nextName();
+            if (reader.peek() != JsonToken.BEGIN_OBJECT)
+            {
+                reader.skipValue();
+            }
+            else if (Constants.FIELD_WORKFLOW_RUN.equals(name))
+            {
+                run = readRun(reader);
+            }
+            else if (Constants.FIELD_WORKFLOW_JOB.equals(name))
+            {
+                job = readJob(reader);
+            }
+            else if (Constants.FIELD_REPOSITORY.equals(name))
+            {
+                repository = readFullName(reader);
+            }
+            else
+            {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        if (run == null && job == null)
+        {
+            throw new JsonParseException("Missing required field: " + Constants.FIELD_WORKFLOW_RUN
+                    + " or " + Constants.FIELD_WORKFLOW_JOB);
+        }
+        if (run == null)
+        {
+            return new WebhookPayload(require(repository, Constants.FIELD_FULL_NAME), null, null, job);
+        }
+
+        // Webhook runs carry no run_finished_at; a completed run was last updated when it concluded
+        WorkflowRun workflowRun = run.run();
+        if (workflowRun.getState() == Status.COMPLETED && workflowRun.getConcludedAt() == null)
+        {
+            workflowRun = new WorkflowRun(workflowRun.getId(), workflowRun.getName(), workflowRun.getStatus(),
+                    workflowRun.getConclusion(), workflowRun.getHeadBranch(), workflowRun.getHeadSha(),
+                    workflowRun.getUpdatedAt(), workflowRun.getUpdatedAt());
+        }
+        return new WebhookPayload(require(repository, Constants.FIELD_FULL_NAME), workflowRun, run.event(), null);
+    }
+
+    // ========== Entity Readers ==========
+
+    /**
+     * Reads a single workflow run object.
+     *
+     * @param reader reader positioned at the start of the object
+     * @return parsed WorkflowRun
+     */
+    static WorkflowRun readWorkflowRun(JsonReader reader) throws IOException
+    {
+        return readRun(reader).run();
+    }
+
+    /**
+     * Reads a single workflow run object, keeping the event that triggered it.
+     *
+     * @param reader reader positioned at the start of the object
+     * @return parsed WorkflowRun with its triggering event
+     */
+    private static ParsedRun readRun(JsonReader reader) throws IOException
+    {
+        Long id = null;
+        String name = null;
+        String status = null;
+        String conclusion = null;
+        String headBranch = null;
+        String headSha = null;
+        Instant updatedAt = null;
+        Instant concludedAt = null;
+        String event = null;
+
+        reader.beginObject();
+        while (reader.hasNext())
+        {
+            switch (reader.nextName())
+            {
+                case Constants.FIELD_ID -> id = reader.nextLong();
+                case Constants.FIELD_NAME -> name = nextStringOrNull(reader);
+                case Constants.FIELD_STATUS -> status = nextStringOrNull(reader);
+                case Constants.FIELD_CONCLUSION -> conclusion = nextStringOrNull(reader);
+                case Constants.FIELD_HEAD_BRANCH -> headBranch = nextStringOrNull(reader);
+                case Constants.FIELD_HEAD_SHA -> headSha = nextStringOrNull(reader);
+                case Constants.FIELD_UPDATED_AT -> updatedAt = nextInstantOrNull(reader);
+                case Constants.FIELD_RUN_FINISHED_AT -> concludedAt = nextInstantOrNull(reader);
+                case Constants.FIELD_EVENT -> event = nextStringOrNull(reader);
+                default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        WorkflowRun run = new WorkflowRun(require(id, Constants.FIELD_ID), name,
+                require(status, Constants.FIELD_STATUS), conclusion, headBranch, headSha,
+                require(updatedAt, Constants.FIELD_UPDATED_AT), concludedAt);
+        return new ParsedRun(run, event);
+    }
+
+    /**
+     * Reads a single job object, including its steps.
+     *
+     * @param reader reader positioned at the start of the object
+     * @return parsed Job
+     */
+    static Job readJob(JsonReader reader) throws IOException
+    {
+        Long id = null;
+        Long runId = null;
+        String name = null;
+        String status = null;
+        String conclusion = null;
+        Instant startedAt = null;
+        Instant completedAt = null;
+        List<Step> steps = null;
+
+        reader.beginObject();
+        while (reader.hasNext())
+        {
+            switch (reader.nextName())
+            {
+                case Constants.FIELD_ID -> id = reader.nextLong();
+                case Constants.FIELD_RUN_ID -> runId = reader.nextLong();
+                case Constants.FIELD_NAME -> name = nextStringOrNull(reader);
+                case Constants.FIELD_STATUS -> status = nextStringOrNull(reader);
+                case Constants.FIELD_CONCLUSION -> conclusion = nextStringOrNull(reader);
+                case Constants.FIELD_STARTED_AT -> startedAt = nextInstantOrNull(reader);
+                case Constants.FIELD_COMPLETED_AT -> completedAt = nextInstantOrNull(reader);
+                case Constants.FIELD_STEPS -> steps = readSteps(reader);
+                default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        return new Job(require(id, Constants.FIELD_ID), require(runId, Constants.FIELD_RUN_ID), name,
+                require(status, Constants.FIELD_STATUS), conclusion, startedAt, completedAt, steps);
+    }
+
+    /**
+     * Reads a job's {@code steps} array.
+     *
+     * @param reader reader positioned at the array (or a JSON null)
+     * @return list of steps, empty if the field is null
+     */
+    private static List<Step> readSteps(JsonReader reader) throws IOException
+    {
+        List<Step> steps = new ArrayList<>();
+        if (reader.peek() == JsonToken.NULL)
+        {
+            reader.nextNull();
+            return steps;
+        }
+
+        reader.beginArray();
+        while (reader.hasNext())
+        {
+            steps.add(readStep(reader));
+        }
+        reader.endArray();
+
+        return steps;
+    }
+
+    /**
+     * Reads a single step object.
+     *
+     * @param reader reader positioned at the start of the object
+     * @return parsed Step
+     */
+    private static Step readStep(JsonReader reader) throws IOException
+    {
+        int number = 0;
+        String name = null;
+        String status = null;
+        String conclusion = null;
+        Instant startedAt = null;
+        Instant completedAt = null;
+
+        reader.beginObject();
+        while (reader.hasNext())
+        {
+            switch (reader.nextName())
+            {
+                case Constants.FIELD_NUMBER -> number = reader.nextInt();
+                case Constants.FIELD_NAME -> name = nextStringOrNull(reader);
+                case Constants.FIELD_STATUS -> status = nextStringOrNull(reader);
+                case Constants.FIELD_CONCLUSION -> conclusion = nextStringOrNull(reader);
+                case Constants.FIELD_STARTED_AT -> startedAt = nextInstantOrNull(reader);
+                case Constants.FIELD_COMPLETED_AT -> completedAt = nextInstantOrNull(reader);
+                default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        return new Step(number, name, require(status, Constants.FIELD_STATUS), conclusion, startedAt, completedAt);
+    }
+
+    /**
+     * Reads the {@code full_name} of a repository object.
+     *
+     * @param reader reader positioned at the start of the object
+     * @return the repository name in format "owner/repo", or null if absent
+     */
+    private static String readFullName(JsonReader reader) throws IOException
+    {
+        String fullName = null;
+
+        reader.beginObject();
+        while (reader.hasNext())
+        {
+            if (Constants.FIELD_FULL_NAME.equals(reader.nextName()))
+            {
+                fullName = nextStringOrNull(reader);
+            }
+            else
+            {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        return fullName;
+    }
+
+    // ========== Value Helpers ==========
+
+    /**
+     * Reads a string value, returning null for a JSON null.
+     */
+    private static String nextStringOrNull(JsonReader reader) throws IOException
+    {
+        if (reader.peek() == JsonToken.NULL)
+        {
+            reader.nextNull();
+            return null;
+        }
+        return reader.nextString();
+    }
+
+    /**
+     * Reads an ISO-8601 timestamp, returning null for a JSON null.
+     */
+    private static Instant nextInstantOrNull(JsonReader reader) throws IOException
+    {
+        String value = nextStringOrNull(reader);
+        return value != null ? Instant.parse(value) : null;
+    }
+
+    /**
+     * Ensures a required field was present.
+     *
+     * @throws JsonParseException if value is null
+     */
+    private static <T> T require(T value, String fieldName)
+    {
+        if (value == null)
+        {
+            throw new JsonParseException("Missing required field: " + fieldName);
+        }
+        return value;
+    }
+
+    /**
+     * A workflow run together with the event that triggered it, which the
+     * {@link WorkflowRun} model does not keep.
+     */
+    private record ParsedRun(WorkflowRun run, String event)
+    {
+    }
+}
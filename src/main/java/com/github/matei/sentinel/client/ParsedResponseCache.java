@@ -0,0 +1,154 @@
+package com.github.matei.sentinel.client;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caches parsed API results together with the HTTP validators needed to revalidate them.
+ * <p>
+ * Each entry holds the immutable result parsed from the last full response for a
+ * {@link CacheKey}, the {@code ETag} and {@code Last-Modified} headers of that
+ * response, and the time it was last confirmed current. Lookups follow HTTP
+ * caching semantics:
+ * </p>
+ * <ul>
+ *   <li><b>Fresh</b> (confirmed within the freshness TTL): the parsed result is
+ *       returned without any request.</li>
+ *   <li><b>Stale</b>: the request is sent with {@code If-None-Match} /
+ *       {@code If-Modified-Since}. A {@code 304 Not Modified} answer, which has an
+ *       empty body and does not count against the primary rate limit, returns the
+ *       same parsed result and marks it fresh again; nothing is re-parsed.</li>
+ *   <li><b>Changed</b>: a {@code 200 OK} body is parsed and replaces the entry.</li>
+ * </ul>
+ *
+ * <h2>Memory</h2>
+ * Entries are held in a {@link BoundedCache} weighted by the size of the response
+ * body they were parsed from. The parsed objects keep only the fields the monitor
+ * reads, so they are considerably smaller than the JSON they came from. Entries
+ * not refreshed within the retention TTL expire, so results for runs that are no
+ * longer polled do not accumulate.
+ *
+ * <h2>Statistics</h2>
+ * <ul>
+ *   <li><b>Not modified</b>: requests answered with 304 and served from this cache</li>
+ *   <li><b>Full responses</b>: requests that returned a 200 body</li>
+ * </ul>
+ * Lookup hits, evictions and size are available from {@link #stats()}.
+ *
+ * <h2>Thread Safety</h2>
+ * This class is thread-safe. Entries are stored in a {@link BoundedCache}
+ * and counters are atomic.
+ *
+ * @param <T> type of the parsed result, e.g. {@code List<Job>}
+ * @since 1.1
+ * @see GitHubApiClientImpl
+ */
+class ParsedResponseCache<T>
+{
+    private final BoundedCache<CacheKey, Entry<T>> entries;
+    private final Duration freshness;
+    private final AtomicLong notModified = new AtomicLong();
+    private final AtomicLong fullResponses = new AtomicLong();
+
+    /**
+     * Creates an empty cache.
+     *
+     * @param maxWeight maximum total size in bytes of the response bodies represented
+     * @param freshness how long a result is served without revalidation
+     * @param retention how long an entry is kept after it was last confirmed current
+     */
+    ParsedResponseCache(long maxWeight, Duration freshness, Duration retention)
+    {
+        this.entries = new BoundedCache<>(maxWeight, retention);
+        this.freshness = freshness;
+    }
+
+    /**
+     * Returns the stored entry for a key, fresh or stale.
+     *
+     * @param key resource key
+     * @return the stored entry, or {@code null} if the resource is not cached
+     */
+    Entry<T> get(CacheKey key)
+    {
+        return entries.get(key);
+    }
+
+    /**
+     * Stores the parsed result of a full response with its validators.
+     *
+     * @param key resource key
+     * @param etag value of the {@code ETag} header, may be null
+     * @param lastModified value of the {@code Last-Modified} header, may be null
+     * @param value immutable parsed response
+     * @param bodySize size of the response body in bytes
+     * @param now time the response was received
+     */
+    void put(CacheKey key, String etag, String lastModified, T value, long bodySize, Instant now)
+    {
+        entries.put(key, new Entry<>(etag, lastModified, value, bodySize, now.plus(freshness)), bodySize);
+        fullResponses.incrementAndGet();
+    }
+
+    /**
+     * Marks a stale entry as current again after a {@code 304 Not Modified} response.
+     *
+     * @param key resource key
+     * @param entry the entry that was revalidated
+     * @param now time the response was received
+     * @return the revalidated parsed result
+     */
+    T revalidated(CacheKey key, Entry<T> entry, Instant now)
+    {
+        entries.put(key, new Entry<>(entry.etag(), entry.lastModified(), entry.value(), entry.bodySize(),
+                now.plus(freshness)), entry.bodySize());
+        notModified.incrementAndGet();
+        return entry.value();
+    }
+
+    /**
+     * @return number of requests answered with 304 Not Modified
+     */
+    long getNotModifiedCount()
+    {
+        return notModified.get();
+    }
+
+    /**
+     * @return number of requests answered with a full response
+     */
+    long getFullResponseCount()
+    {
+        return fullResponses.get();
+    }
+
+    /**
+     * @return lookup, eviction and size statistics of the underlying cache
+     */
+    CacheStats stats()
+    {
+        return entries.stats();
+    }
+
+    /**
+     * Validators and parsed result of the last full response for a resource.
+     *
+     * @param etag value of the {@code ETag} header, may be null
+     * @param lastModified value of the {@code Last-Modified} header, may be null
+     * @param value immutable parsed response body
+     * @param bodySize size of the response body in bytes, used as the cache weight
+     * @param freshUntil time until which the value is served without revalidation
+     * @param <T> type of the parsed result
+     */
+    record Entry<T>(String etag, String lastModified, T value, long bodySize, Instant freshUntil)
+    {
+        /**
+         * @return {@code true} if the value may be served without a request
+         */
+        boolean isFresh(Instant now)
+        {
+            return now.isBefore(freshUntil);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.github.matei.sentinel.client;
+
+import java.time.Instant;
+
+/**
+ * Thrown when GitHub rejects a request because a rate limit was exceeded.
+ * <p>
+ * GitHub signals this with {@code 403 Forbidden} or {@code 429 Too Many Requests}
+ * together with either {@code X-RateLimit-Remaining: 0} (primary limit) or a
+ * {@code Retry-After} header (secondary limit). The message keeps the usual
+ * "GitHub API error: {code} - {body}" format; {@link #getRetryAt()} tells callers
+ * when the request may be retried.
+ * </p>
+ *
+ * @see RateLimitTracker
+ * @since 1.1
+ */
+public class RateLimitExceededException extends RuntimeException
+{
+    private final Instant retryAt;
+
+    /**
+     * Creates a new RateLimitExceededException.
+     *
+     * @param message error message
+     * @param retryAt earliest time the request may be retried, or null if unknown
+     */
+    public RateLimitExceededException(String message, Instant retryAt)
+    {
+        super(message);
+        this.retryAt = retryAt;
+    }
+
+    /**
+     * @return earliest time the request may be retried, or null if GitHub did not say
+     */
+    public Instant getRetryAt()
+    {
+        return retryAt;
+    }
+}
@@ -0,0 +1,28 @@
+package com.github.matei.sentinel.client;
+
+import java.time.Instant;
+
+/**
+ * Snapshot of GitHub's primary rate limit as reported by the last response.
+ * <p>
+ * Built from the {@code X-RateLimit-Limit}, {@code X-RateLimit-Remaining},
+ * {@code X-RateLimit-Used} and {@code X-RateLimit-Reset} response headers.
+ * </p>
+ *
+ * @param limit maximum number of requests allowed in the current window
+ * @param remaining number of requests left in the current window
+ * @param used number of requests already made in the current window
+ * @param resetAt time at which the current window ends and the budget is restored
+ * @see RateLimitTracker
+ * @since 1.1
+ */
+public record RateLimitStatus(int limit, int remaining, int used, Instant resetAt)
+{
+    /**
+     * @return {@code true} if no requests are left in the current window
+     */
+    public boolean isExhausted()
+    {
+        return remaining <= 0;
+    }
+}
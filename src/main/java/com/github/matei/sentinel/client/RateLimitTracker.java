@@ -0,0 +1,143 @@
+package com.github.matei.sentinel.client;
+
+import com.github.matei.sentinel.util.Constants;
+
+import java.net.http.HttpHeaders;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Records GitHub's rate-limit headers from every API response.
+ * <p>
+ * {@link GitHubApiClientImpl} passes each response through
+ * {@link #recordResponse(int, HttpHeaders)}. The tracker keeps the latest
+ * {@link RateLimitStatus}, the deadline of any {@code Retry-After} instruction,
+ * and a count of the requests that were charged against the primary limit
+ * (everything except {@code 304 Not Modified}). The
+ * {@link com.github.matei.sentinel.monitor.RateLimitPacer} uses this to spread
+ * polls evenly over the rate-limit window.
+ * </p>
+ *
+ * <h2>Out-of-Order Responses</h2>
+ * Jobs are fetched concurrently, so responses can be recorded in a different
+ * order than GitHub produced them. Within one window the status with the
+ * <em>lowest</em> remaining count wins; a status for a later window always
+ * replaces an earlier one.
+ *
+ * <h2>Thread Safety</h2>
+ * This class is thread-safe. State is held in atomic references and counters.
+ *
+ * @see RateLimitStatus
+ * @since 1.1
+ */
+public class RateLimitTracker
+{
+    private final Clock clock;
+    private final AtomicReference<RateLimitStatus> status = new AtomicReference<>();
+    private final AtomicReference<Instant> retryAfterUntil = new AtomicReference<>();
+    private final AtomicLong chargedRequests = new AtomicLong();
+
+    /**
+     * Creates a tracker using the system clock.
+     */
+    public RateLimitTracker()
+    {
+        this(Clock.systemUTC());
+    }
+
+    /**
+     * Creates a tracker using the given clock to resolve {@code Retry-After} delays.
+     *
+     * @param clock clock for the current time
+     */
+    public RateLimitTracker(Clock clock)
+    {
+        this.clock = clock;
+    }
+
+    /**
+     * Records the rate-limit information of a response.
+     *
+     * @param statusCode HTTP status code of the response
+     * @param headers response headers
+     */
+    public void recordResponse(int statusCode, HttpHeaders headers)
+    {
+        if (statusCode != Constants.HTTP_NOT_MODIFIED)
+        {
+            chargedRequests.incrementAndGet();
+        }
+
+        OptionalLong retryAfter = headers.firstValueAsLong(Constants.HEADER_RETRY_AFTER);
+        if (retryAfter.isPresent())
+        {
+            Instant until = clock.instant().plusSeconds(retryAfter.getAsLong());
+            retryAfterUntil.accumulateAndGet(until, (a, b) -> a == null || b.isAfter(a) ? b : a);
+        }
+
+        OptionalLong remaining = headers.firstValueAsLong(Constants.HEADER_RATE_LIMIT_REMAINING);
+        OptionalLong reset = headers.firstValueAsLong(Constants.HEADER_RATE_LIMIT_RESET);
+        if (remaining.isEmpty() || reset.isEmpty())
+        {
+            return;
+        }
+
+        int limit = (int) headers.firstValueAsLong(Constants.HEADER_RATE_LIMIT_LIMIT).orElse(0);
+        int used = (int) headers.firstValueAsLong(Constants.HEADER_RATE_LIMIT_USED).orElse(limit - remaining.getAsLong());
+        RateLimitStatus latest = new RateLimitStatus(limit, (int) remaining.getAsLong(), used,
+                Instant.ofEpochSecond(reset.getAsLong()));
+
+        status.accumulateAndGet(latest, RateLimitTracker::newer);
+    }
+
+    /**
+     * @return the most recent rate-limit status, or empty if no response carried rate-limit headers yet
+     */
+    public Optional<RateLimitStatus> getStatus()
+    {
+        return Optional.ofNullable(status.get());
+    }
+
+    /**
+     * @return the time until which GitHub asked clients to back off via {@code Retry-After},
+     *         or empty if it never did
+     */
+    public Optional<Instant> getRetryAfterUntil()
+    {
+        return Optional.ofNullable(retryAfterUntil.get());
+    }
+
+    /**
+     * Returns the number of requests charged against the primary rate limit.
+     * <p>
+     * {@code 304 Not Modified} responses to conditional requests are free and are
+     * not counted.
+     * </p>
+     *
+     * @return number of charged requests since this tracker was created
+     */
+    public long getChargedRequestCount()
+    {
+        return chargedRequests.get();
+    }
+
+    /**
+     * Picks the status that best describes the current window.
+     */
+    private static RateLimitStatus newer(RateLimitStatus current, RateLimitStatus candidate)
+    {
+        if (current == null || candidate.resetAt().isAfter(current.resetAt()))
+        {
+            return candidate;
+        }
+        if (candidate.resetAt().equals(current.resetAt()) && candidate.remaining() < current.remaining())
+        {
+            return candidate;
+        }
+        return current;
+    }
+}
@@ -0,0 +1,24 @@
+package com.github.matei.sentinel.client;
+
+/**
+ * Thrown when GitHub answers a request with {@code 404 Not Found}.
+ * <p>
+ * The message keeps the usual "GitHub API error: 404 - {body}" format, so callers
+ * that only look at {@link RuntimeException}s see no difference. The type lets
+ * the client tell a deleted workflow run apart from other failures.
+ * </p>
+ *
+ * @since 1.1
+ */
+public class ResourceNotFoundException extends RuntimeException
+{
+    /**
+     * Creates a new ResourceNotFoundException.
+     *
+     * @param message error message
+     */
+    public ResourceNotFoundException(String message)
+    {
+        super(message);
+    }
+}
@@ -0,0 +1,35 @@
+package com.github.matei.sentinel.client;
+
+/**
+ * Optional criteria that restrict which workflow runs are requested.
+ * <p>
+ * Both criteria are sent as query parameters of
+ * {@code GET /repos/{owner}/{repo}/actions/runs}, so GitHub filters the runs
+ * before they are sent instead of the client discarding them after parsing.
+ * Runs delivered by webhook are checked with {@link #matches}.
+ * </p>
+ *
+ * @param branch only runs for this branch ({@code branch=}), or {@code null} for all branches
+ * @param event only runs triggered by this event ({@code event=}, e.g. "push"), or {@code null} for all events
+ * @since 1.1
+ */
+public record RunFilter(String branch, String event)
+{
+    /**
+     * Filter that matches every run.
+     */
+    public static final RunFilter NONE = new RunFilter(null, null);
+
+    /**
+     * Checks a run against this filter on the client side.
+     *
+     * @param runBranch branch the run belongs to
+     * @param runEvent event that triggered the run
+     * @return {@code true} if every criterion that is set equals the run's value
+     */
+    public boolean matches(String runBranch, String runEvent)
+    {
+        return (branch == null || branch.equals(runBranch))
+                && (event == null || event.equals(runEvent));
+    }
+}
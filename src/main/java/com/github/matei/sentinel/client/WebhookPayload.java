@@ -0,0 +1,21 @@
+package com.github.matei.sentinel.client;
+
+import com.github.matei.sentinel.model.Job;
+import com.github.matei.sentinel.model.WorkflowRun;
+
+/**
+ * The parts of a {@code workflow_run} or {@code workflow_job} webhook payload the monitor uses.
+ * <p>
+ * Exactly one of {@link #workflowRun()} and {@link #workflowJob()} is set,
+ * depending on the event type.
+ * </p>
+ *
+ * @param repository repository the delivery is about, in format "owner/repo"
+ * @param workflowRun the run of a {@code workflow_run} delivery, otherwise {@code null}
+ * @param event event that triggered the run (e.g., "push"), {@code null} for {@code workflow_job} deliveries
+ * @param workflowJob the job of a {@code workflow_job} delivery, with its steps, otherwise {@code null}
+ * @since 1.1
+ */
+public record WebhookPayload(String repository, WorkflowRun workflowRun, String event, Job workflowJob)
+{
+}
@@ -0,0 +1,23 @@
+package com.github.matei.sentinel.client;
+
+import com.github.matei.sentinel.model.WorkflowRun;
+
+import java.util.List;
+
+/**
+ * Receives workflow runs batch by batch while a listing is still being downloaded.
+ *
+ * @see GitHubApiClient#streamWorkflowRuns
+ * @since 1.1
+ */
+@FunctionalInterface
+public interface WorkflowRunConsumer
+{
+    /**
+     * Processes one batch of runs. Called on the thread that started the listing.
+     *
+     * @param runs non-empty batch of runs
+     * @throws Exception to abort the listing; the exception is rethrown to the caller
+     */
+    void accept(List<WorkflowRun> runs) throws Exception;
+}
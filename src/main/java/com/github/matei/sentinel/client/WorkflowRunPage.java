@@ -0,0 +1,26 @@
+package com.github.matei.sentinel.client;
+
+import com.github.matei.sentinel.model.WorkflowRun;
+
+import java.util.List;
+
+/**
+ * One page of a workflow run listing.
+ *
+ * @param totalCount number of runs matching the query across all pages
+ * @param runs immutable list of the runs on this page, in response order
+ * @since 1.1
+ */
+public record WorkflowRunPage(int totalCount, List<WorkflowRun> runs)
+{
+    /**
+     * Returns the number of pages needed to list every matching run.
+     *
+     * @param perPage page size used for the listing
+     * @return number of pages, at least 1
+     */
+    public int pageCount(int perPage)
+    {
+        return Math.max(1, (totalCount + perPage - 1) / perPage);
+    }
+}
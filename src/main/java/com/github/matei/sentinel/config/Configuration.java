@@ -3,6 +3,11 @@ package com.github.matei.sentinel.config;
 import com.github.matei.sentinel.util.Constants;
 import lombok.Getter;
 
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
 /**
  * Holds application configuration parsed from command-line arguments.
  * <p>
@@ -11,6 +16,12 @@ import lombok.Getter;
  * its components (owner and repo name).
  * </p>
  *
+ * <h2>Multiple Repositories</h2>
+ * A single process can monitor several repositories. {@link #getRepositories()}
+ * lists all of them; {@link #getRepository()}, {@link #getOwner()} and
+ * {@link #getRepo()} describe the first one. Use {@link #forRepository(String)}
+ * to obtain the configuration of each individual repository.
+ *
  * <h2>Repository Format</h2>
  * The repository must be in the format {@code owner/repo}, where:
  * <ul>
@@ -25,12 +36,23 @@ import lombok.Getter;
  * <h2>Validation</h2>
  * The constructor validates:
  * <ul>
- *   <li>Repository is not null</li>
- *   <li>Repository contains exactly one forward slash</li>
+ *   <li>At least one repository is given, and every repository is not null</li>
+ *   <li>Every repository contains exactly one forward slash</li>
  *   <li>Both owner and repo parts are non-empty</li>
  *   <li>Token is not null or empty</li>
+ *   <li>Job fetch concurrency is at least 1</li>
  * </ul>
  *
+ * <h2>Run Filters</h2>
+ * {@link #getBranch()} and {@link #getEvent()} optionally restrict monitoring to
+ * runs of one branch or triggering event. They apply to every repository and are
+ * {@code null} when not set.
+ *
+ * <h2>Webhooks</h2>
+ * {@link #isWebhookMode()} is set when events are received by webhook. Polling
+ * then only reconciles missed deliveries, every
+ * {@link Constants#WEBHOOK_RECONCILIATION_INTERVAL}.
+ *
  * <h2>Thread Safety</h2>
  * This class is immutable and therefore thread-safe.
  *
@@ -48,20 +70,121 @@ import lombok.Getter;
  *
  * @see Constants#REPO_FORMAT_SEPARATOR
  * @see Constants#REPO_FORMAT_PARTS
+ * @see Constants#DEFAULT_JOB_FETCH_CONCURRENCY
  * @since 1.0
  */
 
 @Getter
 public class Configuration
 {
-    // repository in format "owner/repo" (e.g.: matei/sentinel)
+    // repository in format "owner/repo" (e.g.: matei/sentinel); the first of the monitored repositories
     private final String repository;
     private final String owner;
     private final String repo;
+    // All monitored repositories in format "owner/repo", in command-line order
+    private final List<String> repositories;
     // GitHub Personal Access Token for API Auth
     private final String token;
+    // Maximum number of job requests in flight during a single poll
+    private final int jobFetchConcurrency;
+    // Only monitor runs of this branch / triggered by this event; null for all
+    private final String branch;
+    private final String event;
+    // Events arrive by webhook; polling only reconciles missed deliveries
+    private final boolean webhookMode;
 
     public Configuration(String repository, String token)
+    {
+        this(repository, token, Constants.DEFAULT_JOB_FETCH_CONCURRENCY);
+    }
+
+    public Configuration(String repository, String token, int jobFetchConcurrency)
+    {
+        this(Collections.singletonList(repository), token, jobFetchConcurrency);
+    }
+
+    public Configuration(List<String> repositories, String token, int jobFetchConcurrency)
+    {
+        this(repositories, token, jobFetchConcurrency, null, null);
+    }
+
+    public Configuration(List<String> repositories, String token, int jobFetchConcurrency,
+                         String branch, String event)
+    {
+        this(repositories, token, jobFetchConcurrency, branch, event, false);
+    }
+
+    public Configuration(List<String> repositories, String token, int jobFetchConcurrency,
+                         String branch, String event, boolean webhookMode)
+    {
+        if (repositories == null || repositories.isEmpty())
+        {
+            throw new IllegalArgumentException("At least one repository must be specified");
+        }
+
+        // Validate every repository and drop duplicates while keeping order
+        Set<String> unique = new LinkedHashSet<>();
+        for (String repository : repositories)
+        {
+            splitRepository(repository);
+            unique.add(repository);
+        }
+
+        if (jobFetchConcurrency < 1)
+        {
+            throw new IllegalArgumentException("Job fetch concurrency must be at least 1 (got " +
+                    jobFetchConcurrency + ")");
+        }
+
+        this.repositories = List.copyOf(unique);
+        this.repository = this.repositories.get(0);
+        this.token = token;
+        this.jobFetchConcurrency = jobFetchConcurrency;
+        this.branch = blankToNull(branch);
+        this.event = blankToNull(event);
+        this.webhookMode = webhookMode;
+
+        String[] parts = splitRepository(this.repository);
+        this.owner = parts[0];
+        this.repo = parts[1];
+    }
+
+    /**
+     * Returns a configuration for a single one of the monitored repositories.
+     * <p>
+     * The returned configuration shares the token and all other settings, so
+     * each {@link com.github.matei.sentinel.monitor.WorkflowMonitor} can be given
+     * a configuration whose {@link #getRepository()} is its own repository.
+     * </p>
+     *
+     * @param repository one of {@link #getRepositories()}
+     * @return configuration for that repository only
+     * @throws IllegalArgumentException if the repository is not monitored
+     */
+    public Configuration forRepository(String repository)
+    {
+        if (!repositories.contains(repository))
+        {
+            throw new IllegalArgumentException("Repository is not monitored: " + repository);
+        }
+        return new Configuration(List.of(repository), token, jobFetchConcurrency, branch, event, webhookMode);
+    }
+
+    /**
+     * @return the trimmed value, or {@code null} if it is null or blank
+     */
+    private static String blankToNull(String value)
+    {
+        return value == null || value.trim().isEmpty() ? null : value.trim();
+    }
+
+    /**
+     * Splits and validates a repository string in format "owner/repo".
+     *
+     * @return two-element array of owner and repo name
+     * @throws IllegalArgumentException if the format is invalid
+     */
+    private static String[] splitRepository(String repository)
     {
         if (repository == null || !repository.contains(Constants.REPO_FORMAT_SEPARATOR))
         {
@@ -81,10 +204,7 @@ public class Configuration
             throw new IllegalArgumentException("Repository owner and name cannot be empty");
         }
 
-        this.repository = repository;
-        this.token = token;
-        this.owner = parts[0];
-        this.repo = parts[1];
+        return parts;
     }
 
     @Override
@@ -94,6 +214,11 @@ public class Configuration
                 "repository='" + repository + '\'' +
                 ", owner='" + owner + '\'' +
                 ", repo='" + repo + '\'' +
+                ", repositories=" + repositories +
+                ", jobFetchConcurrency=" + jobFetchConcurrency +
+                ", branch='" + branch + '\'' +
+                ", event='" + event + '\'' +
+                ", webhookMode=" + webhookMode +
                 ", token='***hidden***'" +
                 '}';
     }
@@ -66,8 +66,8 @@ import lombok.ToString;
  * <h2>Usage Example</h2>
  * <pre>{@code
  * List<Step> steps = List.of(
- *     new Step("Checkout", "completed", "success", ...),
- *     new Step("Build", "completed", "success", ...)
+ *     new Step(1, "Checkout", "completed", "success", ...),
+ *     new Step(2, "Build", "completed", "success", ...)
  * );
  *
  * Job job = new Job(
@@ -122,6 +122,12 @@ public class Job
      */
     private final String status;
 
+    /**
+     * {@link #status} parsed once into a {@link Status}, for event detection.
+     */
+    @ToString.Exclude
+    private final Status state;
+
     /**
      * Conclusion of the job (only present when status is "completed").
      * Valid values: "success", "failure", "cancelled", "skipped"
@@ -167,6 +173,7 @@ public class Job
         this.runId = runId;
         this.name = name;
         this.status = status;
+        this.state = Status.fromApi(status);
         this.conclusion = conclusion;
         this.startedAt = startedAt;
         this.completedAt = completedAt;
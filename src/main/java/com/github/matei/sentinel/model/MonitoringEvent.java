@@ -5,6 +5,7 @@ import lombok.ToString;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.Objects;
 
 /**
  * Represents a normalized monitoring event detected from GitHub workflow state changes.
@@ -120,6 +121,8 @@ import java.time.Instant;
  *   <li><b>stepName</b>: Present only for step events</li>
  *   <li><b>conclusion</b>: Present only for completed events (success, failure, etc.)</li>
  *   <li><b>duration</b>: Present only for completed events (time taken to execute)</li>
+ *   <li><b>runId</b>, <b>jobId</b>, <b>stepNumber</b>: Identify the entity the event
+ *       belongs to; {@code 0} where not applicable. Used by {@link #fingerprint()}</li>
  * </ul>
  *
  * <h2>Immutability</h2>
@@ -248,7 +251,29 @@ public class MonitoringEvent
     private final Duration duration;
 
     /**
-     * Creates a new MonitoringEvent.
+     * ID of the workflow run this event belongs to.
+     * {@code 0} if unknown (events created without IDs).
+     */
+    private final long runId;
+
+    /**
+     * ID of the job (only for job and step events).
+     * {@code 0} for workflow events or if unknown.
+     */
+    private final long jobId;
+
+    /**
+     * Number of the step within its job (only for step events).
+     * {@code 0} for workflow and job events or if unknown.
+     */
+    private final int stepNumber;
+
+    /**
+     * Creates a new MonitoringEvent without entity IDs.
+     * <p>
+     * The {@link #fingerprint()} of such an event falls back to hashing the
+     * workflow, job and step names.
+     * </p>
      *
      * @param type the event type
      * @param timestamp when the event occurred
@@ -264,6 +289,31 @@ public class MonitoringEvent
     public MonitoringEvent(EventType type, Instant timestamp, String repository, String branch,
                            String sha, String workflowName, String jobName, String stepName,
                            String conclusion, Duration duration)
+    {
+        this(type, timestamp, repository, branch, sha, workflowName, jobName, stepName, conclusion, duration,
+                0, 0, 0);
+    }
+
+    /**
+     * Creates a new MonitoringEvent identified by run, job and step.
+     *
+     * @param type the event type
+     * @param timestamp when the event occurred
+     * @param repository repository in format "owner/repo"
+     * @param branch branch name
+     * @param sha commit SHA
+     * @param workflowName workflow name
+     * @param jobName job name (may be null)
+     * @param stepName step name (may be null)
+     * @param conclusion outcome (may be null)
+     * @param duration execution time (may be null)
+     * @param runId workflow run ID
+     * @param jobId job ID, or 0 for workflow events
+     * @param stepNumber step number within the job, or 0 for workflow and job events
+     */
+    public MonitoringEvent(EventType type, Instant timestamp, String repository, String branch,
+                           String sha, String workflowName, String jobName, String stepName,
+                           String conclusion, Duration duration, long runId, long jobId, int stepNumber)
     {
         this.type = type;
         this.timestamp = timestamp;
@@ -275,5 +325,51 @@ public class MonitoringEvent
         this.stepName = stepName;
         this.conclusion = conclusion;
         this.duration = duration;
+        this.runId = runId;
+        this.jobId = jobId;
+        this.stepNumber = stepNumber;
+    }
+
+    /**
+     * Returns a 64-bit fingerprint identifying this event for deduplication.
+     * <p>
+     * Hashes (type, run ID, job ID, step number, timestamp) with a 64-bit mixing
+     * function. No strings are built, so the fingerprint can be computed for every
+     * detected event at negligible cost. Events created without a run ID mix in the
+     * cached hash codes of the workflow, job and step names instead.
+     * </p>
+     * <p>
+     * Two distinct events collide with probability about 2<sup>-64</sup> per pair,
+     * which is negligible for the bounded number of fingerprints kept per repository.
+     * </p>
+     *
+     * @return fingerprint of this event
+     */
+    public long fingerprint()
+    {
+        long hash = mix(type.ordinal() + 1L);
+        hash = mix(hash ^ runId);
+        hash = mix(hash ^ jobId);
+        hash = mix(hash ^ stepNumber);
+        hash = mix(hash ^ timestamp.getEpochSecond());
+        hash = mix(hash ^ timestamp.getNano());
+        if (runId == 0)
+        {
+            hash = mix(hash ^ Objects.hashCode(workflowName));
+            hash = mix(hash ^ Objects.hashCode(jobName));
+            hash = mix(hash ^ Objects.hashCode(stepName));
+        }
+        return hash;
+    }
+
+    /**
+     * SplitMix64 finalizer: spreads every input bit over the whole 64-bit result.
+     */
+    private static long mix(long z)
+    {
+        z += 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
     }
 }
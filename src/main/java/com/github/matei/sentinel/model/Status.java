@@ -0,0 +1,93 @@
+package com.github.matei.sentinel.model;
+
+import com.github.matei.sentinel.util.Constants;
+
+/**
+ * Status of a workflow run, job or step, parsed from GitHub's status string.
+ * <p>
+ * GitHub reports status as a string. Each model parses it once, when it is
+ * created from the API response, so event detection compares enum constants
+ * instead of strings on every poll.
+ * </p>
+ *
+ * <h2>Lifecycle</h2>
+ * <pre>
+ * REQUESTED / PENDING / WAITING / QUEUED  →  IN_PROGRESS  →  COMPLETED
+ * </pre>
+ * The four states before {@link #IN_PROGRESS} are all "not started yet"; see
+ * {@link #isPending()}. Any string GitHub adds later maps to {@link #UNKNOWN}.
+ *
+ * @see WorkflowRun#getState()
+ * @see Job#getState()
+ * @see Step#getState()
+ * @since 1.1
+ */
+public enum Status
+{
+    /**
+     * Waiting in the queue to start ({@link Constants#STATUS_QUEUED}).
+     */
+    QUEUED,
+
+    /**
+     * Currently running ({@link Constants#STATUS_IN_PROGRESS}).
+     */
+    IN_PROGRESS,
+
+    /**
+     * Finished; the conclusion tells the outcome ({@link Constants#STATUS_COMPLETED}).
+     */
+    COMPLETED,
+
+    /**
+     * Waiting for an approval or protection rule ({@link Constants#STATUS_WAITING}).
+     */
+    WAITING,
+
+    /**
+     * Requested but not yet queued ({@link Constants#STATUS_REQUESTED}).
+     */
+    REQUESTED,
+
+    /**
+     * Held back, e.g. by a concurrency group ({@link Constants#STATUS_PENDING}).
+     */
+    PENDING,
+
+    /**
+     * Missing or unrecognized status string.
+     */
+    UNKNOWN;
+
+    /**
+     * Parses a status string from the GitHub API.
+     *
+     * @param status status string, may be null
+     * @return the matching status, or {@link #UNKNOWN} if null or unrecognized
+     */
+    public static Status fromApi(String status)
+    {
+        if (status == null)
+        {
+            return UNKNOWN;
+        }
+        return switch (status)
+        {
+            case Constants.STATUS_QUEUED -> QUEUED;
+            case Constants.STATUS_IN_PROGRESS -> IN_PROGRESS;
+            case Constants.STATUS_COMPLETED -> COMPLETED;
+            case Constants.STATUS_WAITING -> WAITING;
+            case Constants.STATUS_REQUESTED -> REQUESTED;
+            case Constants.STATUS_PENDING -> PENDING;
+            default -> UNKNOWN;
+        };
+    }
+
+    /**
+     * @return {@code true} if the entity has not started yet
+     */
+    public boolean isPending()
+    {
+        return this == QUEUED || this == WAITING || this == REQUESTED || this == PENDING;
+    }
+}
@@ -63,12 +63,13 @@ import java.util.Objects;
  * thread-safe and suitable for use in collections.
  *
  * <h2>Equality</h2>
- * Two steps are equal if they have the same name, status, conclusion, and timestamps.
+ * Two steps are equal if they have the same number, name, status, conclusion, and timestamps.
  * Note: Steps don't have unique IDs in GitHub's API, so we use all fields for equality.
  *
  * <h2>Usage Example</h2>
  * <pre>{@code
  * Step step = new Step(
+ *     3,                              // number
  *     "Run tests",                    // name
  *     "completed",                    // status
  *     "success",                      // conclusion
@@ -100,6 +101,13 @@ public class Step
      */
     private final String name;
 
+    /**
+     * Position of the step within its job, starting at 1.
+     * Unique within a job, unlike the name. {@code 0} if unknown, in which case
+     * event detection tells the job's steps apart by name.
+     */
+    private final int number;
+
     /**
      * Current status of the step.
      * Valid values: "queued", "in_progress", "completed"
@@ -110,6 +118,12 @@ public class Step
      */
     private final String status;
 
+    /**
+     * {@link #status} parsed once into a {@link Status}, for event detection.
+     */
+    @ToString.Exclude
+    private final Status state;
+
     /**
      * Conclusion of the step (only present when status is "completed").
      * Valid values: "success", "failure", "cancelled", "skipped"
@@ -130,18 +144,40 @@ public class Step
     private final Instant completedAt;
 
     /**
-     * Creates a new Step instance.
+     * Creates a new Step instance without a step number.
      *
      * @param name step name from workflow YAML
      * @param status current status ("queued", "in_progress", "completed")
      * @param conclusion outcome if completed ("success", "failure", etc.), may be null
      * @param startedAt start timestamp, may be null if not started
      * @param completedAt completion timestamp, may be null if not completed
+     * @deprecated steps are identified by number within their job; use
+     *             {@link #Step(int, String, String, String, Instant, Instant)}.
+     *             Steps created with this constructor have number 0 and are told
+     *             apart by name, so two steps with the same name collide.
      */
+    @Deprecated(since = "1.1")
     public Step(String name, String status, String conclusion, Instant startedAt, Instant completedAt)
     {
+        this(0, name, status, conclusion, startedAt, completedAt);
+    }
+
+    /**
+     * Creates a new Step instance with its position in the job.
+     *
+     * @param number step number within the job, starting at 1
+     * @param name step name from workflow YAML
+     * @param status current status ("queued", "in_progress", "completed")
+     * @param conclusion outcome if completed ("success", "failure", etc.), may be null
+     * @param startedAt start timestamp, may be null if not started
+     * @param completedAt completion timestamp, may be null if not completed
+     */
+    public Step(int number, String name, String status, String conclusion, Instant startedAt, Instant completedAt)
+    {
+        this.number = number;
         this.name = name;
         this.status = status;
+        this.state = Status.fromApi(status);
         this.conclusion = conclusion;
         this.startedAt = startedAt;
         this.completedAt = completedAt;
@@ -163,7 +199,8 @@ public class Step
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Step that = (Step) o;
-        return Objects.equals(this.name, that.name) &&
+        return this.number == that.number &&
+                Objects.equals(this.name, that.name) &&
                 Objects.equals(this.status, that.status) &&
                 Objects.equals(this.conclusion, that.conclusion) &&
                 Objects.equals(this.startedAt, that.startedAt) &&
@@ -178,6 +215,6 @@ public class Step
     @Override
     public int hashCode()
     {
-        return Objects.hash(name, status, conclusion, startedAt, completedAt);
+        return Objects.hash(number, name, status, conclusion, startedAt, completedAt);
     }
 }
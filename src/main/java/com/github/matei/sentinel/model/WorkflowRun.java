@@ -67,6 +67,12 @@ public class WorkflowRun
      */
     private final String status;
 
+    /**
+     * {@link #status} parsed once into a {@link Status}, for event detection.
+     */
+    @ToString.Exclude
+    private final Status state;
+
     /**
      * Conclusion of the workflow run (only present when status is "completed").
      * Valid values: "success", "failure", "cancelled", "skipped", "timed_out", "action_required"
@@ -116,6 +122,7 @@ public class WorkflowRun
         this.id = id;
         this.name = name;
         this.status = status;
+        this.state = Status.fromApi(status);
         this.conclusion = conclusion;
         this.headBranch = headBranch;
         this.headSha = headSha;
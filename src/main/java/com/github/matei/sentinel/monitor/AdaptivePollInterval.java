@@ -0,0 +1,115 @@
+package com.github.matei.sentinel.monitor;
+
+import com.github.matei.sentinel.util.Constants;
+
+import java.time.Duration;
+
+/**
+ * Chooses the poll interval of a repository from its recent activity.
+ * <p>
+ * A fixed interval is a poor fit for both ends of the spectrum: while a run is
+ * executing, step events arrive up to a full interval late, and on a quiet
+ * repository every poll spends API quota only to learn that nothing changed.
+ * This class polls quickly while work is in flight and backs off exponentially
+ * once everything has completed.
+ * </p>
+ *
+ * <h2>Behavior</h2>
+ * <ul>
+ *   <li><b>Active</b>: a run or job is queued or in progress, or the poll reported
+ *       events (for example a new run) - the interval snaps to
+ *       {@link Constants#ACTIVE_POLL_INTERVAL_SECONDS}</li>
+ *   <li><b>Idle</b>: nothing is in flight - the interval doubles on every poll,
+ *       up to {@link Constants#IDLE_POLL_INTERVAL_SECONDS}</li>
+ *   <li><b>Error</b>: the outcome of the poll is unknown - the interval returns
+ *       to the regular {@link Constants#POLL_INTERVAL_SECONDS}</li>
+ * </ul>
+ * Before the first poll the regular interval is used.
+ *
+ * <h2>Thread Safety</h2>
+ * This class is not thread-safe. Each {@link WorkflowMonitor} owns one instance
+ * and updates it from its polling thread.
+ *
+ * @see WorkflowMonitor#nextPollDelay()
+ * @since 1.1
+ */
+public class AdaptivePollInterval
+{
+    private final Duration activeInterval;
+    private final Duration defaultInterval;
+    private final Duration idleInterval;
+
+    private Duration current;
+
+    /**
+     * Creates an adaptive interval using the intervals from {@link Constants}.
+     */
+    public AdaptivePollInterval()
+    {
+        this(Duration.ofSeconds(Constants.ACTIVE_POLL_INTERVAL_SECONDS),
+                Duration.ofSeconds(Constants.POLL_INTERVAL_SECONDS),
+                Duration.ofSeconds(Constants.IDLE_POLL_INTERVAL_SECONDS));
+    }
+
+    /**
+     * Creates an adaptive interval with custom bounds.
+     *
+     * @param activeInterval interval while runs are in flight
+     * @param defaultInterval interval before the first poll and after errors
+     * @param idleInterval upper bound of the interval on an idle repository
+     * @throws IllegalArgumentException if the intervals are not positive and ordered
+     */
+    public AdaptivePollInterval(Duration activeInterval, Duration defaultInterval, Duration idleInterval)
+    {
+        if (activeInterval.isNegative() || activeInterval.isZero()
+                || defaultInterval.compareTo(activeInterval) < 0
+                || idleInterval.compareTo(defaultInterval) < 0)
+        {
+            throw new IllegalArgumentException("Poll intervals must satisfy 0 < active <= default <= idle, got: "
+                    + activeInterval + ", " + defaultInterval + ", " + idleInterval);
+        }
+        this.activeInterval = activeInterval;
+        this.defaultInterval = defaultInterval;
+        this.idleInterval = idleInterval;
+        this.current = defaultInterval;
+    }
+
+    /**
+     * Records the outcome of a successful poll.
+     *
+     * @param active {@code true} if any run or job was queued or in progress, or the poll reported events
+     * @return the interval until the next poll
+     */
+    public Duration recordPoll(boolean active)
+    {
+        if (active)
+        {
+            current = activeInterval;
+        }
+        else
+        {
+            Duration doubled = current.multipliedBy(2);
+            current = doubled.compareTo(idleInterval) > 0 ? idleInterval : doubled;
+        }
+        return current;
+    }
+
+    /**
+     * Records a failed poll; the interval returns to the default.
+     *
+     * @return the interval until the next poll
+     */
+    public Duration recordError()
+    {
+        current = defaultInterval;
+        return current;
+    }
+
+    /**
+     * @return the interval until the next poll
+     */
+    public Duration current()
+    {
+        return current;
+    }
+}
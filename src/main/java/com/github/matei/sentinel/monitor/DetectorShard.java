@@ -0,0 +1,362 @@
+package com.github.matei.sentinel.monitor;
+
+import com.github.matei.sentinel.model.*;
+import com.github.matei.sentinel.util.Constants;
+import com.github.matei.sentinel.util.LastSeenIndex;
+import com.github.matei.sentinel.util.LongObjectMap;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * The detection state of the workflow runs assigned to one shard of an {@link EventDetector}.
+ * <p>
+ * A run, its jobs and their steps always belong to the same shard, chosen by
+ * run ID, so shards share nothing and can detect events on different threads
+ * without locking. Each shard expires its own entries.
+ * </p>
+ *
+ * <h2>Thread Safety</h2>
+ * This class is NOT thread-safe. A shard is used by one thread at a time.
+ *
+ * @see EventDetector
+ * @since 1.1
+ */
+final class DetectorShard
+{
+    private final String repository;
+
+    // Track previous state to detect changes
+    private final LongObjectMap<WorkflowRun> previousWorkflowRuns = new LongObjectMap<>();
+    private final LongObjectMap<Job> previousJobs = new LongObjectMap<>();
+    private final LongObjectMap<Step[]> previousSteps = new LongObjectMap<>(); // by job ID, then step number - 1
+    private final LongObjectMap<Map<String, Step>> previousUnnumberedSteps = new LongObjectMap<>(); // by job ID, then name
+
+    // Track when we last saw each item to clean up old entries
+    private final LastSeenIndex workflowLastSeen =
+            new LastSeenIndex(Constants.CLEANUP_THRESHOLD, Constants.CLEANUP_GRANULARITY);
+    private final LastSeenIndex jobLastSeen =
+            new LastSeenIndex(Constants.CLEANUP_THRESHOLD, Constants.CLEANUP_GRANULARITY);
+
+    DetectorShard(String repository)
+    {
+        this.repository = repository;
+    }
+
+    /**
+     * Detects events for the runs of this shard and expires entries not seen recently.
+     *
+     * @param currentWorkflowRuns current workflow runs assigned to this shard
+     * @param currentJobsMap map of runId -> list of jobs for that run; only read
+     * @param now time of the poll
+     * @return detected events, each run's workflow event followed by its job and step events
+     */
+    List<MonitoringEvent> detectEvents(List<WorkflowRun> currentWorkflowRuns,
+                                       Map<Long, List<Job>> currentJobsMap, Instant now)
+    {
+        List<MonitoringEvent> events = new ArrayList<>();
+
+        for (WorkflowRun currentRun : currentWorkflowRuns)
+        {
+            WorkflowRun previousRun = previousWorkflowRuns.get(currentRun.getId());
+            
+            // Detect workflow-level events
+            events.addAll(detectWorkflowEvents(currentRun, previousRun));
+            
+            // Detect job-level events
+            List<Job> currentJobs = currentJobsMap.getOrDefault(currentRun.getId(), Collections.emptyList());
+            events.addAll(detectJobEvents(currentRun, currentJobs, now));
+            
+            // Update previous state
+            previousWorkflowRuns.put(currentRun.getId(), currentRun);
+
+            workflowLastSeen.touch(currentRun.getId(), now.toEpochMilli());
+        }
+
+        // Clean up here to prevent memory leak
+        cleanupOldEntries(now);
+
+        return events;
+    }
+
+    /**
+     * Detects job and step events for jobs of a run of this shard seen before.
+     *
+     * @param runId ID of the workflow run the jobs belong to
+     * @param currentJobs current state of some or all of the run's jobs
+     * @param now time of the delivery
+     * @return detected events, empty if the run is unknown
+     * @see EventDetector#detectJobEvents(long, List)
+     */
+    List<MonitoringEvent> detectJobEvents(long runId, List<Job> currentJobs, Instant now)
+    {
+        WorkflowRun run = previousWorkflowRuns.get(runId);
+        if (run == null)
+        {
+            return new ArrayList<>();
+        }
+
+        List<MonitoringEvent> events = detectJobEvents(run, currentJobs, now);
+        workflowLastSeen.touch(runId, now.toEpochMilli());
+        return events;
+    }
+
+    /**
+     * Removes entries older than CLEANUP_THRESHOLD to prevent unbounded memory growth.
+     */
+    void cleanupOldEntries(Instant now)
+    {
+        // Only entries whose time slot dropped out of CLEANUP_THRESHOLD are visited
+        for (long runId : workflowLastSeen.expire(now.toEpochMilli()))
+        {
+            previousWorkflowRuns.remove(runId);
+        }
+
+        // Remove old jobs
+        for (long jobId : jobLastSeen.expire(now.toEpochMilli()))
+        {
+            previousJobs.remove(jobId);
+            // Steps are seen whenever their job is, so they expire with it
+            previousSteps.remove(jobId);
+            previousUnnumberedSteps.remove(jobId);
+        }
+    }
+
+    /**
+     * Detects workflow-level events (QUEUED, STARTED, COMPLETED).
+     */
+    private List<MonitoringEvent> detectWorkflowEvents(WorkflowRun currentRun, WorkflowRun previousRun)
+    {
+        List<MonitoringEvent> events = new ArrayList<>();
+        boolean firstSeen = previousRun == null;
+
+        EventType type = TransitionTable.lookup(TransitionTable.Kind.WORKFLOW,
+                firstSeen ? null : previousRun.getState(), currentRun.getState());
+        if (type == null)
+        {
+            return events;
+        }
+
+        Instant timestamp = currentRun.getUpdatedAt();
+        String conclusion = null;
+        if (type == EventType.WORKFLOW_COMPLETED)
+        {
+            timestamp = eventTime(currentRun.getConcludedAt(), currentRun.getUpdatedAt(), firstSeen);
+            if (timestamp == null)
+            {
+                return events;
+            }
+            conclusion = currentRun.getConclusion();
+        }
+
+        events.add(new MonitoringEvent(
+            type,
+            timestamp,
+            repository,
+            currentRun.getHeadBranch(),
+            currentRun.getHeadSha(),
+            currentRun.getName(),
+            null, // no job
+            null, // no step
+            conclusion,
+            null, // We don't have workflow start time, so can't calculate duration
+            currentRun.getId(),
+            0, // no job
+            0  // no step
+        ));
+        return events;
+    }
+    
+    /**
+     * Detects job-level events (QUEUED, STARTED, COMPLETED) and step-level events.
+     */
+    private List<MonitoringEvent> detectJobEvents(WorkflowRun workflowRun, List<Job> currentJobs, Instant now)
+    {
+        List<MonitoringEvent> events = new ArrayList<>();
+
+        for (Job currentJob : currentJobs)
+        {
+            Job previousJob = previousJobs.get(currentJob.getId());
+            boolean firstSeen = previousJob == null;
+
+            EventType type = TransitionTable.lookup(TransitionTable.Kind.JOB,
+                    firstSeen ? null : previousJob.getState(), currentJob.getState());
+            if (type != null)
+            {
+                // GitHub API doesn't provide queue time, so QUEUED uses the current time
+                Instant timestamp = switch (type)
+                {
+                    case JOB_STARTED -> eventTime(currentJob.getStartedAt(), now, firstSeen);
+                    case JOB_COMPLETED -> eventTime(currentJob.getCompletedAt(), now, firstSeen);
+                    default -> now;
+                };
+                if (timestamp != null)
+                {
+                    boolean completed = type == EventType.JOB_COMPLETED;
+                    events.add(new MonitoringEvent(
+                        type,
+                        timestamp,
+                        repository,
+                        workflowRun.getHeadBranch(),
+                        workflowRun.getHeadSha(),
+                        workflowRun.getName(),
+                        currentJob.getName(),
+                        null,
+                        completed ? currentJob.getConclusion() : null,
+                        completed ? duration(currentJob.getStartedAt(), currentJob.getCompletedAt()) : null,
+                        workflowRun.getId(),
+                        currentJob.getId(),
+                        0 // no step
+                    ));
+                }
+            }
+            
+            // Detect step-level events (if job has steps)
+            events.addAll(detectStepEvents(workflowRun, currentJob, now));
+
+            jobLastSeen.touch(currentJob.getId(), now.toEpochMilli());
+
+            // Update previous state
+            previousJobs.put(currentJob.getId(), currentJob);
+        }
+        
+        return events;
+    }
+    
+    /**
+     * Detects step-level events (STARTED, COMPLETED).
+     * Note: GitHub API provides steps in Job details.
+     */
+    private List<MonitoringEvent> detectStepEvents(WorkflowRun workflowRun, Job job, Instant now)
+    {
+        List<MonitoringEvent> events = new ArrayList<>();
+
+        List<Step> currentSteps = job.getSteps();
+        if (currentSteps == null)
+        {
+            return events;
+        }
+
+        Step[] stepStates = stepStatesOf(job.getId(), currentSteps);
+        Map<String, Step> unnumberedStates = null;
+        for (Step currentStep : currentSteps)
+        {
+            int index = currentStep.getNumber() - 1;
+            Step previousStep;
+            if (index >= 0)
+            {
+                previousStep = stepStates[index];
+            } else
+            {
+                // GitHub numbers steps from 1; a step without a number is told apart by name
+                if (unnumberedStates == null)
+                {
+                    unnumberedStates = previousUnnumberedSteps.get(job.getId());
+                    if (unnumberedStates == null)
+                    {
+                        unnumberedStates = new HashMap<>();
+                        previousUnnumberedSteps.put(job.getId(), unnumberedStates);
+                    }
+                }
+                previousStep = unnumberedStates.get(currentStep.getName());
+            }
+            boolean firstSeen = previousStep == null;
+
+            EventType type = TransitionTable.lookup(TransitionTable.Kind.STEP,
+                    firstSeen ? null : previousStep.getState(), currentStep.getState());
+            if (type != null)
+            {
+                boolean completed = type == EventType.STEP_COMPLETED;
+                Instant timestamp = completed
+                        ? eventTime(currentStep.getCompletedAt(), now, firstSeen)
+                        : eventTime(currentStep.getStartedAt(), now, firstSeen);
+                if (timestamp != null)
+                {
+                    events.add(new MonitoringEvent(
+                        type,
+                        timestamp,
+                        repository,
+                        workflowRun.getHeadBranch(),
+                        workflowRun.getHeadSha(),
+                        workflowRun.getName(),
+                        job.getName(),
+                        currentStep.getName(),
+                        completed ? currentStep.getConclusion() : null,
+                        completed ? duration(currentStep.getStartedAt(), currentStep.getCompletedAt()) : null,
+                        workflowRun.getId(),
+                        job.getId(),
+                        currentStep.getNumber()
+                    ));
+                }
+            }
+            
+            // Update previous state
+            if (index >= 0)
+            {
+                stepStates[index] = currentStep;
+            } else
+            {
+                unnumberedStates.put(currentStep.getName(), currentStep);
+            }
+        }
+        
+        return events;
+    }
+
+    /**
+     * Returns the time an event happened.
+     * <p>
+     * An entity seen changing between two polls falls back to the given time when
+     * GitHub omits the timestamp. An entity seen for the first time is only
+     * reported with its own timestamp, since it may have started or completed long
+     * before this detector was running.
+     * </p>
+     *
+     * @param timestamp time reported by GitHub, may be null
+     * @param fallback time to use if the entity was seen before
+     * @param firstSeen whether the entity is seen for the first time
+     * @return event time, or {@code null} if the event should not be reported
+     */
+    private static Instant eventTime(Instant timestamp, Instant fallback, boolean firstSeen)
+    {
+        if (timestamp != null || firstSeen)
+        {
+            return timestamp;
+        }
+        return fallback;
+    }
+
+    /**
+     * @return time between start and completion, or {@code null} if either is unknown
+     */
+    private static Duration duration(Instant startedAt, Instant completedAt)
+    {
+        if (startedAt == null || completedAt == null)
+        {
+            return null;
+        }
+        return Duration.between(startedAt, completedAt);
+    }
+
+    /**
+     * Returns the array holding the previous state of a job's steps, growing it
+     * if the job now has a higher step number than before.
+     */
+    private Step[] stepStatesOf(long jobId, List<Step> currentSteps)
+    {
+        int maxNumber = 0;
+        for (Step step : currentSteps)
+        {
+            maxNumber = Math.max(maxNumber, step.getNumber());
+        }
+
+        Step[] stepStates = previousSteps.get(jobId);
+        if (stepStates == null || stepStates.length < maxNumber)
+        {
+            stepStates = stepStates == null ? new Step[maxNumber] : Arrays.copyOf(stepStates, maxNumber);
+            previousSteps.put(jobId, stepStates);
+        }
+        return stepStates;
+    }
+}
@@ -2,10 +2,13 @@ package com.github.matei.sentinel.monitor;
 
 import com.github.matei.sentinel.model.*;
 import com.github.matei.sentinel.util.Constants;
+import com.github.matei.sentinel.util.LastSeenIndex;
+import com.github.matei.sentinel.util.LongObjectMap;
 
-import java.time.Duration;
 import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 /**
  * Detects state changes in GitHub workflows, jobs, and steps to generate monitoring events.
@@ -36,21 +39,51 @@ import java.util.*;
  *   </li>
  *   <li>Calculate duration for completed events (end time - start time)</li>
  * </ol>
+ * Which event, if any, a status change produces is looked up in the
+ * {@link TransitionTable}, keyed by entity kind, previous {@link Status} and
+ * current {@link Status}. Statuses are parsed once when the models are built,
+ * so no status string is compared during detection.
  *
  * <h2>State Management</h2>
- * The detector maintains three maps to track previous state:
+ * State is kept in one or more {@link DetectorShard}s. Each shard maintains
+ * four maps to track previous state:
  * <ul>
  *   <li><b>previousWorkflowRuns</b>: Keyed by workflow run ID</li>
  *   <li><b>previousJobs</b>: Keyed by job ID</li>
- *   <li><b>previousSteps</b>: Keyed by "jobId:stepName" (composite key)</li>
+ *   <li><b>previousSteps</b>: Keyed by job ID, each an array of the job's steps
+ *       indexed by step number</li>
+ *   <li><b>previousUnnumberedSteps</b>: Keyed by job ID, then step name, for
+ *       steps without a number</li>
  * </ul>
+ * Runs and jobs are keyed by their primitive IDs in {@link LongObjectMap}s, and
+ * their last-seen times are epoch milliseconds in {@link LastSeenIndex}es, so
+ * tracking tens of thousands of jobs costs no boxed keys, map entries or
+ * {@code Instant}s.
+ * A step is identified by its job ID and step number: its previous state is one
+ * array slot, updated in place on every poll, and it expires with its job. A step
+ * without a number (number 0) is identified by its job ID and name instead.
+ *
+ * <h2>Parallel Detection</h2>
+ * A catch-up poll can return hundreds of runs with dozens of jobs each. Created
+ * with a parallelism above 1, the detector assigns every run to a shard by run
+ * ID; the run's jobs and steps live in the same shard, so shards share no state.
+ * A poll with at least {@link Constants#PARALLEL_DETECTION_MIN_RUNS} runs is
+ * detected with one fork-join task per shard, the calling thread taking the
+ * first. Each shard sorts its events by timestamp, run ID, job ID and step number,
+ * and the sorted shards are merged through a heap of one cursor per shard, so the
+ * order does not depend on thread scheduling, nor on whether a poll was large
+ * enough to be split. The monitor uses a single shard unless
+ * {@link Constants#ARG_DETECTION_PARALLELISM_LONG} asks for more; sharding is
+ * worth it only with spare cores, see {@link Constants#PARALLEL_DETECTION_MIN_RUNS}.
  *
  * <h2>Memory Management</h2>
  * To prevent unbounded memory growth, the detector implements automatic cleanup:
  * <ul>
  *   <li>Tracks when each entity was last seen</li>
  *   <li>Removes entities not seen for more than 1 hour</li>
- *   <li>Cleanup runs on every call to {@link #detectEvents}</li>
+ *   <li>Cleanup runs on every call to {@link #detectEvents}, but only visits
+ *       entities last seen in the minute that just dropped out of that hour, so
+ *       its cost does not grow with the number of tracked entities</li>
  * </ul>
  *
  * <h2>Status Values</h2>
@@ -59,6 +92,8 @@ import java.util.*;
  *   <li><b>queued</b>: Waiting to start ({@link Constants#STATUS_QUEUED})</li>
  *   <li><b>in_progress</b>: Currently running ({@link Constants#STATUS_IN_PROGRESS})</li>
  *   <li><b>completed</b>: Finished ({@link Constants#STATUS_COMPLETED})</li>
+ *   <li><b>waiting</b>, <b>requested</b>, <b>pending</b>: Not started yet,
+ *       treated like queued</li>
  * </ul>
  *
  * <h2>Conclusion Values</h2>
@@ -71,7 +106,9 @@ import java.util.*;
  * </ul>
  *
  * <h2>Thread Safety</h2>
- * This class is NOT thread-safe. It should only be used from a single thread.
+ * This class is NOT thread-safe. It should only be used from a single thread;
+ * any parallelism is internal to {@link #detectEvents}, which returns only once
+ * every shard has finished.
  *
  * <h2>Usage Example</h2>
  * <pre>{@code
@@ -102,26 +139,51 @@ import java.util.*;
  */
 public class EventDetector
 {
-    
-    private final String repository;
-    
-    // Track previous state to detect changes
-    private final Map<Long, WorkflowRun> previousWorkflowRuns = new HashMap<>();
-    private final Map<Long, Job> previousJobs = new HashMap<>();
-    private final Map<String, Step> previousSteps = new HashMap<>(); // jobId + stepName
-
-    // Track when we last saw each item to clean up old entries
-    private final Map<Long, Instant> workflowLastSeen = new HashMap<>();
-    private final Map<Long, Instant> jobLastSeen = new HashMap<>();
-    private final Map<String, Instant> stepLastSeen = new HashMap<>();
+    private final DetectorShard[] shards;
+    private final ForkJoinPool pool;
 
+    /**
+     * Creates a detector that checks runs one after another on the calling thread.
+     *
+     * @param repository repository in format "owner/repo"
+     */
     public EventDetector(String repository)
     {
-        this.repository = repository;
+        this(repository, 1);
+    }
+
+    /**
+     * Creates a detector that partitions runs into shards by run ID.
+     * <p>
+     * With more than one shard, large batches are detected in parallel on the
+     * common {@link ForkJoinPool} and events are reported in timestamp order.
+     * </p>
+     *
+     * @param repository repository in format "owner/repo"
+     * @param parallelism number of shards; 1 disables parallel detection
+     * @throws IllegalArgumentException if parallelism is less than 1
+     */
+    public EventDetector(String repository, int parallelism)
+    {
+        if (parallelism < 1)
+        {
+            throw new IllegalArgumentException("Detection parallelism must be at least 1, got: " + parallelism);
+        }
+        this.shards = new DetectorShard[parallelism];
+        for (int i = 0; i < parallelism; i++)
+        {
+            shards[i] = new DetectorShard(repository);
+        }
+        this.pool = ForkJoinPool.commonPool();
     }
     
     /**
      * Detects events by comparing current workflow runs with previous state.
+     * <p>
+     * With a single shard, each run's workflow event is followed by its job and
+     * step events, in the order the runs were given. With more than one shard,
+     * events are ordered by timestamp, then run ID, job ID and step number.
+     * </p>
      * 
      * @param currentWorkflowRuns current workflow runs from GitHub API
      * @param currentJobsMap map of runId -> list of jobs for that run
@@ -131,401 +193,223 @@ public class EventDetector
             List<WorkflowRun> currentWorkflowRuns,
             Map<Long, List<Job>> currentJobsMap)
     {
-        
-        List<MonitoringEvent> events = new ArrayList<>();
         Instant now = Instant.now();
+        if (shards.length == 1)
+        {
+            return shards[0].detectEvents(currentWorkflowRuns, currentJobsMap, now);
+        }
 
-        for (WorkflowRun currentRun : currentWorkflowRuns)
+        List<List<WorkflowRun>> partitions = new ArrayList<>(shards.length);
+        for (int i = 0; i < shards.length; i++)
         {
-            WorkflowRun previousRun = previousWorkflowRuns.get(currentRun.getId());
-            
-            // Detect workflow-level events
-            events.addAll(detectWorkflowEvents(currentRun, previousRun));
-            
-            // Detect job-level events
-            List<Job> currentJobs = currentJobsMap.getOrDefault(currentRun.getId(), Collections.emptyList());
-            events.addAll(detectJobEvents(currentRun, currentJobs));
-            
-            // Update previous state
-            previousWorkflowRuns.put(currentRun.getId(), currentRun);
+            partitions.add(new ArrayList<>());
+        }
+        for (WorkflowRun run : currentWorkflowRuns)
+        {
+            partitions.get(shardIndex(run.getId())).add(run);
+        }
 
-            workflowLastSeen.put(currentRun.getId(), now);
+        List<List<MergeKey>> sorted = new ArrayList<>(shards.length);
+        if (currentWorkflowRuns.size() < Constants.PARALLEL_DETECTION_MIN_RUNS)
+        {
+            // Too little work to be worth handing to other threads
+            for (int i = 0; i < shards.length; i++)
+            {
+                sorted.add(detectSorted(shards[i], partitions.get(i), currentJobsMap, now));
+            }
+        } else
+        {
+            List<ForkJoinTask<List<MergeKey>>> tasks = new ArrayList<>(shards.length - 1);
+            for (int i = 1; i < shards.length; i++)
+            {
+                DetectorShard shard = shards[i];
+                List<WorkflowRun> partition = partitions.get(i);
+                tasks.add(pool.submit(() -> detectSorted(shard, partition, currentJobsMap, now)));
+            }
+            // The calling thread takes the first shard instead of waiting idle
+            sorted.add(detectSorted(shards[0], partitions.get(0), currentJobsMap, now));
+            for (ForkJoinTask<List<MergeKey>> task : tasks)
+            {
+                sorted.add(task.join());
+            }
         }
 
-        // Clean up here to prevent memory leak
-        cleanupOldEntries(now);
+        return merge(sorted);
+    }
+
+    /**
+     * Detects job and step events for jobs of a workflow run seen before.
+     * <p>
+     * Used for {@code workflow_job} webhook deliveries, which carry a single job
+     * but not its run. The run's name, branch and commit are taken from the run
+     * last passed to {@link #detectEvents}. Jobs of a run this detector has not
+     * seen are ignored; they are reported once the run itself is detected.
+     * </p>
+     *
+     * @param runId ID of the workflow run the jobs belong to
+     * @param currentJobs current state of some or all of the run's jobs
+     * @return list of detected monitoring events, empty if the run is unknown
+     */
+    public List<MonitoringEvent> detectJobEvents(long runId, List<Job> currentJobs)
+    {
+        Instant now = Instant.now();
+        List<MonitoringEvent> events = shards[shardIndex(runId)].detectJobEvents(runId, currentJobs, now);
+
+        for (DetectorShard shard : shards)
+        {
+            shard.cleanupOldEntries(now);
+        }
 
         return events;
     }
 
     /**
-     * Removes entries older than CLEANUP_THRESHOLD to prevent unbounded memory growth.
+     * @return number of shards runs are partitioned into
      */
-    private void cleanupOldEntries(Instant now)
+    public int getParallelism()
     {
-        workflowLastSeen.entrySet().removeIf(entry ->
-                {
-                        if (Duration.between(entry.getValue(), now).compareTo(Constants.CLEANUP_THRESHOLD) > 0)
-                        {
-                            previousWorkflowRuns.remove(entry.getKey());
-                            return true;
-                        }
-                        return false;
-                }
-        );
-
-        // Remove old jobs
-        jobLastSeen.entrySet().removeIf(entry -> {
-            if (Duration.between(entry.getValue(), now).compareTo(Constants.CLEANUP_THRESHOLD) > 0)
-            {
-                previousJobs.remove(entry.getKey());
-                return true;
-            }
-            return false;
-        });
+        return shards.length;
+    }
 
-        // Remove old steps
-        stepLastSeen.entrySet().removeIf(entry -> {
-            if (Duration.between(entry.getValue(), now).compareTo(Constants.CLEANUP_THRESHOLD)  > 0)
-            {
-                previousSteps.remove(entry.getKey());
-                return true;
-            }
-            return false;
-        });
+    /**
+     * Detects the events of one shard and sorts them, so the sorting is done in parallel too.
+     */
+    private static List<MergeKey> detectSorted(DetectorShard shard, List<WorkflowRun> runs,
+                                               Map<Long, List<Job>> jobsMap, Instant now)
+    {
+        List<MonitoringEvent> events = shard.detectEvents(runs, jobsMap, now);
+        List<MergeKey> keys = new ArrayList<>(events.size());
+        for (MonitoringEvent event : events)
+        {
+            keys.add(new MergeKey(event));
+        }
+        Collections.sort(keys);
+        return keys;
     }
-    
+
     /**
-     * Detects workflow-level events (QUEUED, STARTED, COMPLETED).
+     * Merges the sorted events of all shards with a heap over one cursor per shard,
+     * so the merge costs O(n log shards) instead of sorting all events again.
      */
-    private List<MonitoringEvent> detectWorkflowEvents(WorkflowRun currentRun, WorkflowRun previousRun)
+    private static List<MonitoringEvent> merge(List<List<MergeKey>> sortedShards)
     {
-        List<MonitoringEvent> events = new ArrayList<>();
-        
-        // New workflow run detected
-        if (previousRun == null)
+        int total = 0;
+        PriorityQueue<ShardCursor> heap = new PriorityQueue<>(sortedShards.size());
+        for (List<MergeKey> keys : sortedShards)
         {
-            // If status is "queued", report WORKFLOW_QUEUED
-            if (Constants.STATUS_QUEUED.equals(currentRun.getStatus()))
-            {
-                events.add(new MonitoringEvent(
-                    EventType.WORKFLOW_QUEUED,
-                    currentRun.getUpdatedAt(),
-                    repository,
-                    currentRun.getHeadBranch(),
-                    currentRun.getHeadSha(),
-                    currentRun.getName(),
-                    null, // no job
-                    null, // no step
-                    null, // no conclusion yet
-                    null  // no duration yet
-                ));
-            }
-            
-            // If status is "in_progress", report WORKFLOW_STARTED
-            if (Constants.STATUS_IN_PROGRESS.equals(currentRun.getStatus()))
-            {
-                events.add(new MonitoringEvent(
-                    EventType.WORKFLOW_STARTED,
-                    currentRun.getUpdatedAt(),
-                    repository,
-                    currentRun.getHeadBranch(),
-                    currentRun.getHeadSha(),
-                    currentRun.getName(),
-                    null,
-                    null,
-                    null,
-                    null
-                ));
-            }
-            
-            // If already completed when we first see it, report WORKFLOW_COMPLETED
-            if (Constants.STATUS_COMPLETED.equals(currentRun.getStatus())
-                    && currentRun.getConcludedAt() != null)
+            total += keys.size();
+            if (!keys.isEmpty())
             {
-                events.add(new MonitoringEvent(
-                    EventType.WORKFLOW_COMPLETED,
-                    currentRun.getConcludedAt(),
-                    repository,
-                    currentRun.getHeadBranch(),
-                    currentRun.getHeadSha(),
-                    currentRun.getName(),
-                    null,
-                    null,
-                    currentRun.getConclusion(),
-                    null // We don't have workflow start time, so can't calculate duration
-                ));
+                heap.add(new ShardCursor(keys));
             }
-        } else
+        }
+
+        List<MonitoringEvent> events = new ArrayList<>(total);
+        while (!heap.isEmpty())
         {
-            // Workflow state changed
-            // Check if status changed from "queued" to "in_progress"
-            if (Constants.STATUS_QUEUED.equals(previousRun.getStatus())
-                    && Constants.STATUS_IN_PROGRESS.equals(currentRun.getStatus()))
+            ShardCursor cursor = heap.poll();
+            events.add(cursor.current().event);
+            if (cursor.advance())
             {
-                events.add(new MonitoringEvent(
-                    EventType.WORKFLOW_STARTED,
-                    currentRun.getUpdatedAt(),
-                    repository,
-                    currentRun.getHeadBranch(),
-                    currentRun.getHeadSha(),
-                    currentRun.getName(),
-                    null,
-                    null,
-                    null,
-                    null
-                ));
-            }
-            
-            // Check if workflow completed
-            if (!Constants.STATUS_COMPLETED.equals(previousRun.getStatus())
-                    && Constants.STATUS_COMPLETED.equals(currentRun.getStatus()))
-            {
-                events.add(new MonitoringEvent(
-                    EventType.WORKFLOW_COMPLETED,
-                    currentRun.getConcludedAt() != null ? currentRun.getConcludedAt() : currentRun.getUpdatedAt(),
-                    repository,
-                    currentRun.getHeadBranch(),
-                    currentRun.getHeadSha(),
-                    currentRun.getName(),
-                    null,
-                    null,
-                    currentRun.getConclusion(),
-                    null
-                ));
+                heap.add(cursor);
             }
         }
-        
         return events;
     }
-    
+
     /**
-     * Detects job-level events (QUEUED, STARTED, COMPLETED) and step-level events.
+     * Picks the shard of a run. Run IDs are sequential, so they are mixed first
+     * to spread consecutive runs over all shards.
      */
-    private List<MonitoringEvent> detectJobEvents(WorkflowRun workflowRun, List<Job> currentJobs)
+    private int shardIndex(long runId)
     {
-        List<MonitoringEvent> events = new ArrayList<>();
-        Instant now = Instant.now();
+        return (int) (((runId * 0x9E3779B97F4A7C15L) >>> 33) % shards.length);
+    }
+
+    /**
+     * The merge order of an event, copied out of it so sorting compares primitives
+     * in consecutive small objects instead of chasing pointers into every event
+     * and its {@code Instant}.
+     * <p>
+     * Events are ordered by timestamp, events without one last, then by run ID,
+     * job ID and step number. A poll reports at most one event per run, job or
+     * numbered step; events of steps without a number can compare equal and keep
+     * the order they were detected in.
+     * </p>
+     */
+    private static final class MergeKey implements Comparable<MergeKey>
+    {
+        final long epochSecond;
+        final int nano;
+        final long runId;
+        final long jobId;
+        final int stepNumber;
+        final MonitoringEvent event;
+
+        MergeKey(MonitoringEvent event)
+        {
+            Instant timestamp = event.getTimestamp();
+            this.epochSecond = timestamp != null ? timestamp.getEpochSecond() : Long.MAX_VALUE;
+            this.nano = timestamp != null ? timestamp.getNano() : Integer.MAX_VALUE;
+            this.runId = event.getRunId();
+            this.jobId = event.getJobId();
+            this.stepNumber = event.getStepNumber();
+            this.event = event;
+        }
 
-        for (Job currentJob : currentJobs)
+        @Override
+        public int compareTo(MergeKey other)
         {
-            Job previousJob = previousJobs.get(currentJob.getId());
-            
-            // New job detected
-            if (previousJob == null)
+            if (epochSecond != other.epochSecond)
             {
-                // Job queued
-                if (Constants.STATUS_QUEUED.equals(currentJob.getStatus()))
-                {
-                    events.add(new MonitoringEvent(
-                        EventType.JOB_QUEUED,
-                        Instant.now(), // GitHub API doesn't provide queue time, use current time
-                        repository,
-                        workflowRun.getHeadBranch(),
-                        workflowRun.getHeadSha(),
-                        workflowRun.getName(),
-                        currentJob.getName(),
-                        null,
-                        null,
-                        null
-                    ));
-                }
-                
-                // Job started
-                if (Constants.STATUS_IN_PROGRESS.equals(currentJob.getStatus())
-                        && currentJob.getStartedAt() != null)
-                {
-                    events.add(new MonitoringEvent(
-                        EventType.JOB_STARTED,
-                        currentJob.getStartedAt(),
-                        repository,
-                        workflowRun.getHeadBranch(),
-                        workflowRun.getHeadSha(),
-                        workflowRun.getName(),
-                        currentJob.getName(),
-                        null,
-                        null,
-                        null
-                    ));
-                }
-                
-                // Job already completed
-                if (Constants.STATUS_COMPLETED.equals(currentJob.getStatus())
-                        && currentJob.getCompletedAt() != null)
-                {
-                    Duration duration = null;
-                    if (currentJob.getStartedAt() != null && currentJob.getCompletedAt() != null)
-                    {
-                        duration = Duration.between(currentJob.getStartedAt(), currentJob.getCompletedAt());
-                    }
-                    
-                    events.add(new MonitoringEvent(
-                        EventType.JOB_COMPLETED,
-                        currentJob.getCompletedAt(),
-                        repository,
-                        workflowRun.getHeadBranch(),
-                        workflowRun.getHeadSha(),
-                        workflowRun.getName(),
-                        currentJob.getName(),
-                        null,
-                        currentJob.getConclusion(),
-                        duration
-                    ));
-                }
-            } else
+                return Long.compare(epochSecond, other.epochSecond);
+            }
+            if (nano != other.nano)
             {
-                // Job state changed
-                // Check if job started (queued -> in_progress)
-                if (Constants.STATUS_QUEUED.equals(previousJob.getStatus())
-                        && Constants.STATUS_IN_PROGRESS.equals(currentJob.getStatus()))
-                {
-                    events.add(new MonitoringEvent(
-                        EventType.JOB_STARTED,
-                        currentJob.getStartedAt() != null ? currentJob.getStartedAt() : Instant.now(),
-                        repository,
-                        workflowRun.getHeadBranch(),
-                        workflowRun.getHeadSha(),
-                        workflowRun.getName(),
-                        currentJob.getName(),
-                        null,
-                        null,
-                        null
-                    ));
-                }
-                
-                // Check if job completed
-                if (!Constants.STATUS_COMPLETED.equals(previousJob.getStatus())
-                        && Constants.STATUS_COMPLETED.equals(currentJob.getStatus()))
-                {
-                    Duration duration = null;
-                    if (currentJob.getStartedAt() != null && currentJob.getCompletedAt() != null)
-                    {
-                        duration = Duration.between(currentJob.getStartedAt(), currentJob.getCompletedAt());
-                    }
-                    
-                    events.add(new MonitoringEvent(
-                        EventType.JOB_COMPLETED,
-                        currentJob.getCompletedAt() != null ? currentJob.getCompletedAt() : Instant.now(),
-                        repository,
-                        workflowRun.getHeadBranch(),
-                        workflowRun.getHeadSha(),
-                        workflowRun.getName(),
-                        currentJob.getName(),
-                        null,
-                        currentJob.getConclusion(),
-                        duration
-                    ));
-                }
+                return Integer.compare(nano, other.nano);
             }
-            
-            // Detect step-level events (if job has steps)
-            events.addAll(detectStepEvents(workflowRun, currentJob));
-
-            jobLastSeen.put(currentJob.getId(), now);
-
-            // Update previous state
-            previousJobs.put(currentJob.getId(), currentJob);
+            if (runId != other.runId)
+            {
+                return Long.compare(runId, other.runId);
+            }
+            if (jobId != other.jobId)
+            {
+                return Long.compare(jobId, other.jobId);
+            }
+            return Integer.compare(stepNumber, other.stepNumber);
         }
-        
-        return events;
     }
-    
+
     /**
-     * Detects step-level events (STARTED, COMPLETED).
-     * Note: GitHub API provides steps in Job details.
+     * Position in the sorted events of one shard, ordered by the event it points at.
      */
-    private List<MonitoringEvent> detectStepEvents(WorkflowRun workflowRun, Job job)
+    private static final class ShardCursor implements Comparable<ShardCursor>
     {
-        List<MonitoringEvent> events = new ArrayList<>();
-        Instant now = Instant.now();
+        private final List<MergeKey> keys;
+        private int position;
 
-        List<Step> currentSteps = job.getSteps();
-        if (currentSteps == null)
+        ShardCursor(List<MergeKey> keys)
         {
-            return events;
+            this.keys = keys;
         }
-        
-        for (Step currentStep : currentSteps)
+
+        MergeKey current()
         {
-            String stepKey = job.getId() + ":" + currentStep.getName();
-            Step previousStep = previousSteps.get(stepKey);
-            
-            if (previousStep == null)
-            {
-                // New step started
-                if (Constants.STATUS_IN_PROGRESS.equals(currentStep.getStatus())
-                        && currentStep.getStartedAt() != null)
-                {
-                    events.add(new MonitoringEvent(
-                        EventType.STEP_STARTED,
-                        currentStep.getStartedAt(),
-                        repository,
-                        workflowRun.getHeadBranch(),
-                        workflowRun.getHeadSha(),
-                        workflowRun.getName(),
-                        job.getName(),
-                        currentStep.getName(),
-                        null,
-                        null
-                    ));
-                }
-                
-                // Step already completed
-                if (Constants.STATUS_COMPLETED.equals(currentStep.getStatus())
-                        && currentStep.getCompletedAt() != null)
-                {
-                    Duration duration = null;
-                    if (currentStep.getStartedAt() != null && currentStep.getCompletedAt() != null)
-                    {
-                        duration = Duration.between(currentStep.getStartedAt(), currentStep.getCompletedAt());
-                    }
-                    
-                    events.add(new MonitoringEvent(
-                        EventType.STEP_COMPLETED,
-                        currentStep.getCompletedAt(),
-                        repository,
-                        workflowRun.getHeadBranch(),
-                        workflowRun.getHeadSha(),
-                        workflowRun.getName(),
-                        job.getName(),
-                        currentStep.getName(),
-                        currentStep.getConclusion(),
-                        duration
-                    ));
-                }
-            } else
-            {
-                // Step state changed
-                if (!Constants.STATUS_COMPLETED.equals(previousStep.getStatus())
-                        && Constants.STATUS_COMPLETED.equals(currentStep.getStatus()))
-                {
-                    Duration duration = null;
-                    if (currentStep.getStartedAt() != null && currentStep.getCompletedAt() != null)
-                    {
-                        duration = Duration.between(currentStep.getStartedAt(), currentStep.getCompletedAt());
-                    }
-                    
-                    events.add(new MonitoringEvent(
-                        EventType.STEP_COMPLETED,
-                        currentStep.getCompletedAt() != null ? currentStep.getCompletedAt() : Instant.now(),
-                        repository,
-                        workflowRun.getHeadBranch(),
-                        workflowRun.getHeadSha(),
-                        workflowRun.getName(),
-                        job.getName(),
-                        currentStep.getName(),
-                        currentStep.getConclusion(),
-                        duration
-                    ));
-                }
-            }
-            
-            // Update previous state
-            previousSteps.put(stepKey, currentStep);
+            return keys.get(position);
+        }
 
-            stepLastSeen.put(stepKey, now);
+        /**
+         * @return {@code true} if the shard has more events
+         */
+        boolean advance()
+        {
+            return ++position < keys.size();
+        }
+
+        @Override
+        public int compareTo(ShardCursor other)
+        {
+            return current().compareTo(other.current());
         }
-        
-        return events;
     }
 }
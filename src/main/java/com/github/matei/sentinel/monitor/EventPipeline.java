@@ -0,0 +1,107 @@
+package com.github.matei.sentinel.monitor;
+
+import com.github.matei.sentinel.formatter.EventFormatter;
+import com.github.matei.sentinel.model.MonitoringEvent;
+import com.github.matei.sentinel.util.Constants;
+
+import java.io.PrintStream;
+import java.util.List;
+
+/**
+ * Formats and writes reported events off the polling thread.
+ * <p>
+ * Polling, event detection and deduplication run on the monitoring thread, which
+ * owns the detector and state manager. Everything after that depends on the
+ * consumer of the output: formatting, and writing to stdout, which blocks when
+ * the reader of a pipe falls behind. Doing that inline would stall the next poll
+ * behind a slow consumer. Instead, {@link #publish} hands each event to a chain
+ * of stages, each with its own thread and bounded queue:
+ * </p>
+ * <ol>
+ *   <li><b>format</b>: turns the event into text with the {@link EventFormatter}</li>
+ *   <li><b>output</b>: writes the text to the output stream</li>
+ * </ol>
+ * Events leave the pipeline in the order they were published.
+ *
+ * <h2>Backpressure</h2>
+ * Each queue holds up to {@link Constants#EVENT_PIPELINE_QUEUE_CAPACITY} items,
+ * enough to absorb a catch-up burst while polling continues at its normal pace.
+ * Only if the output stays slower than the event rate and a queue fills up does
+ * {@link #publish} block, so that memory stays bounded and no event is dropped.
+ *
+ * <h2>Metrics</h2>
+ * {@link #metrics()} reports the queue depth, peak depth and queue-to-done latency
+ * of every stage.
+ *
+ * <h2>Shutdown</h2>
+ * {@link #close()} writes out every event already published, waiting up to
+ * {@link Constants#EVENT_PIPELINE_DRAIN_TIMEOUT}. It may be called more than once.
+ *
+ * <h2>Thread Safety</h2>
+ * {@link #publish} may be called from several monitors, e.g. from a single
+ * {@link MultiRepositoryMonitor}, that share one pipeline.
+ *
+ * @see WorkflowMonitor
+ * @since 1.1
+ */
+public class EventPipeline
+{
+    private final PipelineStage<String> outputStage;
+    private final PipelineStage<MonitoringEvent> formatStage;
+
+    /**
+     * Creates a pipeline that writes to {@link System#out}.
+     *
+     * @param formatter formatter for the reported events
+     */
+    public EventPipeline(EventFormatter formatter)
+    {
+        this(formatter, System.out, Constants.EVENT_PIPELINE_QUEUE_CAPACITY);
+    }
+
+    /**
+     * Creates a pipeline.
+     *
+     * @param formatter formatter for the reported events
+     * @param out stream the formatted events are written to, one per line
+     * @param capacity maximum number of items waiting in each stage's queue
+     * @throws IllegalArgumentException if capacity is less than 1
+     */
+    public EventPipeline(EventFormatter formatter, PrintStream out, int capacity)
+    {
+        this.outputStage = new PipelineStage<>("output", capacity, out::println);
+        this.formatStage = new PipelineStage<>("format", capacity,
+                event -> outputStage.submit(formatter.format(event)));
+    }
+
+    /**
+     * Queues an event to be formatted and written.
+     * Blocks only while the first stage's queue is full.
+     *
+     * @param event event to report
+     */
+    public void publish(MonitoringEvent event)
+    {
+        formatStage.submit(event);
+    }
+
+    /**
+     * Writes out the events already published and stops the stages.
+     *
+     * @return {@code true} if every event was written before the timeout
+     */
+    public boolean close()
+    {
+        // Stages are closed in order, so each one drains into a running successor
+        return formatStage.close(Constants.EVENT_PIPELINE_DRAIN_TIMEOUT)
+                & outputStage.close(Constants.EVENT_PIPELINE_DRAIN_TIMEOUT);
+    }
+
+    /**
+     * @return statistics of each stage, in pipeline order
+     */
+    public List<StageMetrics> metrics()
+    {
+        return List.of(formatStage.metrics(), outputStage.metrics());
+    }
+}
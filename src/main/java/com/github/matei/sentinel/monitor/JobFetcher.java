@@ -0,0 +1,150 @@
+package com.github.matei.sentinel.monitor;
+
+import com.github.matei.sentinel.client.GitHubApiClient;
+import com.github.matei.sentinel.model.Job;
+import com.github.matei.sentinel.model.WorkflowRun;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Fetches the jobs of several workflow runs, fanning the requests out concurrently.
+ * <p>
+ * GitHub exposes jobs per workflow run, so a poll that returns N runs needs N
+ * {@code /jobs} requests. Issued one after another, those round trips dominate
+ * poll latency on busy repositories. This class submits every request to a
+ * virtual-thread-per-task executor and bounds the number in flight with a
+ * {@link Semaphore}, so a poll costs roughly one round trip instead of N.
+ * </p>
+ *
+ * <h2>Consistency</h2>
+ * The returned map is built on the calling thread only after every request has
+ * completed, so {@link EventDetector#detectEvents} always receives a complete
+ * snapshot of the poll. If any request fails, outstanding requests are cancelled
+ * and the first failure is rethrown unchanged, preserving the error handling in
+ * {@link WorkflowMonitor}.
+ *
+ * <h2>Thread Safety</h2>
+ * This class is stateless apart from its configuration and may be shared, but the
+ * underlying {@link GitHubApiClient} must tolerate concurrent
+ * {@link GitHubApiClient#getJobsForRun} calls when {@code maxConcurrency > 1}.
+ *
+ * @see com.github.matei.sentinel.util.Constants#DEFAULT_JOB_FETCH_CONCURRENCY
+ * @since 1.1
+ */
+public class JobFetcher
+{
+    private final GitHubApiClient apiClient;
+    private final int maxConcurrency;
+
+    /**
+     * Creates a new JobFetcher.
+     *
+     * @param apiClient client used to fetch jobs
+     * @param maxConcurrency maximum number of requests in flight; 1 fetches sequentially
+     * @throws IllegalArgumentException if maxConcurrency is less than 1
+     */
+    public JobFetcher(GitHubApiClient apiClient, int maxConcurrency)
+    {
+        if (maxConcurrency < 1)
+        {
+            throw new IllegalArgumentException("Max concurrency must be at least 1, got: " + maxConcurrency);
+        }
+        this.apiClient = apiClient;
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    /**
+     * Fetches the jobs of every given run.
+     *
+     * @param owner repository owner
+     * @param repo repository name
+     * @param runs workflow runs whose jobs should be fetched
+     * @return map of runId -> list of jobs for that run, containing an entry for every run
+     * @throws InterruptedException if interrupted while waiting for requests to complete
+     * @throws Exception the first failure raised by the API client
+     */
+    public Map<Long, List<Job>> fetchJobs(String owner, String repo, List<WorkflowRun> runs) throws Exception
+    {
+        if (maxConcurrency == 1 || runs.size() <= 1)
+        {
+            return fetchSequentially(owner, repo, runs);
+        }
+
+        Semaphore permits = new Semaphore(maxConcurrency);
+        Map<Long, Future<List<Job>>> futures = new LinkedHashMap<>();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor())
+        {
+            for (WorkflowRun run : runs)
+            {
+                futures.put(run.getId(), executor.submit(() -> {
+                    permits.acquire();
+                    try
+                    {
+                        return apiClient.getJobsForRun(owner, repo, run.getId());
+                    }
+                    finally
+                    {
+                        permits.release();
+                    }
+                }));
+            }
+
+            Map<Long, List<Job>> jobsMap = new HashMap<>();
+            try
+            {
+                for (Map.Entry<Long, Future<List<Job>>> entry : futures.entrySet())
+                {
+                    jobsMap.put(entry.getKey(), entry.getValue().get());
+                }
+            }
+            catch (ExecutionException e)
+            {
+                executor.shutdownNow();
+                throw unwrap(e);
+            }
+            catch (InterruptedException e)
+            {
+                executor.shutdownNow();
+                throw e;
+            }
+
+            return jobsMap;
+        }
+    }
+
+    /**
+     * Fetches jobs one run at a time on the calling thread.
+     */
+    private Map<Long, List<Job>> fetchSequentially(String owner, String repo, List<WorkflowRun> runs) throws Exception
+    {
+        Map<Long, List<Job>> jobsMap = new HashMap<>();
+        for (WorkflowRun run : runs)
+        {
+            jobsMap.put(run.getId(), apiClient.getJobsForRun(owner, repo, run.getId()));
+        }
+        return jobsMap;
+    }
+
+    /**
+     * Extracts the original failure from an {@link ExecutionException} so callers
+     * see the same exception types as with sequential fetching.
+     */
+    private Exception unwrap(ExecutionException e)
+    {
+        Throwable cause = e.getCause();
+        if (cause instanceof Error error)
+        {
+            throw error;
+        }
+        return cause instanceof Exception exception ? exception : e;
+    }
+}
@@ -0,0 +1,142 @@
+package com.github.matei.sentinel.monitor;
+
+import com.github.matei.sentinel.model.Job;
+import com.github.matei.sentinel.model.Status;
+import com.github.matei.sentinel.model.WorkflowRun;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Remembers the jobs of each workflow run so unchanged runs need no jobs request.
+ * <p>
+ * Most runs returned by a poll are completed and have not changed since the
+ * previous poll, yet each would cost a {@code /jobs} request. This class records
+ * the {@code updated_at} and status of every run alongside its jobs, and
+ * {@link #runsToFetch} selects only the runs whose jobs may have changed:
+ * </p>
+ * <ul>
+ *   <li>runs not seen in the previous poll</li>
+ *   <li>runs that are still queued or in progress</li>
+ *   <li>runs whose {@code updated_at} or status changed (e.g. a re-run)</li>
+ * </ul>
+ * For every other run, {@link #merge} supplies the jobs from the previous poll, so
+ * {@link EventDetector#detectEvents} still receives a complete snapshot. A poll
+ * may call {@link #runsToFetch} and {@link #merge} once per batch of runs.
+ *
+ * <h2>Memory</h2>
+ * At the end of each poll, {@link #retain} drops every run the poll did not
+ * return, so the cache never holds more runs than a single poll.
+ *
+ * <h2>Thread Safety</h2>
+ * This class is not thread-safe. It is used from the polling thread only.
+ *
+ * @see WorkflowMonitor
+ * @since 1.1
+ */
+public class JobSnapshotCache
+{
+    private final Map<Long, RunSnapshot> snapshots = new HashMap<>();
+    private long skippedFetchCount;
+
+    /**
+     * Selects the runs whose jobs must be fetched.
+     *
+     * @param runs workflow runs returned by the current poll
+     * @return runs that are new, active or changed since the previous poll, in input order
+     */
+    public List<WorkflowRun> runsToFetch(List<WorkflowRun> runs)
+    {
+        List<WorkflowRun> toFetch = new ArrayList<>();
+        for (WorkflowRun run : runs)
+        {
+            RunSnapshot previous = snapshots.get(run.getId());
+            if (previous == null || !previous.isUnchanged(run))
+            {
+                toFetch.add(run);
+            }
+        }
+        return toFetch;
+    }
+
+    /**
+     * Combines freshly fetched jobs with the remembered jobs of unchanged runs and
+     * remembers the result for the next poll. Runs not in {@code runs} are kept.
+     *
+     * @param runs workflow runs returned by the current poll
+     * @param fetchedJobs jobs fetched for the runs selected by {@link #runsToFetch}, by run ID
+     * @return jobs of every run in {@code runs}, by run ID
+     */
+    public Map<Long, List<Job>> merge(List<WorkflowRun> runs, Map<Long, List<Job>> fetchedJobs)
+    {
+        Map<Long, List<Job>> jobsMap = new HashMap<>();
+        for (WorkflowRun run : runs)
+        {
+            List<Job> jobs = fetchedJobs.get(run.getId());
+            if (jobs == null)
+            {
+                RunSnapshot previous = snapshots.get(run.getId());
+                if (previous == null)
+                {
+                    continue;
+                }
+                jobs = previous.jobs;
+                skippedFetchCount++;
+            }
+            jobsMap.put(run.getId(), jobs);
+            snapshots.put(run.getId(), new RunSnapshot(run.getUpdatedAt(), run.getState(), jobs));
+        }
+        return jobsMap;
+    }
+
+    /**
+     * Forgets every run not returned by the poll that just finished.
+     *
+     * @param runIds IDs of all runs returned by the poll
+     */
+    public void retain(Set<Long> runIds)
+    {
+        snapshots.keySet().retainAll(runIds);
+    }
+
+    /**
+     * @return number of jobs requests avoided by reusing a previous snapshot
+     */
+    public long getSkippedFetchCount()
+    {
+        return skippedFetchCount;
+    }
+
+    /**
+     * A run's change markers as of the last poll, with the jobs fetched for it.
+     */
+    private static class RunSnapshot
+    {
+        final Instant updatedAt;
+        final Status status;
+        final List<Job> jobs;
+
+        RunSnapshot(Instant updatedAt, Status status, List<Job> jobs)
+        {
+            this.updatedAt = updatedAt;
+            this.status = status;
+            this.jobs = jobs;
+        }
+
+        /**
+         * A completed run whose {@code updated_at} and status have not moved has the
+         * same jobs as before. Active runs change without touching the run itself.
+         */
+        boolean isUnchanged(WorkflowRun run)
+        {
+            return run.getState() == Status.COMPLETED
+                    && status == run.getState()
+                    && Objects.equals(updatedAt, run.getUpdatedAt());
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package com.github.matei.sentinel.monitor;
+
+import com.github.matei.sentinel.client.WebhookPayload;
+import com.github.matei.sentinel.util.Constants;
+import com.github.matei.sentinel.util.Logger;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Schedules polls for several repositories from a single thread.
+ * <p>
+ * Running one JVM per repository duplicates the heap, the {@code HttpClient}
+ * connection pool and the state file writer for every repository. This class
+ * instead drives many {@link WorkflowMonitor}s, one per repository, that share a
+ * single {@link com.github.matei.sentinel.client.GitHubApiClient} (and therefore
+ * one connection pool and one rate-limit budget) and a single
+ * {@link com.github.matei.sentinel.persistence.StateManager}. Each monitor keeps
+ * its own {@link EventDetector}, so repositories never see each other's state.
+ * </p>
+ *
+ * <h2>Scheduling</h2>
+ * Monitors are kept in a priority queue ordered by their next due time. The
+ * scheduler sleeps until the earliest monitor is due, polls it, and re-queues it
+ * after its {@link WorkflowMonitor#nextPollDelay()}. A monitor whose poll fails
+ * permanently (invalid token, repository not found) is dropped; the scheduler
+ * stops when no monitors remain.
+ *
+ * <h2>Webhooks</h2>
+ * Webhook deliveries passed to {@link #submit} are queued and handled on the
+ * scheduling thread: while waiting for the next poll, the scheduler wakes for
+ * each delivery and hands it to the monitor of the delivery's repository via
+ * {@link WorkflowMonitor#handleWebhook}. Deliveries for repositories that are not
+ * monitored are dropped.
+ *
+ * <h2>Thread Safety</h2>
+ * All polls and webhook deliveries run on the thread that called {@link #start()},
+ * so the shared state manager is never accessed concurrently. {@link #submit} may
+ * be called from any thread, and {@link #stop()} from a shutdown hook.
+ *
+ * <h2>Usage Example</h2>
+ * <pre>{@code
+ * GitHubApiClient apiClient = new GitHubApiClientImpl("ghp_token");
+ * StateManager stateManager = new FileStateManager();
+ * List<WorkflowMonitor> monitors = config.getRepositories().stream()
+ *     .map(repo -> new WorkflowMonitor(apiClient, stateManager, new EventDetector(repo),
+ *             new ConsoleEventFormatter(), config.forRepository(repo)))
+ *     .toList();
+ *
+ * MultiRepositoryMonitor scheduler = new MultiRepositoryMonitor(monitors);
+ * Runtime.getRuntime().addShutdownHook(new Thread(scheduler::stop));
+ * scheduler.start(); // blocks until stopped
+ * }</pre>
+ *
+ * @see WorkflowMonitor
+ * @since 1.1
+ */
+public class MultiRepositoryMonitor
+{
+    private final List<WorkflowMonitor> monitors;
+    // Monitors still polling, by lowercase "owner/repo"; accessed from the scheduling thread only
+    private final Map<String, WorkflowMonitor> monitorsByRepository = new HashMap<>();
+    private final BlockingQueue<WebhookPayload> webhooks =
+            new LinkedBlockingQueue<>(Constants.WEBHOOK_QUEUE_CAPACITY);
+
+    private volatile boolean running = true;
+    private Instant monitoringStartTime;
+
+    /**
+     * Creates a new MultiRepositoryMonitor.
+     *
+     * @param monitors one monitor per repository; must not be empty
+     * @throws IllegalArgumentException if monitors is null or empty
+     */
+    public MultiRepositoryMonitor(List<WorkflowMonitor> monitors)
+    {
+        if (monitors == null || monitors.isEmpty())
+        {
+            throw new IllegalArgumentException("At least one monitor is required");
+        }
+        this.monitors = List.copyOf(monitors);
+        for (WorkflowMonitor monitor : this.monitors)
+        {
+            monitorsByRepository.put(monitor.getRepository().toLowerCase(Locale.ROOT), monitor);
+        }
+    }
+
+    /**
+     * Queues a webhook delivery to be handled on the scheduling thread.
+     *
+     * @param payload verified webhook payload
+     * @return {@code false} if the queue is full and the delivery was dropped
+     */
+    public boolean submit(WebhookPayload payload)
+    {
+        return webhooks.offer(payload);
+    }
+
+    /**
+     * Starts the scheduling loop.
+     * This is a blocking call that runs until stopped, interrupted, or until every
+     * repository has failed permanently.
+     */
+    public void start()
+    {
+        monitoringStartTime = Instant.now();
+
+        PriorityQueue<ScheduledPoll> queue = new PriorityQueue<>(Comparator.comparing(ScheduledPoll::dueAt));
+        for (WorkflowMonitor monitor : monitors)
+        {
+            monitor.initialize();
+            queue.add(new ScheduledPoll(monitoringStartTime, monitor));
+        }
+
+        System.err.println();
+        if (monitors.size() > 1)
+        {
+            Logger.info("Monitoring " + monitors.size() + " repositories.");
+        }
+        Logger.info("Press CTRL+C to stop.");
+        System.err.println();
+
+        while (running && !queue.isEmpty())
+        {
+            ScheduledPoll next = queue.peek();
+
+            try
+            {
+                // Handle webhook deliveries while waiting for the next poll
+                long waitMillis = Duration.between(Instant.now(), next.dueAt()).toMillis();
+                WebhookPayload webhook = waitMillis > 0
+                        ? webhooks.poll(waitMillis, TimeUnit.MILLISECONDS)
+                        : webhooks.poll();
+                if (webhook != null)
+                {
+                    dispatch(webhook);
+                    continue;
+                }
+            }
+            catch (InterruptedException e)
+            {
+                // Interrupted by shutdown hook - exit gracefully without extra message
+                break;
+            }
+
+            if (!running)
+            {
+                break;
+            }
+
+            queue.poll();
+            WorkflowMonitor monitor = next.monitor();
+            if (!monitor.poll())
+            {
+                Logger.warn("Stopped monitoring " + monitor.getRepository() + ".");
+                monitorsByRepository.remove(monitor.getRepository().toLowerCase(Locale.ROOT));
+                continue;
+            }
+            if (Thread.currentThread().isInterrupted())
+            {
+                break;
+            }
+
+            queue.add(new ScheduledPoll(Instant.now().plus(monitor.nextPollDelay()), monitor));
+        }
+
+        for (WorkflowMonitor monitor : monitors)
+        {
+            monitor.flushOutput();
+        }
+        Logger.info("Monitoring stopped.");
+        printSummary();
+    }
+
+    /**
+     * Stops the scheduling loop gracefully.
+     * Called by shutdown hook.
+     */
+    public void stop()
+    {
+        running = false;
+    }
+
+    /**
+     * Hands a webhook delivery to the monitor of its repository.
+     */
+    private void dispatch(WebhookPayload payload)
+    {
+        // GitHub preserves the case of repository names; --repo may not
+        WorkflowMonitor monitor = monitorsByRepository.get(payload.repository().toLowerCase(Locale.ROOT));
+        if (monitor == null)
+        {
+            return;
+        }
+
+        try
+        {
+            monitor.handleWebhook(payload);
+        }
+        catch (RuntimeException e)
+        {
+            Logger.warn("Failed to process webhook for " + payload.repository() + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Prints a summary of monitoring statistics across all repositories.
+     */
+    private void printSummary()
+    {
+        Duration uptime = Duration.between(monitoringStartTime, Instant.now());
+        long totalPolls = 0;
+        long totalEvents = 0;
+        long totalWebhooks = 0;
+        for (WorkflowMonitor monitor : monitors)
+        {
+            totalPolls += monitor.getTotalPollCount();
+            totalEvents += monitor.getTotalEventsReported();
+            totalWebhooks += monitor.getTotalWebhookCount();
+        }
+
+        System.err.println();
+        System.err.println("=== Monitoring Summary ===");
+        System.err.println("Total runtime: " + WorkflowMonitor.formatDuration(uptime));
+        System.err.println("Total polls: " + totalPolls);
+        System.err.println("Events reported: " + totalEvents);
+        if (totalWebhooks > 0)
+        {
+            System.err.println("Webhook deliveries: " + totalWebhooks);
+        }
+        if (monitors.size() > 1)
+        {
+            for (WorkflowMonitor monitor : monitors)
+            {
+                System.err.println("  " + monitor.getRepository() + ": " + monitor.getTotalPollCount()
+                        + " polls, " + monitor.getTotalEventsReported() + " events");
+            }
+        }
+        System.err.println("==========================");
+    }
+
+    /**
+     * A monitor together with the time its next poll is due.
+     */
+    private record ScheduledPoll(Instant dueAt, WorkflowMonitor monitor)
+    {
+    }
+}
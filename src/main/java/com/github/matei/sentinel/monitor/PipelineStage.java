@@ -0,0 +1,165 @@
+package com.github.matei.sentinel.monitor;
+
+import com.github.matei.sentinel.util.Logger;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * One stage of the {@link EventPipeline}: a bounded queue drained by a dedicated thread.
+ * <p>
+ * Items are handled one at a time, in submission order, by a single-threaded
+ * executor whose work queue holds at most {@code capacity} items. When the queue
+ * is full, {@link #submit} blocks until the stage catches up, so a stalled
+ * consumer slows its producer down instead of growing the heap without bound.
+ * </p>
+ *
+ * <h2>Failures</h2>
+ * An exception thrown by the handler is logged and the item is dropped; the stage
+ * keeps running.
+ *
+ * <h2>Thread Safety</h2>
+ * {@link #submit} may be called from any thread. Items submitted after
+ * {@link #close} are rejected.
+ *
+ * @param <T> type of the items handled by the stage
+ * @since 1.1
+ */
+class PipelineStage<T>
+{
+    private final String name;
+    private final Consumer<T> handler;
+    private final ThreadPoolExecutor executor;
+
+    private final AtomicLong processed = new AtomicLong();
+    private final AtomicLong totalLatencyNanos = new AtomicLong();
+    private final AtomicLong maxLatencyNanos = new AtomicLong();
+    private final AtomicInteger maxQueueDepth = new AtomicInteger();
+
+    /**
+     * Creates and starts a stage.
+     *
+     * @param name name of the stage, used for its thread and metrics
+     * @param capacity maximum number of items waiting in the queue
+     * @param handler handles each item on the stage's thread
+     * @throws IllegalArgumentException if capacity is less than 1
+     */
+    PipelineStage(String name, int capacity, Consumer<T> handler)
+    {
+        if (capacity < 1)
+        {
+            throw new IllegalArgumentException("Stage capacity must be at least 1, got: " + capacity);
+        }
+        this.name = name;
+        this.handler = handler;
+        this.executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(capacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "sentinel-" + name);
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                PipelineStage::waitForSpace);
+    }
+
+    /**
+     * Queues an item, blocking while the queue is full.
+     *
+     * @param item item to handle
+     * @throws RejectedExecutionException if the stage has been closed, or the
+     *         calling thread was interrupted while waiting for space
+     */
+    void submit(T item)
+    {
+        long queuedAt = System.nanoTime();
+        executor.execute(() -> handle(item, queuedAt));
+        maxQueueDepth.accumulateAndGet(executor.getQueue().size(), Math::max);
+    }
+
+    /**
+     * Handles the items already queued, then stops the stage's thread.
+     *
+     * @param timeout maximum time to wait for the queue to drain
+     * @return {@code true} if every queued item was handled in time
+     */
+    boolean close(Duration timeout)
+    {
+        executor.shutdown();
+
+        // The caller may have been interrupted by the shutdown hook; drain anyway
+        boolean interrupted = Thread.interrupted();
+        try
+        {
+            return executor.awaitTermination(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        }
+        catch (InterruptedException e)
+        {
+            interrupted = true;
+            return false;
+        }
+        finally
+        {
+            if (interrupted)
+            {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * @return current statistics of this stage
+     */
+    StageMetrics metrics()
+    {
+        long count = processed.get();
+        return new StageMetrics(name, count, executor.getQueue().size(), maxQueueDepth.get(),
+                Duration.ofNanos(count == 0 ? 0 : totalLatencyNanos.get() / count),
+                Duration.ofNanos(maxLatencyNanos.get()));
+    }
+
+    private void handle(T item, long queuedAt)
+    {
+        try
+        {
+            handler.accept(item);
+        }
+        catch (RuntimeException e)
+        {
+            Logger.warn("Pipeline stage '" + name + "' failed: " + e.getMessage());
+        }
+
+        long latency = System.nanoTime() - queuedAt;
+        processed.incrementAndGet();
+        totalLatencyNanos.addAndGet(latency);
+        maxLatencyNanos.accumulateAndGet(latency, Math::max);
+    }
+
+    /**
+     * Rejection handler that applies backpressure: waits for space in the queue
+     * instead of failing, unless the stage is shut down.
+     */
+    private static void waitForSpace(Runnable task, ThreadPoolExecutor executor)
+    {
+        if (executor.isShutdown())
+        {
+            throw new RejectedExecutionException("Pipeline stage is closed");
+        }
+        try
+        {
+            BlockingQueue<Runnable> queue = executor.getQueue();
+            queue.put(task);
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrupted while waiting for pipeline capacity", e);
+        }
+    }
+}
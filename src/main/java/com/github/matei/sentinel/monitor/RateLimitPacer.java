@@ -0,0 +1,126 @@
+package com.github.matei.sentinel.monitor;
+
+import com.github.matei.sentinel.client.RateLimitStatus;
+import com.github.matei.sentinel.client.RateLimitTracker;
+import com.github.matei.sentinel.util.Constants;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Paces polls so the hourly rate-limit budget is spent evenly.
+ * <p>
+ * After each poll the monitor calls {@link #reserveNext()}. The pacer reads how
+ * many charged requests were made since the previous call and how much budget is
+ * left until the window resets, and converts that into a delay: a poll that cost
+ * {@code c} requests is followed by a pause of {@code c} times the time available
+ * per remaining request. Reservations from all callers are serialised on a
+ * shared timeline, so monitors for several repositories sharing one token
+ * together stay within the budget instead of each spending it in full.
+ * </p>
+ *
+ * <h2>Budget Phases</h2>
+ * <ul>
+ *   <li><b>Plenty left</b>: pacing delays are shorter than the regular poll
+ *       interval, which therefore dominates</li>
+ *   <li><b>Approaching the reserve</b>: the budget above
+ *       {@link Constants#RATE_LIMIT_RESERVE_FRACTION} of the limit is spread over
+ *       the rest of the window, so polls slow down gradually</li>
+ *   <li><b>Reserve reached or exhausted</b>: polling pauses until the reset
+ *       time plus {@link Constants#RATE_LIMIT_RESET_MARGIN}</li>
+ *   <li><b>Retry-After</b>: a secondary rate limit pauses polling until the
+ *       requested time</li>
+ * </ul>
+ * Delays never extend past the reset time: the new window's budget is available
+ * then, so polling resumes exactly at reset.
+ *
+ * <h2>Thread Safety</h2>
+ * {@link #reserveNext()} is synchronized; one pacer may be shared by all monitors.
+ *
+ * @see RateLimitTracker
+ * @since 1.1
+ */
+public class RateLimitPacer
+{
+    private final RateLimitTracker tracker;
+    private final Clock clock;
+
+    private long lastChargedCount;
+    private Instant nextFree = Instant.MIN;
+
+    /**
+     * Creates a pacer using the system clock.
+     *
+     * @param tracker tracker fed by the API client
+     */
+    public RateLimitPacer(RateLimitTracker tracker)
+    {
+        this(tracker, Clock.systemUTC());
+    }
+
+    /**
+     * Creates a pacer using the given clock.
+     *
+     * @param tracker tracker fed by the API client
+     * @param clock clock for the current time
+     */
+    public RateLimitPacer(RateLimitTracker tracker, Clock clock)
+    {
+        this.tracker = tracker;
+        this.clock = clock;
+        this.lastChargedCount = tracker.getChargedRequestCount();
+    }
+
+    /**
+     * Accounts for the requests made since the previous call and returns how long
+     * the caller should wait before polling again.
+     *
+     * @return minimum delay before the next poll; {@link Duration#ZERO} if not constrained
+     */
+    public synchronized Duration reserveNext()
+    {
+        Instant now = clock.instant();
+        long charged = tracker.getChargedRequestCount();
+        long cost = charged - lastChargedCount;
+        lastChargedCount = charged;
+
+        Optional<Instant> retryAfter = tracker.getRetryAfterUntil();
+        if (retryAfter.isPresent() && retryAfter.get().isAfter(now))
+        {
+            nextFree = max(nextFree, retryAfter.get());
+            return Duration.between(now, nextFree);
+        }
+
+        Optional<RateLimitStatus> status = tracker.getStatus();
+        if (status.isEmpty() || !status.get().resetAt().isAfter(now))
+        {
+            // No rate-limit information, or the window already reset
+            return Duration.ZERO;
+        }
+
+        Instant resumeAt = status.get().resetAt().plus(Constants.RATE_LIMIT_RESET_MARGIN);
+        long reserve = (long) Math.ceil(status.get().limit() * Constants.RATE_LIMIT_RESERVE_FRACTION);
+        long spendable = status.get().remaining() - reserve;
+        if (spendable <= 0)
+        {
+            nextFree = resumeAt;
+            return Duration.between(now, resumeAt);
+        }
+
+        Duration spacing = Duration.between(now, resumeAt).multipliedBy(cost).dividedBy(spendable);
+        nextFree = min(max(nextFree, now).plus(spacing), resumeAt);
+        return Duration.between(now, nextFree);
+    }
+
+    private static Instant max(Instant a, Instant b)
+    {
+        return a.isAfter(b) ? a : b;
+    }
+
+    private static Instant min(Instant a, Instant b)
+    {
+        return a.isBefore(b) ? a : b;
+    }
+}
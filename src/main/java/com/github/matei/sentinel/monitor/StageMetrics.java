@@ -0,0 +1,28 @@
+package com.github.matei.sentinel.monitor;
+
+import java.time.Duration;
+
+/**
+ * Point-in-time statistics of one stage of the {@link EventPipeline}.
+ *
+ * @param stage name of the stage, e.g. "format"
+ * @param processedCount items the stage has finished handling
+ * @param queueDepth items currently waiting in the stage's queue
+ * @param maxQueueDepth largest number of items that waited in the queue at once
+ * @param averageLatency mean time from an item being queued until the stage finished it
+ * @param maxLatency longest time from an item being queued until the stage finished it
+ * @since 1.1
+ */
+public record StageMetrics(String stage, long processedCount, int queueDepth, int maxQueueDepth,
+                           Duration averageLatency, Duration maxLatency)
+{
+    /**
+     * @return one-line description for the monitoring summary
+     */
+    public String summary()
+    {
+        return String.format("%s: %d processed, queue %d (peak %d), latency avg %.1f ms, max %.1f ms",
+                stage, processedCount, queueDepth, maxQueueDepth,
+                averageLatency.toNanos() / 1e6, maxLatency.toNanos() / 1e6);
+    }
+}
@@ -0,0 +1,109 @@
+package com.github.matei.sentinel.monitor;
+
+import com.github.matei.sentinel.model.EventType;
+import com.github.matei.sentinel.model.Status;
+
+/**
+ * Maps a status transition of a workflow run, job or step to the event it produces.
+ * <p>
+ * The rules are compiled once into an array indexed by entity kind, previous
+ * status and current status, so detecting an event is three array lookups and
+ * no string comparison. A first sighting is a transition from "no previous
+ * status". Adding a transition is one {@link #on} call in {@link #build()}.
+ * </p>
+ *
+ * <h2>Transitions</h2>
+ * For workflow runs and jobs:
+ * <ul>
+ *   <li>first seen pending (queued, waiting, requested, pending) → QUEUED</li>
+ *   <li>first seen in progress, or pending → in progress: STARTED</li>
+ *   <li>first seen completed, or any other status → completed: COMPLETED</li>
+ * </ul>
+ * For steps, which GitHub lists with their job before they run:
+ * <ul>
+ *   <li>first seen in progress → STEP_STARTED</li>
+ *   <li>first seen completed, or any other status → completed: STEP_COMPLETED</li>
+ * </ul>
+ * Every other transition, including a repeated status, produces no event.
+ *
+ * @see EventDetector
+ * @since 1.1
+ */
+final class TransitionTable
+{
+    /**
+     * Kind of entity whose status changed.
+     */
+    enum Kind
+    {
+        WORKFLOW, JOB, STEP
+    }
+
+    private static final Status[] STATUSES = Status.values();
+
+    // [kind][previous status ordinal + 1, or 0 if first seen][current status ordinal]
+    private static final EventType[][][] TABLE = build();
+
+    private TransitionTable()
+    {
+    }
+
+    /**
+     * Looks up the event produced by a status transition.
+     *
+     * @param kind kind of entity
+     * @param previous previous status, or {@code null} if the entity is seen for the first time
+     * @param current current status
+     * @return event type to report, or {@code null} if the transition produces none
+     */
+    static EventType lookup(Kind kind, Status previous, Status current)
+    {
+        return TABLE[kind.ordinal()][previous == null ? 0 : previous.ordinal() + 1][current.ordinal()];
+    }
+
+    private static EventType[][][] build()
+    {
+        EventType[][][] table = new EventType[Kind.values().length][STATUSES.length + 1][STATUSES.length];
+
+        lifecycle(table, Kind.WORKFLOW, EventType.WORKFLOW_QUEUED, EventType.WORKFLOW_STARTED,
+                EventType.WORKFLOW_COMPLETED);
+        lifecycle(table, Kind.JOB, EventType.JOB_QUEUED, EventType.JOB_STARTED, EventType.JOB_COMPLETED);
+
+        on(table, Kind.STEP, null, Status.IN_PROGRESS, EventType.STEP_STARTED);
+        completion(table, Kind.STEP, EventType.STEP_COMPLETED);
+
+        return table;
+    }
+
+    private static void lifecycle(EventType[][][] table, Kind kind,
+                                  EventType queued, EventType started, EventType completed)
+    {
+        for (Status status : STATUSES)
+        {
+            if (status.isPending())
+            {
+                on(table, kind, null, status, queued);
+                on(table, kind, status, Status.IN_PROGRESS, started);
+            }
+        }
+        on(table, kind, null, Status.IN_PROGRESS, started);
+        completion(table, kind, completed);
+    }
+
+    private static void completion(EventType[][][] table, Kind kind, EventType completed)
+    {
+        on(table, kind, null, Status.COMPLETED, completed);
+        for (Status status : STATUSES)
+        {
+            if (status != Status.COMPLETED)
+            {
+                on(table, kind, status, Status.COMPLETED, completed);
+            }
+        }
+    }
+
+    private static void on(EventType[][][] table, Kind kind, Status previous, Status current, EventType event)
+    {
+        table[kind.ordinal()][previous == null ? 0 : previous.ordinal() + 1][current.ordinal()] = event;
+    }
+}
@@ -3,15 +3,21 @@ package com.github.matei.sentinel.monitor;
 import java.net.http.HttpTimeoutException;
 import java.time.Duration;
 import java.time.Instant;
-import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import com.github.matei.sentinel.client.GitHubApiClient;
+import com.github.matei.sentinel.client.RateLimitExceededException;
+import com.github.matei.sentinel.client.RateLimitTracker;
+import com.github.matei.sentinel.client.RunFilter;
+import com.github.matei.sentinel.client.WebhookPayload;
 import com.github.matei.sentinel.config.Configuration;
 import com.github.matei.sentinel.formatter.EventFormatter;
 import com.github.matei.sentinel.model.Job;
+import com.github.matei.sentinel.model.Status;
 import com.github.matei.sentinel.model.MonitoringEvent;
 import com.github.matei.sentinel.model.WorkflowRun;
 import com.github.matei.sentinel.persistence.StateManager;
@@ -23,10 +29,12 @@ import com.github.matei.sentinel.util.Logger;
  * This class is the main coordinator that:
  * <ol>
  *   <li>Loads previous state from {@link StateManager}</li>
- *   <li>Enters a polling loop that runs every {@link Constants#POLL_INTERVAL_SECONDS} seconds</li>
- *   <li>Fetches workflow runs and jobs from {@link GitHubApiClient}</li>
+ *   <li>Enters a polling loop whose interval follows repository activity</li>
+ *   <li>Fetches workflow runs and jobs from {@link GitHubApiClient}, fetching the jobs of
+ *       all runs concurrently via {@link JobFetcher}</li>
  *   <li>Detects new or changed events using {@link EventDetector}</li>
- *   <li>Formats events using {@link EventFormatter} and outputs to stdout</li>
+ *   <li>Publishes new events to an {@link EventPipeline}, which formats them with an
+ *       {@link EventFormatter} and writes them to stdout on its own threads</li>
  *   <li>Updates and persists state after each poll</li>
  *   <li>Handles errors and retries gracefully</li>
  *   <li>Supports graceful shutdown via {@link #stop()}</li>
@@ -37,14 +45,22 @@ import com.github.matei.sentinel.util.Logger;
  * <ul>
  *   <li><b>First Run</b>: Sets last check time to current time, so only NEW events are reported</li>
  *   <li><b>Subsequent Runs</b>: Fetches events since last check time, catching up on missed events</li>
- *   <li><b>Interval</b>: Polls every 30 seconds (configurable via {@link Constants#POLL_INTERVAL_SECONDS})</li>
+ *   <li><b>Interval</b>: Adapts to activity via {@link AdaptivePollInterval} - every
+ *       {@link Constants#ACTIVE_POLL_INTERVAL_SECONDS} seconds while runs are queued or in progress,
+ *       backing off to {@link Constants#IDLE_POLL_INTERVAL_SECONDS} seconds on a quiet repository,
+ *       and less often when the {@link RateLimitPacer} needs to stretch the remaining rate-limit budget</li>
+ *   <li><b>Webhooks</b>: In {@link Configuration#isWebhookMode() webhook mode}, events arrive through
+ *       {@link #handleWebhook} and polling only runs every
+ *       {@link Constants#WEBHOOK_RECONCILIATION_INTERVAL} to pick up lost deliveries</li>
  * </ul>
  *
  * <h2>Error Handling</h2>
  * The monitor handles various error scenarios without crashing:
  * <ul>
  *   <li><b>401 Unauthorized</b>: Invalid token - exits immediately with error message</li>
- *   <li><b>403 Forbidden</b>: Rate limit or permissions - retries after delay</li>
+ *   <li><b>Rate limit exceeded</b>: pauses until the rate limit resets or the
+ *       {@code Retry-After} time has passed</li>
+ *   <li><b>403 Forbidden</b>: Permissions - retries after delay</li>
  *   <li><b>404 Not Found</b>: Repository not found - exits immediately with error message</li>
  *   <li><b>Timeout</b>: Network timeout - retries after delay</li>
  *   <li><b>Other errors</b>: Logs error and retries after delay</li>
@@ -64,11 +80,17 @@ import com.github.matei.sentinel.util.Logger;
  *   <li>Total uptime</li>
  *   <li>Total number of API polls</li>
  *   <li>Total events reported</li>
+ *   <li>Webhook deliveries processed</li>
+ *   <li>Jobs requests skipped for unchanged runs</li>
  * </ul>
  *
  * <h2>Thread Safety</h2>
  * This class is designed for single-threaded use. The {@code running} flag is
- * {@code volatile} to support stopping from a shutdown hook.
+ * {@code volatile} to support stopping from a shutdown hook. Job requests are
+ * issued on short-lived virtual threads, but all results are collected before
+ * event detection, so detection and state updates stay on the polling thread.
+ * Formatting and writing events happen on the {@link EventPipeline}'s threads, so
+ * a slow reader of stdout does not delay the next poll.
  *
  * <h2>Usage Example</h2>
  * <pre>{@code
@@ -100,15 +122,24 @@ public class WorkflowMonitor
     private final GitHubApiClient apiClient;
     private final StateManager stateManager;
     private final EventDetector eventDetector;
-    private final EventFormatter eventFormatter;
+    private final EventPipeline eventPipeline;
     private final Configuration config;
+    private final JobFetcher jobFetcher;
+    private final JobSnapshotCache jobSnapshots = new JobSnapshotCache();
+    private final RunFilter runFilter;
+    private final RateLimitPacer rateLimitPacer;
 
     private volatile boolean running = true;
 
     // Performance metrics
     private long totalPollCount = 0;
     private long totalEventsReported = 0;
+    private long totalWebhookCount = 0;
     private Instant monitoringStartTime;
+    private final AdaptivePollInterval pollInterval = new AdaptivePollInterval();
+    private Duration nextPollDelay = Duration.ofSeconds(Constants.POLL_INTERVAL_SECONDS);
+    // Set by a failed poll whose log should end with the delay before the retry
+    private boolean announceRetry;
 
     /**
      * Creates a new WorkflowMonitor.
@@ -121,26 +152,115 @@ public class WorkflowMonitor
      */
     public WorkflowMonitor(GitHubApiClient apiClient, StateManager stateManager,
                            EventDetector eventDetector, EventFormatter eventFormatter, Configuration config)
+    {
+        // Without rate-limit information the pacer never delays polls
+        this(apiClient, stateManager, eventDetector, eventFormatter, config,
+                new RateLimitPacer(new RateLimitTracker()));
+    }
+
+    /**
+     * Creates a new WorkflowMonitor whose poll interval is stretched by a rate-limit pacer.
+     *
+     * @param apiClient client for fetching workflow data from GitHub
+     * @param stateManager manager for persisting state between runs
+     * @param eventDetector detector for identifying new/changed events
+     * @param eventFormatter formatter for outputting events
+     * @param config application configuration
+     * @param rateLimitPacer pacer fed by the API client's rate-limit tracker;
+     *                       share one instance between monitors that share a token
+     */
+    public WorkflowMonitor(GitHubApiClient apiClient, StateManager stateManager,
+                           EventDetector eventDetector, EventFormatter eventFormatter, Configuration config,
+                           RateLimitPacer rateLimitPacer)
+    {
+        this(apiClient, stateManager, eventDetector, new EventPipeline(eventFormatter), config, rateLimitPacer);
+    }
+
+    /**
+     * Creates a new WorkflowMonitor that publishes events to a given pipeline.
+     *
+     * @param apiClient client for fetching workflow data from GitHub
+     * @param stateManager manager for persisting state between runs
+     * @param eventDetector detector for identifying new/changed events
+     * @param eventPipeline pipeline that formats and writes events; may be shared between monitors
+     * @param config application configuration
+     * @param rateLimitPacer pacer fed by the API client's rate-limit tracker;
+     *                       share one instance between monitors that share a token
+     */
+    public WorkflowMonitor(GitHubApiClient apiClient, StateManager stateManager,
+                           EventDetector eventDetector, EventPipeline eventPipeline, Configuration config,
+                           RateLimitPacer rateLimitPacer)
     {
         this.apiClient = apiClient;
         this.stateManager = stateManager;
         this.eventDetector = eventDetector;
-        this.eventFormatter = eventFormatter;
+        this.eventPipeline = eventPipeline;
         this.config = config;
+        this.jobFetcher = new JobFetcher(apiClient, config.getJobFetchConcurrency());
+        this.runFilter = new RunFilter(config.getBranch(), config.getEvent());
+        this.rateLimitPacer = rateLimitPacer;
     }
 
     /**
      * Starts the monitoring loop.
      * This is a blocking call that runs until interrupted.
+     * <p>
+     * To monitor several repositories from one process, use
+     * {@link MultiRepositoryMonitor}, which drives {@link #initialize()} and
+     * {@link #poll()} of many monitors from a single scheduling thread.
+     * </p>
      */
     public void start()
     {
         monitoringStartTime = Instant.now();
 
-        Logger.info("Starting monitoring for repository: " + config.getRepository());
+        initialize();
+
+        System.err.println();
         Logger.info("Press CTRL+C to stop.");
         System.err.println();
 
+        while (running)
+        {
+            if (!poll())
+            {
+                break;
+            }
+
+            try
+            {
+                // Sleep for polling interval
+                Thread.sleep(nextPollDelay().toMillis());
+            }
+            catch (InterruptedException e)
+            {
+                // Interrupted by shutdown hook - exit gracefully without extra message
+                break;
+            }
+        }
+
+        flushOutput();
+        Logger.info("Monitoring stopped.");
+        printSummary();
+    }
+
+    /**
+     * Prepares this monitor for polling.
+     * <p>
+     * On the first run for the repository, records the current time as the last
+     * check time so that only new events are reported. Otherwise, logs the time
+     * from which missed events will be caught up.
+     * </p>
+     */
+    public void initialize()
+    {
+        if (monitoringStartTime == null)
+        {
+            monitoringStartTime = Instant.now();
+        }
+
+        Logger.info("Starting monitoring for repository: " + config.getRepository());
+
         Optional<Instant> lastCheckTime = stateManager.getLastCheckTime(config.getRepository());
 
         if (lastCheckTime.isEmpty())
@@ -154,113 +274,230 @@ public class WorkflowMonitor
         {
             Logger.info("Previous run detected. Catching up on events since: " + lastCheckTime.get());
         }
+    }
 
-        System.err.println();
+    /**
+     * Performs a single poll cycle, handling and logging any errors.
+     * <p>
+     * Transient failures (timeouts, rate limits, unexpected errors) are logged and
+     * the method returns {@code true} so the caller retries after
+     * {@link #nextPollDelay()}, which is recomputed from the rate-limit budget after
+     * every poll. Permanent failures (invalid token, repository not
+     * found) are logged and the method returns {@code false}.
+     * </p>
+     *
+     * @return {@code true} if monitoring should continue, {@code false} if it must stop
+     */
+    public boolean poll()
+    {
+        boolean keepPolling = pollOnce();
+        Duration pacing = rateLimitPacer.reserveNext();
+        Duration interval = config.isWebhookMode()
+                ? Constants.WEBHOOK_RECONCILIATION_INTERVAL
+                : pollInterval.current();
+        nextPollDelay = pacing.compareTo(interval) > 0 ? pacing : interval;
+        if (announceRetry)
+        {
+            announceRetry = false;
+            Logger.warn("   → Retrying in " + nextPollDelay.toSeconds() + " seconds...");
+        }
+        return keepPolling;
+    }
 
-        while (running)
+    /**
+     * Performs a single poll cycle and translates errors into log messages.
+     *
+     * @return {@code true} if monitoring should continue, {@code false} if it must stop
+     */
+    private boolean pollOnce()
+    {
+        boolean succeeded = false;
+        try
         {
-            try
+            totalPollCount++;
+            int eventCount = pollAndProcessEvents();
+            totalEventsReported += eventCount;
+            succeeded = true;
+        }
+        catch (InterruptedException e)
+        {
+            // Interrupted by shutdown hook - keep the flag so the caller stops sleeping
+            Thread.currentThread().interrupt();
+        }
+        catch (HttpTimeoutException e)
+        {
+            Logger.warn("Request timed out. GitHub API might be slow.");
+            announceRetry = true;
+        }
+        catch (RateLimitExceededException e)
+        {
+            Logger.error("GitHub API rate limit exceeded.");
+            if (e.getRetryAt() != null)
             {
-                totalPollCount++;
-                int eventCount = pollAndProcessEvents();
-                totalEventsReported += eventCount;
-
-                // Sleep for polling interval
-                Thread.sleep(Constants.POLL_INTERVAL_SECONDS * 1000L);  // ✅ Added 'L' for long literal
+                Logger.error("   → Pausing until " + e.getRetryAt() + ", when the limit resets.");
             }
-            catch (InterruptedException e)
+        }
+        catch (RuntimeException e)
+        {
+            String message = e.getMessage() != null ? e.getMessage().toLowerCase() : "";
+
+            if (message.contains("401") || message.contains("unauthorized"))
             {
-                // Interrupted by shutdown hook - exit gracefully without extra message
-                break;
+                Logger.error("Authentication failed: Invalid or expired GitHub token.");
+                Logger.error("   → Generate a new token at: https://github.com/settings/tokens");
+                Logger.error("   → Required scope: 'repo' (Full control of private repositories)");
+                return false;
             }
-            catch (HttpTimeoutException e)
+            else if (message.contains("403") || message.contains("forbidden"))
             {
-                Logger.warn("Request timed out. GitHub API might be slow. Retrying in " +
-                        Constants.POLL_INTERVAL_SECONDS + " seconds...");
-                // Continue monitoring despite timeout
-                try
+                if (message.contains("rate limit"))
                 {
-                    Thread.sleep(Constants.POLL_INTERVAL_SECONDS * 1000L);
+                    Logger.error("GitHub API rate limit exceeded.");
+                    Logger.error("   → You have 5000 requests/hour with authentication.");
+                    announceRetry = true;
                 }
-                catch (InterruptedException ie)
+                else
                 {
-                    break;
+                    Logger.warn("Access forbidden: Check token permissions for this repository.");
                 }
             }
-            catch (RuntimeException e)
+            else if (message.contains("404") || message.contains("not found"))
             {
-                String message = e.getMessage() != null ? e.getMessage().toLowerCase() : "";
-
-                if (message.contains("401") || message.contains("unauthorized"))
-                {
-                    Logger.error("Authentication failed: Invalid or expired GitHub token.");
-                    Logger.error("   → Generate a new token at: https://github.com/settings/tokens");
-                    Logger.error("   → Required scope: 'repo' (Full control of private repositories)");
-                    break;
-                }
-                else if (message.contains("403") || message.contains("forbidden"))
-                {
-                    if (message.contains("rate limit"))
-                    {
-                        Logger.error("GitHub API rate limit exceeded.");
-                        Logger.error("   → You have 5000 requests/hour with authentication.");
-                        Logger.error("   → Retrying in " + Constants.POLL_INTERVAL_SECONDS + " seconds...");
-                    }
-                    else
-                    {
-                        Logger.warn("Access forbidden: Check token permissions for this repository.");
-                    }
-
-                    // Continue monitoring (retry after delay)
-                    try
-                    {
-                        Thread.sleep(Constants.POLL_INTERVAL_SECONDS * 1000L);
-                    }
-                    catch (InterruptedException ie)
-                    {
-                        break;
-                    }
-                }
-                else if (message.contains("404") || message.contains("not found"))
-                {
-                    Logger.error("Repository '" + config.getRepository() + "' not found or not accessible.");
-                    Logger.error("   → Verify the repository name format: owner/repo");
-                    Logger.error("   → For private repos, ensure your token has 'repo' scope");
-                    break;
-                }
-                else
-                {
-                    Logger.warn("Unexpected error: " + e.getMessage());
-                    Logger.warn("   → Retrying in " + Constants.POLL_INTERVAL_SECONDS + " seconds...");
-
-                    // Continue monitoring (retry after delay)
-                    try
-                    {
-                        Thread.sleep(Constants.POLL_INTERVAL_SECONDS * 1000L);
-                    }
-                    catch (InterruptedException ie)
-                    {
-                        break;
-                    }
-                }
+                Logger.error("Repository '" + config.getRepository() + "' not found or not accessible.");
+                Logger.error("   → Verify the repository name format: owner/repo");
+                Logger.error("   → For private repos, ensure your token has 'repo' scope");
+                return false;
             }
-            catch (Exception e)
+            else
             {
-                Logger.error("Unexpected error: " + e.getMessage());
-                e.printStackTrace();
-                try
-                {
-                    Thread.sleep(Constants.POLL_INTERVAL_SECONDS * 1000L);
-                }
-                catch (InterruptedException ie)
-                {
-                    break;
-                }
+                Logger.warn("Unexpected error: " + e.getMessage());
+                announceRetry = true;
+            }
+        }
+        catch (Exception e)
+        {
+            Logger.error("Unexpected error: " + e.getMessage());
+            e.printStackTrace();
+        }
+        finally
+        {
+            if (!succeeded)
+            {
+                pollInterval.recordError();
             }
         }
 
-        Logger.info("Monitoring stopped.");
-        printSummary();
+        return true;
+    }
+
+    /**
+     * Detects and reports the events carried by a webhook delivery for this repository.
+     * <p>
+     * The run of a {@code workflow_run} delivery, or the job and steps of a
+     * {@code workflow_job} delivery, are compared with their last known state
+     * exactly as if a poll had returned them, and events already reported by a
+     * poll are not reported again. Runs outside the branch or event filter are
+     * ignored, and so are jobs of runs not seen yet; the next reconciliation poll
+     * reports those.
+     * </p>
+     * <p>
+     * Must be called from the thread that calls {@link #poll()}.
+     * </p>
+     *
+     * @param payload verified payload of a delivery about {@link #getRepository()}
+     */
+    public void handleWebhook(WebhookPayload payload)
+    {
+        List<MonitoringEvent> events;
+        if (payload.workflowRun() != null)
+        {
+            WorkflowRun run = payload.workflowRun();
+            if (!runFilter.matches(run.getHeadBranch(), payload.event()))
+            {
+                return;
+            }
+            events = eventDetector.detectEvents(List.of(run), Map.of());
+        }
+        else
+        {
+            Job job = payload.workflowJob();
+            events = eventDetector.detectJobEvents(job.getRunId(), List.of(job));
+        }
+
+        totalWebhookCount++;
+        int reported = report(events);
+        totalEventsReported += reported;
+        if (reported > 0)
+        {
+            stateManager.save();
+        }
+    }
+
+    /**
+     * Returns how long to wait before the next call to {@link #poll()}.
+     * <p>
+     * This is the activity-based interval chosen by {@link AdaptivePollInterval}
+     * (or the reconciliation interval in webhook mode), or the delay requested by the {@link RateLimitPacer} after the last poll if
+     * that is longer.
+     * </p>
+     *
+     * @return delay until the next poll
+     */
+    public Duration nextPollDelay()
+    {
+        return nextPollDelay;
+    }
+
+    /**
+     * @return repository monitored by this instance, in format "owner/repo"
+     */
+    public String getRepository()
+    {
+        return config.getRepository();
+    }
+
+    /**
+     * @return number of polls performed so far
+     */
+    public long getTotalPollCount()
+    {
+        return totalPollCount;
+    }
+
+    /**
+     * @return number of events reported so far
+     */
+    public long getTotalEventsReported()
+    {
+        return totalEventsReported;
+    }
+
+    /**
+     * @return number of webhook deliveries processed so far
+     */
+    public long getTotalWebhookCount()
+    {
+        return totalWebhookCount;
+    }
+
+    /**
+     * @return number of jobs requests avoided because the run had not changed
+     */
+    public long getSkippedJobFetchCount()
+    {
+        return jobSnapshots.getSkippedFetchCount();
+    }
+
+    /**
+     * Writes out the events still queued in the output pipeline and stops it.
+     * Call once polling has ended.
+     */
+    public void flushOutput()
+    {
+        if (!eventPipeline.close())
+        {
+            Logger.warn("Not all events could be written before shutdown.");
+        }
     }
 
     /**
@@ -276,7 +513,7 @@ public class WorkflowMonitor
 
     /**
      * Prints a summary of monitoring statistics.
-     * Displays total runtime, number of polls, and events reported.
+     * Displays total runtime, number of polls, events reported and skipped job fetches.
      */
     private void printSummary()
     {
@@ -286,6 +523,15 @@ public class WorkflowMonitor
         System.err.println("Total runtime: " + formatDuration(uptime));
         System.err.println("Total polls: " + totalPollCount);
         System.err.println("Events reported: " + totalEventsReported);
+        if (config.isWebhookMode())
+        {
+            System.err.println("Webhook deliveries: " + totalWebhookCount);
+        }
+        System.err.println("Job fetches skipped (unchanged runs): " + jobSnapshots.getSkippedFetchCount());
+        for (StageMetrics stage : eventPipeline.metrics())
+        {
+            System.err.println("Pipeline " + stage.summary());
+        }
         System.err.println("==========================");
     }
 
@@ -303,7 +549,7 @@ public class WorkflowMonitor
      * @param duration the duration to format
      * @return formatted string (e.g., "1h 5m 30s")
      */
-    private String formatDuration(Duration duration)
+    static String formatDuration(Duration duration)
     {
         long hours = duration.toHours();
         long minutes = duration.toMinutesPart();
@@ -329,6 +575,12 @@ public class WorkflowMonitor
 
     /**
      * Single poll cycle: fetch workflows, detect events, output them.
+     * <p>
+     * Workflow runs are streamed from the API client page by page, and each batch
+     * goes through job fetching, event detection and output while later pages are
+     * still downloading. After downtime this lets catch-up over thousands of runs
+     * start reporting immediately instead of after the last page.
+     * </p>
      *
      * @return number of new events detected and reported
      * @throws Exception if API call fails
@@ -339,95 +591,141 @@ public class WorkflowMonitor
         Optional<Instant> lastCheckTime = stateManager.getLastCheckTime(config.getRepository());
         Instant since = lastCheckTime.orElse(Instant.now());
 
-        int eventCount = 0;
-        boolean stateChanged = false;
+        PollProgress progress = new PollProgress();
 
-        // Fetch workflow runs since last check
-        List<WorkflowRun> workflowRuns = apiClient.getWorkflowRuns(
+        // Fetch workflow runs since last check, processing each batch as it arrives
+        apiClient.streamWorkflowRuns(
                 config.getOwner(),
                 config.getRepo(),
-                since
+                since,
+                runFilter,
+                runs -> processRuns(runs, progress)
         );
 
-        Map<Long, List<Job>> jobsMap = new HashMap<>();
+        // Forget the jobs of runs that no longer appear
+        jobSnapshots.retain(progress.runIds);
 
-        // For each workflow run, fetch its jobs
-        for (WorkflowRun run : workflowRuns)
-        {
-            List<Job> jobs = apiClient.getJobsForRun(
-                    config.getOwner(),
-                    config.getRepo(),
-                    run.getId()
-            );
+        // Poll quickly while anything is in flight, back off when the repository is quiet
+        pollInterval.recordPoll(progress.eventsDetected || progress.activeWork);
 
-            jobsMap.put(run.getId(), jobs);
+        // Save state if anything changed
+        if (progress.stateChanged || !progress.eventsDetected)
+        {
+            // Update last check time to now
+            stateManager.updateLastCheckTime(config.getRepository(), Instant.now());
+            stateManager.save();
         }
 
+        return progress.eventCount;
+    }
+
+    /**
+     * Fetches jobs for one batch of workflow runs, detects their events and outputs them.
+     *
+     * @param workflowRuns batch of runs from the current poll
+     * @param progress accumulates the results of the poll
+     * @throws Exception if fetching jobs fails
+     */
+    private void processRuns(List<WorkflowRun> workflowRuns, PollProgress progress) throws Exception
+    {
+        // Fetch jobs concurrently, only for runs that are new, active or changed;
+        // unchanged runs reuse the jobs from the previous poll
+        Map<Long, List<Job>> fetchedJobs = jobFetcher.fetchJobs(
+                config.getOwner(),
+                config.getRepo(),
+                jobSnapshots.runsToFetch(workflowRuns)
+        );
+        Map<Long, List<Job>> jobsMap = jobSnapshots.merge(workflowRuns, fetchedJobs);
+
         // Detect events by comparing current state with previous state
         List<MonitoringEvent> events = eventDetector.detectEvents(
                 workflowRuns,
                 jobsMap
         );
 
-        // Output each new event
-        for (MonitoringEvent event : events)
-        {
-            // Check if we've already processed this event
-            String eventId = generateEventId(event);
-            if (!stateManager.getProcessedEventIds(config.getRepository()).contains(eventId))
-            {
-                // Format and print to stdout
-                System.out.println(eventFormatter.format(event));
-
-                // Mark as processed
-                stateManager.addProcessedEventId(config.getRepository(), eventId);
-                stateChanged = true;
-                eventCount++;
-            }
-        }
+        int reported = report(events);
+        progress.eventCount += reported;
+        progress.stateChanged |= reported > 0;
 
-        // Save state if anything changed
-        if (stateChanged || events.isEmpty())
+        for (WorkflowRun run : workflowRuns)
         {
-            // Update last check time to now
-            stateManager.updateLastCheckTime(config.getRepository(), Instant.now());
-            stateManager.save();
+            progress.runIds.add(run.getId());
         }
-
-        return eventCount;
+        progress.eventsDetected |= !events.isEmpty();
+        progress.activeWork |= hasActiveWork(workflowRuns, jobsMap);
     }
 
     /**
-     * Generates a unique ID for an event to prevent duplicates.
-     * <p>
-     * Format: {@code eventType_workflowName_jobName_stepName_timestamp}
-     * </p>
+     * Outputs the events that have not been reported before.
      * <p>
-     * Non-alphanumeric characters in names are replaced with underscores
-     * to ensure the ID is filesystem-safe.
+     * An event is marked as processed only once the pipeline has accepted it, so a
+     * saved state never contains an event that was not queued for output. If the
+     * pipeline rejects an event, it and the rest of the batch stay unmarked and are
+     * reported again the next time they are detected.
      * </p>
      *
-     * @param event the monitoring event
-     * @return unique event identifier string
+     * @param events detected events
+     * @return number of events reported
+     * @throws java.util.concurrent.RejectedExecutionException if the pipeline rejects
+     *         an event because it is closed or the thread was interrupted
      */
-    private String generateEventId(MonitoringEvent event)
+    private int report(List<MonitoringEvent> events)
     {
-        StringBuilder id = new StringBuilder();
-        id.append(event.getType()).append("_");
-        id.append(event.getWorkflowName().replaceAll("[^a-zA-Z0-9]", "_")).append("_");
-
-        if (event.getJobName() != null)
+        int reported = 0;
+        for (MonitoringEvent event : events)
         {
-            id.append(event.getJobName().replaceAll("[^a-zA-Z0-9]", "_")).append("_");
+            // Skip events we've already reported
+            if (stateManager.isProcessed(config.getRepository(), event.fingerprint()))
+            {
+                continue;
+            }
+
+            // Format and print to stdout off the polling thread
+            eventPipeline.publish(event);
+            stateManager.markProcessed(config.getRepository(), event.fingerprint());
+            reported++;
         }
+        return reported;
+    }
 
-        if (event.getStepName() != null)
+    /**
+     * Checks whether any run or job is still queued or in progress.
+     *
+     * @param workflowRuns runs returned by the last poll
+     * @param jobsMap jobs of those runs, by run ID
+     * @return {@code true} if any run or job has not completed
+     */
+    private static boolean hasActiveWork(List<WorkflowRun> workflowRuns, Map<Long, List<Job>> jobsMap)
+    {
+        for (WorkflowRun run : workflowRuns)
         {
-            id.append(event.getStepName().replaceAll("[^a-zA-Z0-9]", "_")).append("_");
+            if (run.getState() != Status.COMPLETED)
+            {
+                return true;
+            }
         }
+        for (List<Job> jobs : jobsMap.values())
+        {
+            for (Job job : jobs)
+            {
+                if (job.getState() != Status.COMPLETED)
+                {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
 
-        id.append(event.getTimestamp().toEpochMilli());
-
-        return id.toString();
+    /**
+     * Results accumulated over the batches of a single poll.
+     */
+    private static class PollProgress
+    {
+        final Set<Long> runIds = new HashSet<>();
+        int eventCount;
+        boolean stateChanged;
+        boolean eventsDetected;
+        boolean activeWork;
     }
 }
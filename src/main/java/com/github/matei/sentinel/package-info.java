@@ -3,7 +3,9 @@
  * <p>
  * This application monitors GitHub Actions workflow runs and reports events in real-time.
  * It uses a polling mechanism to query the GitHub API every 30 seconds and detects
- * state changes in workflows, jobs, and steps.
+ * state changes in workflows, jobs, and steps. Alternatively, it can receive
+ * {@code workflow_run} and {@code workflow_job} webhooks and poll only to reconcile
+ * missed deliveries.
  * </p>
  *
  * <h2>Architecture Overview</h2>
@@ -15,6 +17,7 @@
  *   <li><b>{@link com.github.matei.sentinel.persistence}</b> - State management and persistence layer</li>
  *   <li><b>{@link com.github.matei.sentinel.formatter}</b> - Event output formatting</li>
  *   <li><b>{@link com.github.matei.sentinel.config}</b> - Application configuration</li>
+ *   <li><b>{@link com.github.matei.sentinel.webhook}</b> - Embedded webhook receiver and signature verification</li>
  *   <li><b>{@link com.github.matei.sentinel.util}</b> - Utility classes and constants</li>
  * </ul>
  *
@@ -57,7 +60,7 @@
  * <ul>
  *   <li>Old workflow/job/step data is cleaned up after 1 hour</li>
  *   <li>Event IDs in state file are limited to 1000 (FIFO removal)</li>
- *   <li>HTTP responses are cached for 10 seconds to reduce API calls</li>
+ *   <li>HTTP responses are cached for 2 seconds to reduce API calls</li>
  * </ul>
  *
  * <h2>Error Handling</h2>
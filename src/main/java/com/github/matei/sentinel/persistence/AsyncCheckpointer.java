@@ -0,0 +1,303 @@
+package com.github.matei.sentinel.persistence;
+
+import com.github.matei.sentinel.util.Constants;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * State manager that writes state to disk in the background, coalescing saves.
+ * <p>
+ * The monitor saves state after every poll and every webhook delivery. Writing
+ * each time on the polling thread makes poll latency depend on disk latency, and
+ * most of those writes are superseded a moment later. This class wraps another
+ * {@link StateManager} and turns {@link #save()} into a cheap request: it only
+ * counts the save as pending. A background thread then takes a checkpoint, one
+ * {@link StateManager#prepareSave()} followed by its write, covering every save
+ * requested since the previous checkpoint:
+ * </p>
+ * <ul>
+ *   <li>every {@code interval}, if any save was requested</li>
+ *   <li>as soon as {@code dirtyThreshold} saves are pending</li>
+ *   <li>once more on {@link #close()}, whether or not a save is pending</li>
+ * </ul>
+ * Only capturing the state briefly holds up the polling thread; the write does not.
+ *
+ * <h2>Shutdown</h2>
+ * {@link #close()} waits for the final checkpoint, up to
+ * {@link Constants#CHECKPOINT_CLOSE_TIMEOUT}. It is called from the shutdown hook,
+ * so a CTRL+C loses no state. Saves requested after {@code close()} are written
+ * synchronously.
+ *
+ * <h2>Thread Safety</h2>
+ * This class is thread-safe. Calls to the wrapped state manager are serialized by
+ * a lock, so it need not be thread-safe itself, and checkpoints are written one at
+ * a time in the order they were taken. A second lock is held from capturing a
+ * checkpoint until its write completes, so a save written synchronously after
+ * {@link #close()} waits for a background checkpoint still being written.
+ *
+ * <h2>Usage Example</h2>
+ * <pre>{@code
+ * AsyncCheckpointer stateManager = new AsyncCheckpointer(new FileStateManager());
+ * Runtime.getRuntime().addShutdownHook(new Thread(stateManager::close));
+ * stateManager.markProcessed("owner/repo", event.fingerprint());
+ * stateManager.save(); // returns immediately
+ * }</pre>
+ *
+ * @see FileStateManager#prepareSave()
+ * @since 1.1
+ */
+public class AsyncCheckpointer implements StateManager
+{
+    private final StateManager delegate;
+    private final int dirtyThreshold;
+    private final ReentrantLock lock = new ReentrantLock();
+    // Held from capturing a checkpoint until it is written, so writes never overlap
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final ScheduledExecutorService executor;
+
+    // Saves requested since the last checkpoint was taken
+    private final AtomicInteger dirtyCount = new AtomicInteger();
+    // Set while a threshold checkpoint is queued, so a burst of saves queues only one
+    private final AtomicBoolean checkpointQueued = new AtomicBoolean();
+
+    private final AtomicLong saveRequestCount = new AtomicLong();
+    private final AtomicLong checkpointCount = new AtomicLong();
+    private volatile boolean closed; // written only by close()
+
+    /**
+     * Creates a checkpointer with the default interval and dirty threshold.
+     *
+     * @param delegate state manager whose state is checkpointed
+     */
+    public AsyncCheckpointer(StateManager delegate)
+    {
+        this(delegate, Constants.DEFAULT_CHECKPOINT_INTERVAL, Constants.CHECKPOINT_DIRTY_THRESHOLD);
+    }
+
+    /**
+     * Creates a checkpointer and starts its background thread.
+     *
+     * @param delegate state manager whose state is checkpointed
+     * @param interval maximum time a requested save waits before it is written
+     * @param dirtyThreshold number of pending saves that triggers a checkpoint immediately
+     * @throws IllegalArgumentException if interval is not positive or dirtyThreshold is less than 1
+     */
+    public AsyncCheckpointer(StateManager delegate, Duration interval, int dirtyThreshold)
+    {
+        if (interval.isNegative() || interval.isZero())
+        {
+            throw new IllegalArgumentException("Checkpoint interval must be positive, got: " + interval);
+        }
+        if (dirtyThreshold < 1)
+        {
+            throw new IllegalArgumentException("Dirty threshold must be at least 1, got: " + dirtyThreshold);
+        }
+        this.delegate = delegate;
+        this.dirtyThreshold = dirtyThreshold;
+        this.executor = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "sentinel-checkpoint");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(() -> checkpoint(false),
+                interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Optional<Instant> getLastCheckTime(String repository)
+    {
+        lock.lock();
+        try
+        {
+            return delegate.getLastCheckTime(repository);
+        } finally
+        {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void updateLastCheckTime(String repository, Instant timestamp)
+    {
+        lock.lock();
+        try
+        {
+            delegate.updateLastCheckTime(repository, timestamp);
+        } finally
+        {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean isProcessed(String repository, long eventFingerprint)
+    {
+        lock.lock();
+        try
+        {
+            return delegate.isProcessed(repository, eventFingerprint);
+        } finally
+        {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean markProcessed(String repository, long eventFingerprint)
+    {
+        lock.lock();
+        try
+        {
+            return delegate.markProcessed(repository, eventFingerprint);
+        } finally
+        {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int getProcessedEventCount(String repository)
+    {
+        lock.lock();
+        try
+        {
+            return delegate.getProcessedEventCount(repository);
+        } finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Requests a save and returns without writing. The state is written by the next
+     * checkpoint, or immediately once the checkpointer is closed.
+     */
+    @Override
+    public void save()
+    {
+        saveRequestCount.incrementAndGet();
+        int dirty = dirtyCount.incrementAndGet();
+        if (closed)
+        {
+            // No background thread will pick the save up, so write it here
+            checkpoint(false);
+            return;
+        }
+        if (dirty < dirtyThreshold || !checkpointQueued.compareAndSet(false, true))
+        {
+            return;
+        }
+
+        try
+        {
+            executor.execute(() -> checkpoint(false));
+        } catch (RejectedExecutionException e)
+        {
+            // Closed between the check above and now
+            checkpoint(false);
+        }
+    }
+
+    /**
+     * Takes a final checkpoint and stops the background thread.
+     * <p>
+     * Later calls take no further checkpoint but wait for the final one as well,
+     * so a caller never returns while it may still be pending. An interrupt of the
+     * calling thread, such as the shutdown hook's, does not cut the wait short; it
+     * is restored before returning.
+     * </p>
+     *
+     * @return {@code true} if the final checkpoint was written before the timeout
+     */
+    public synchronized boolean close()
+    {
+        if (!closed)
+        {
+            closed = true;
+
+            // Queued behind any checkpoint in progress, so writes stay in order
+            executor.execute(() -> checkpoint(true));
+            executor.shutdown();
+        }
+
+        boolean interrupted = Thread.interrupted();
+        try
+        {
+            return executor.awaitTermination(Constants.CHECKPOINT_CLOSE_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e)
+        {
+            interrupted = true;
+            return false;
+        } finally
+        {
+            if (interrupted)
+            {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * @return number of saves requested
+     */
+    public long getSaveRequestCount()
+    {
+        return saveRequestCount.get();
+    }
+
+    /**
+     * @return number of checkpoints written; each covers one or more requested saves
+     */
+    public long getCheckpointCount()
+    {
+        return checkpointCount.get();
+    }
+
+    /**
+     * Captures the state under the lock and writes it outside the lock, holding the
+     * write lock throughout so checkpoints are written one at a time, in order.
+     *
+     * @param force write even if no save was requested since the last checkpoint
+     */
+    private void checkpoint(boolean force)
+    {
+        checkpointQueued.set(false);
+        if (dirtyCount.getAndSet(0) == 0 && !force)
+        {
+            return;
+        }
+
+        writeLock.lock();
+        try
+        {
+            Runnable write;
+            lock.lock();
+            try
+            {
+                write = delegate.prepareSave();
+            } finally
+            {
+                lock.unlock();
+            }
+            write.run();
+            checkpointCount.incrementAndGet();
+        } catch (RuntimeException e)
+        {
+            // An exception would cancel the periodic checkpoint; report it and keep going
+            System.err.println("Error writing state checkpoint: " + e.getMessage());
+        } finally
+        {
+            writeLock.unlock();
+        }
+    }
+}
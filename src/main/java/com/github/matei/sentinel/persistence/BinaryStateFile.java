@@ -0,0 +1,178 @@
+package com.github.matei.sentinel.persistence;
+
+import com.github.matei.sentinel.util.BoundedLongSet;
+import com.github.matei.sentinel.util.Constants;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * Encodes and decodes the {@link StateFormat#BINARY} state file.
+ * <p>
+ * All values are big-endian. The file starts with a fixed-size header:
+ * </p>
+ * <pre>
+ *   int    magic            "SNTL"
+ *   short  version          {@link Constants#BINARY_STATE_FORMAT_VERSION}
+ *   short  reserved         0
+ *   int    payload length   bytes after the header
+ *   int    payload CRC-32C
+ *   int    repository count
+ * </pre>
+ * followed by one section per repository:
+ * <pre>
+ *   short  name length, then the name in UTF-8
+ *   long   last check time, epoch seconds ({@link Long#MIN_VALUE} if never checked)
+ *   int    last check time, nanosecond adjustment
+ *   int    fingerprint count, then that many longs, oldest first
+ * </pre>
+ * Fingerprints are stored as raw longs, so decoding reads them straight from the
+ * buffer into a {@link BoundedLongSet} without text parsing or boxing. Decoding
+ * still rebuilds every set on the heap; passing a memory-mapped buffer to
+ * {@link #decode} only saves reading the whole file into a byte array first.
+ *
+ * @see FileStateManager
+ * @since 1.1
+ */
+final class BinaryStateFile
+{
+    static final int MAGIC = 0x534E544C; // "SNTL"
+    static final int HEADER_BYTES = 20;
+
+    private static final long NEVER_CHECKED = Long.MIN_VALUE;
+
+    private BinaryStateFile()
+    {
+    }
+
+    /**
+     * The state of one repository.
+     *
+     * @param repository repository in format "owner/repo"
+     * @param lastCheckTime last check time, or {@code null} if never checked
+     * @param processedEvents processed event fingerprints, or {@code null} if none
+     */
+    record Section(String repository, Instant lastCheckTime, BoundedLongSet processedEvents)
+    {
+    }
+
+    /**
+     * Encodes repository sections with their header.
+     *
+     * @param sections state of each repository
+     * @return the complete file content
+     */
+    static byte[] encode(List<Section> sections)
+    {
+        List<byte[]> names = new ArrayList<>(sections.size());
+        int payloadLength = 0;
+        for (Section section : sections)
+        {
+            byte[] name = section.repository().getBytes(StandardCharsets.UTF_8);
+            names.add(name);
+            int events = section.processedEvents() == null ? 0 : section.processedEvents().size();
+            payloadLength += Short.BYTES + name.length + Long.BYTES + Integer.BYTES + Integer.BYTES
+                    + events * Long.BYTES;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + payloadLength);
+        buffer.position(HEADER_BYTES);
+        for (int i = 0; i < sections.size(); i++)
+        {
+            Section section = sections.get(i);
+            buffer.putShort((short) names.get(i).length);
+            buffer.put(names.get(i));
+            buffer.putLong(section.lastCheckTime() == null ? NEVER_CHECKED : section.lastCheckTime().getEpochSecond());
+            buffer.putInt(section.lastCheckTime() == null ? 0 : section.lastCheckTime().getNano());
+
+            long[] events = section.processedEvents() == null ? new long[0] : section.processedEvents().toArray();
+            buffer.putInt(events.length);
+            for (long event : events)
+            {
+                buffer.putLong(event);
+            }
+        }
+
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.array(), HEADER_BYTES, payloadLength);
+        buffer.putInt(0, MAGIC)
+                .putShort(4, (short) Constants.BINARY_STATE_FORMAT_VERSION)
+                .putShort(6, (short) 0)
+                .putInt(8, payloadLength)
+                .putInt(12, (int) crc.getValue())
+                .putInt(16, sections.size());
+        return buffer.array();
+    }
+
+    /**
+     * Verifies and decodes a state file.
+     *
+     * @param buffer the complete file content, e.g. a mapped file; its position is advanced
+     * @param capacity capacity of the decoded fingerprint sets
+     * @return state of each repository, in file order
+     * @throws IllegalStateException if the content is not a valid state file of a supported version
+     */
+    static List<Section> decode(ByteBuffer buffer, int capacity)
+    {
+        try
+        {
+            if (buffer.remaining() < HEADER_BYTES || buffer.getInt() != MAGIC)
+            {
+                throw new IllegalStateException("Not a binary state file");
+            }
+            int version = buffer.getShort();
+            buffer.getShort(); // reserved
+            if (version > Constants.BINARY_STATE_FORMAT_VERSION)
+            {
+                throw new IllegalStateException("Unsupported binary state format " + version);
+            }
+
+            int payloadLength = buffer.getInt();
+            int checksum = buffer.getInt();
+            int repositoryCount = buffer.getInt();
+            if (payloadLength != buffer.remaining())
+            {
+                throw new IllegalStateException("Expected " + payloadLength + " bytes of state, found "
+                        + buffer.remaining());
+            }
+            CRC32C crc = new CRC32C();
+            crc.update(buffer.duplicate());
+            if ((int) crc.getValue() != checksum)
+            {
+                throw new IllegalStateException("Checksum mismatch");
+            }
+
+            List<Section> sections = new ArrayList<>(repositoryCount);
+            for (int i = 0; i < repositoryCount; i++)
+            {
+                byte[] name = new byte[buffer.getShort() & 0xFFFF];
+                buffer.get(name);
+                long seconds = buffer.getLong();
+                int nanos = buffer.getInt();
+                Instant lastCheckTime = seconds == NEVER_CHECKED ? null : Instant.ofEpochSecond(seconds, nanos);
+
+                int eventCount = buffer.getInt();
+                BoundedLongSet processedEvents = null;
+                if (eventCount > 0)
+                {
+                    // Adding in file order keeps the newest fingerprints if the capacity shrank
+                    processedEvents = new BoundedLongSet(capacity);
+                    for (int j = 0; j < eventCount; j++)
+                    {
+                        processedEvents.add(buffer.getLong());
+                    }
+                }
+                sections.add(new Section(new String(name, StandardCharsets.UTF_8), lastCheckTime, processedEvents));
+            }
+            return sections;
+        } catch (BufferUnderflowException e)
+        {
+            throw new IllegalStateException("Truncated binary state file", e);
+        }
+    }
+}
@@ -2,36 +2,155 @@ package com.github.matei.sentinel.persistence;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.google.gson.TypeAdapter;
 import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
 
+import com.github.matei.sentinel.util.BoundedLongSet;
 import com.github.matei.sentinel.util.Constants;
-import java.io.FileReader;
-import java.io.FileWriter;
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.time.Instant;
 import java.util.*;
+import java.util.zip.CRC32C;
 
 
 /**
  * File-based implementation of StateManager.
  * Stores state in a JSON file (.sentinel-state.json) in the current directory.
+ * <p>
+ * Processed events are kept per repository as 64-bit fingerprints in a
+ * {@link BoundedLongSet} and written as one Base64 string of packed longs.
+ * State files from older versions stored string event IDs under
+ * {@code processedEventId}; those are ignored on load, so events since the last
+ * check time may be reported once more after upgrading.
+ * </p>
+ * <p>
+ * In {@link PersistenceMode#JOURNAL} mode, {@link #save()} appends the changes
+ * since the previous save as one JSON line each to a journal file
+ * ({@code <state file>.log}) instead of rewriting the state file. Once the journal
+ * holds {@link Constants#JOURNAL_COMPACTION_THRESHOLD} entries, the full state is
+ * written to a temporary file, atomically renamed over the state file, and the
+ * journal is truncated. On startup the state file is loaded and the journal is
+ * replayed on top of it; replay is idempotent, so a crash between the rename and
+ * the truncation loses nothing. A torn final journal line from a crash mid-append
+ * is ignored and removed by compacting the journal right after the replay.
+ * </p>
+ * <p>
+ * {@link #prepareSave()} copies what a save would write, so the write itself can
+ * run on a background thread, e.g. from an {@link AsyncCheckpointer}. If a journal
+ * append fails, the next save compacts instead, writing the full state.
+ * </p>
+ *
+ * <h2>Crash Safety</h2>
+ * The state file is never written in place: the new state goes to a temporary
+ * file that is atomically renamed over the old one, so a crash leaves either the
+ * old or the new state. The file starts with a one-line header holding the length
+ * and CRC-32C checksum of the state below it; a state file that fails the check is
+ * moved aside ({@code <state file>.corrupt}) and the tool starts as on a first run.
+ * State files without a header, written by earlier versions, are loaded unchecked.
+ * The {@link FsyncPolicy} decides whether writes are also forced to disk.
+ *
+ * <h2>Formats</h2>
+ * With {@link StateFormat#BINARY}, the state file is written by {@link BinaryStateFile}
+ * instead, which carries its own checksum. It is decoded from a memory-mapped file,
+ * which saves one heap copy of the file; the decoded state is rebuilt on the heap.
+ * The journal is JSON lines in either format. {@link #convert} converts an
+ * existing state file between formats.
  */
 public class FileStateManager implements StateManager
 {
-
+    // State file header fields
+    private static final String HEADER_FORMAT = "format";
+    private static final String HEADER_LENGTH = "length";
+    private static final String HEADER_CRC32C = "crc32c";
 
     private final Gson gson;
+    private final Gson journalGson;
     private final Map<String, RepositoryState> stateMap;
+    private final Path stateFile;
+    private final Path journalFile;
+    private final PersistenceMode mode;
+    private final FsyncPolicy fsyncPolicy;
+    private final StateFormat format;
+    // Time of the last forced write, for FsyncPolicy.INTERVAL; written by the thread doing the I/O
+    private volatile long lastFsyncNanos;
+
+    // Journal mode only: changes not yet appended, and entries in the journal file
+    private final List<JournalEntry> pendingEntries = new ArrayList<>();
+    private int journalEntryCount;
+    // Set by a failed write, possibly on another thread, so the next save compacts
+    private volatile boolean compactionRequested;
 
     public FileStateManager()
+    {
+        this(Path.of(Constants.STATE_FILE), PersistenceMode.SNAPSHOT);
+    }
+
+    /**
+     * Creates a state manager for the given state file and persistence mode.
+     *
+     * @param stateFile path of the JSON state file; the journal is stored next to it
+     * @param mode how changes are written to disk
+     */
+    public FileStateManager(Path stateFile, PersistenceMode mode)
+    {
+        this(stateFile, mode, FsyncPolicy.INTERVAL);
+    }
+
+    /**
+     * Creates a state manager for the given state file, persistence mode and fsync policy.
+     *
+     * @param stateFile path of the JSON state file; the journal is stored next to it
+     * @param mode how changes are written to disk
+     * @param fsyncPolicy when writes are forced to the storage device
+     */
+    public FileStateManager(Path stateFile, PersistenceMode mode, FsyncPolicy fsyncPolicy)
+    {
+        this(stateFile, mode, fsyncPolicy, StateFormat.JSON);
+    }
+
+    /**
+     * Creates a state manager for the given state file, persistence mode, fsync policy and format.
+     *
+     * @param stateFile path of the state file; the journal is stored next to it
+     * @param mode how changes are written to disk
+     * @param fsyncPolicy when writes are forced to the storage device
+     * @param format encoding of the state file
+     */
+    public FileStateManager(Path stateFile, PersistenceMode mode, FsyncPolicy fsyncPolicy, StateFormat format)
     {
         this.gson = new GsonBuilder()
+                .registerTypeAdapter(BoundedLongSet.class, new BoundedLongSetAdapter())
                 .setPrettyPrinting()
                 .create();
+        this.journalGson = new Gson();
         this.stateMap = new HashMap<>();
+        this.stateFile = stateFile;
+        this.journalFile = stateFile.resolveSibling(stateFile.getFileName() + Constants.JOURNAL_FILE_SUFFIX);
+        this.mode = mode;
+        this.fsyncPolicy = fsyncPolicy;
+        this.format = format;
+        this.lastFsyncNanos = System.nanoTime() - Constants.FSYNC_INTERVAL.toNanos();
         loadState();
+        if (mode == PersistenceMode.JOURNAL)
+        {
+            replayJournal();
+        }
     }
 
     @Override
@@ -48,51 +167,107 @@ public class FileStateManager implements StateManager
     @Override
     public void updateLastCheckTime(String repository, Instant timestamp)
     {
-        RepositoryState state = stateMap.computeIfAbsent(repository, k -> new RepositoryState());
-        state.lastCheckTime = timestamp.toString();
+        applyLastCheckTime(repository, timestamp.toString());
+        journal(new JournalEntry(repository, timestamp.toString(), null));
     }
 
     @Override
-    public Set<String> getProcessedEventIds(String repository)
+    public boolean isProcessed(String repository, long eventFingerprint)
     {
         RepositoryState state = stateMap.get(repository);
-        if (state == null || state.processedEventId == null)
+        return state != null && state.processedEvents != null && state.processedEvents.contains(eventFingerprint);
+    }
+
+    /**
+     * Marks an event as processed with a single primitive hash lookup.
+     * The bounded set is updated in place; nothing is copied or boxed.
+     */
+    @Override
+    public boolean markProcessed(String repository, long eventFingerprint)
+    {
+        if (!applyProcessedEvent(repository, eventFingerprint))
         {
-            return new HashSet<>();
+            return false;
         }
+        journal(new JournalEntry(repository, null, eventFingerprint));
+        return true;
+    }
 
-        return new HashSet<>(state.processedEventId);
+    @Override
+    public int getProcessedEventCount(String repository)
+    {
+        RepositoryState state = stateMap.get(repository);
+        return state == null || state.processedEvents == null ? 0 : state.processedEvents.size();
     }
 
     @Override
-    public void addProcessedEventId(String repository, String eventId)
+    public void save()
     {
-        RepositoryState state = stateMap.computeIfAbsent(repository, k -> new RepositoryState());
-        if (state.processedEventId == null)
+        prepareSave().run();
+    }
+
+    /**
+     * Copies the state in snapshot mode. In journal mode, takes the pending entries
+     * and, when the journal is due for compaction, a copy of the state.
+     */
+    @Override
+    public Runnable prepareSave()
+    {
+        if (mode == PersistenceMode.SNAPSHOT)
         {
-            state.processedEventId = new LinkedHashSet<>();
+            Map<String, RepositoryState> snapshot = copyState();
+            return () -> writeSnapshot(snapshot);
         }
-        state.processedEventId.add(eventId);
 
-        // If we exceed the limit, remove the oldest entries
-        if (state.processedEventId.size() > Constants.MAX_EVENT_IDS)
+        List<JournalEntry> entries = List.copyOf(pendingEntries);
+        pendingEntries.clear();
+        journalEntryCount += entries.size();
+
+        Map<String, RepositoryState> snapshot = null;
+        if (journalEntryCount >= Constants.JOURNAL_COMPACTION_THRESHOLD || compactionRequested)
         {
-            Iterator<String> iterator = state.processedEventId.iterator();
-            int toRemove = state.processedEventId.size() - Constants.MAX_EVENT_IDS;
-            for (int i = 0; i < toRemove && iterator.hasNext(); i++)
+            snapshot = copyState();
+            journalEntryCount = 0;
+            compactionRequested = false;
+        }
+
+        Map<String, RepositoryState> compacted = snapshot;
+        return () -> {
+            boolean appended = appendJournal(entries);
+            if (compacted != null ? !compact(compacted) : !appended)
             {
-                iterator.next();
-                iterator.remove();
+                // The journal may be missing entries; rewrite the full state on the next save
+                compactionRequested = true;
             }
+        };
+    }
+
+    /**
+     * Copies the state of every repository, so it can be written while the
+     * original keeps changing.
+     */
+    private Map<String, RepositoryState> copyState()
+    {
+        Map<String, RepositoryState> copy = new HashMap<>();
+        for (Map.Entry<String, RepositoryState> entry : stateMap.entrySet())
+        {
+            RepositoryState state = new RepositoryState();
+            state.lastCheckTime = entry.getValue().lastCheckTime;
+            state.processedEvents = entry.getValue().processedEvents == null
+                    ? null : entry.getValue().processedEvents.copy();
+            copy.put(entry.getKey(), state);
         }
+        return copy;
     }
 
-    @Override
-    public void save()
+    /**
+     * Rewrites the state file with the given state.
+     */
+    private void writeSnapshot(Map<String, RepositoryState> snapshot)
     {
-        try (FileWriter writer = new FileWriter(Constants.STATE_FILE))
+        try
         {
-            gson.toJson(stateMap, writer);
+            writeStateFile(snapshot);
         } catch (IOException e)
         {
             System.err.println("Error saving state: " + e.getMessage());
@@ -100,27 +275,460 @@ public class FileStateManager implements StateManager
     }
 
     /**
-     * Loads state from file if it exists.
+     * Converts a state file to another format. The source's journal, if any, is
+     * first compacted into the source, so the converted file holds the complete
+     * state. The source is otherwise left in place.
+     *
+     * @param source state file to read
+     * @param sourceFormat format of the source
+     * @param target state file to write; replaced if it exists
+     * @param targetFormat format of the target
+     * @throws IOException if the target cannot be written
+     */
+    public static void convert(Path source, StateFormat sourceFormat, Path target, StateFormat targetFormat)
+            throws IOException
+    {
+        FileStateManager from = new FileStateManager(source, PersistenceMode.JOURNAL, FsyncPolicy.NEVER, sourceFormat);
+        FileStateManager to = new FileStateManager(target, PersistenceMode.SNAPSHOT, FsyncPolicy.ALWAYS, targetFormat);
+        to.writeStateFile(from.copyState());
+    }
+
+    // ========== State Updates ==========
+
+    private void applyLastCheckTime(String repository, String timestamp)
+    {
+        RepositoryState state = stateMap.computeIfAbsent(repository, k -> new RepositoryState());
+        state.lastCheckTime = timestamp;
+    }
+
+    /**
+     * Adds an event fingerprint; the bounded set evicts the oldest beyond the limit.
+     *
+     * @return {@code true} if the fingerprint was not present before
+     */
+    private boolean applyProcessedEvent(String repository, long eventFingerprint)
+    {
+        RepositoryState state = stateMap.computeIfAbsent(repository, k -> new RepositoryState());
+        if (state.processedEvents == null)
+        {
+            state.processedEvents = new BoundedLongSet(Constants.MAX_EVENT_IDS);
+        }
+        return state.processedEvents.add(eventFingerprint);
+    }
+
+    // ========== Journal ==========
+
+    /**
+     * Queues a change for the next journal append. No-op in snapshot mode.
+     */
+    private void journal(JournalEntry entry)
+    {
+        if (mode == PersistenceMode.JOURNAL)
+        {
+            pendingEntries.add(entry);
+        }
+    }
+
+    /**
+     * Appends changes to the journal.
+     *
+     * @return {@code false} if the append failed
+     */
+    private boolean appendJournal(List<JournalEntry> entries)
+    {
+        if (entries.isEmpty())
+        {
+            return true;
+        }
+
+        StringBuilder lines = new StringBuilder();
+        for (JournalEntry entry : entries)
+        {
+            lines.append(journalGson.toJson(entry)).append('\n');
+        }
+
+        try (FileChannel channel = FileChannel.open(journalFile,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND))
+        {
+            writeFully(channel, StandardCharsets.UTF_8.encode(lines.toString()));
+            if (fsyncDue())
+            {
+                channel.force(false);
+                lastFsyncNanos = System.nanoTime();
+            }
+            return true;
+        } catch (IOException e)
+        {
+            System.err.println("Error appending to state journal: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Replaces the state file with the given state and truncates the journal.
+     *
+     * @param snapshot state including every change in the journal
+     * @return {@code false} if compaction failed
+     */
+    private boolean compact(Map<String, RepositoryState> snapshot)
+    {
+        try
+        {
+            writeStateFile(snapshot);
+
+            // Every journal entry is now part of the state file
+            truncateJournal();
+            return true;
+        } catch (IOException e)
+        {
+            System.err.println("Error compacting state journal: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Empties the journal. Unless the fsync policy is {@link FsyncPolicy#NEVER}, the
+     * truncation is forced to disk, so entries the state file now holds cannot
+     * reappear after a power failure.
+     */
+    private void truncateJournal() throws IOException
+    {
+        try (FileChannel channel = FileChannel.open(journalFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE))
+        {
+            channel.truncate(0);
+            if (fsyncPolicy != FsyncPolicy.NEVER)
+            {
+                channel.force(true);
+            }
+        }
+    }
+
+    // ========== State File ==========
+
+    /**
+     * Writes the encoded state to a temporary file, forces it to disk if the fsync
+     * policy says so, and atomically renames it over the state file.
+     */
+    private void writeStateFile(Map<String, RepositoryState> snapshot) throws IOException
+    {
+        byte[] content = format == StateFormat.BINARY ? encodeBinary(snapshot) : encodeJson(snapshot);
+
+        boolean fsync = fsyncDue();
+        Path tempFile = stateFile.resolveSibling(stateFile.getFileName() + Constants.TEMP_FILE_SUFFIX);
+        try (FileChannel channel = FileChannel.open(tempFile,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING))
+        {
+            writeFully(channel, ByteBuffer.wrap(content));
+            if (fsync)
+            {
+                channel.force(true);
+            }
+        }
+        Files.move(tempFile, stateFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+        if (fsync)
+        {
+            forceDirectory(stateFile.toAbsolutePath().getParent());
+            lastFsyncNanos = System.nanoTime();
+        }
+    }
+
+    /**
+     * Encodes the state as a header line followed by pretty-printed JSON.
+     */
+    private byte[] encodeJson(Map<String, RepositoryState> snapshot)
+    {
+        byte[] body = gson.toJson(snapshot).getBytes(StandardCharsets.UTF_8);
+        CRC32C crc = new CRC32C();
+        crc.update(body);
+
+        JsonObject header = new JsonObject();
+        header.addProperty(HEADER_FORMAT, Constants.STATE_FILE_FORMAT_VERSION);
+        header.addProperty(HEADER_LENGTH, body.length);
+        header.addProperty(HEADER_CRC32C, Long.toHexString(crc.getValue()));
+        byte[] headerLine = (journalGson.toJson(header) + "\n").getBytes(StandardCharsets.UTF_8);
+
+        byte[] content = Arrays.copyOf(headerLine, headerLine.length + body.length);
+        System.arraycopy(body, 0, content, headerLine.length, body.length);
+        return content;
+    }
+
+    private static byte[] encodeBinary(Map<String, RepositoryState> snapshot)
+    {
+        List<BinaryStateFile.Section> sections = new ArrayList<>(snapshot.size());
+        for (Map.Entry<String, RepositoryState> entry : snapshot.entrySet())
+        {
+            RepositoryState state = entry.getValue();
+            sections.add(new BinaryStateFile.Section(entry.getKey(),
+                    state.lastCheckTime == null ? null : Instant.parse(state.lastCheckTime),
+                    state.processedEvents));
+        }
+        return BinaryStateFile.encode(sections);
+    }
+
+    /**
+     * @return {@code true} if the fsync policy requires forcing the current write
+     */
+    private boolean fsyncDue()
+    {
+        return switch (fsyncPolicy)
+        {
+            case ALWAYS -> true;
+            case NEVER -> false;
+            case INTERVAL -> System.nanoTime() - lastFsyncNanos >= Constants.FSYNC_INTERVAL.toNanos();
+        };
+    }
+
+    /**
+     * Forces a directory to disk so a rename within it survives a power failure.
+     * Some platforms cannot open directories; the rename is then left to the OS.
+     */
+    private static void forceDirectory(Path directory)
+    {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ))
+        {
+            channel.force(true);
+        } catch (IOException | UnsupportedOperationException e)
+        {
+            // Not supported on this platform (e.g. Windows)
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException
+    {
+        while (buffer.hasRemaining())
+        {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * Replays the journal on top of the loaded state file, then compacts it so the
+     * journal does not grow across restarts. A journal ending in a corrupt line is
+     * compacted even without valid entries, so the next append does not land on
+     * the end of the torn line.
+     */
+    private void replayJournal()
+    {
+        if (!Files.exists(journalFile))
+        {
+            return;
+        }
+
+        boolean torn = false;
+        try (BufferedReader reader = Files.newBufferedReader(journalFile, StandardCharsets.UTF_8))
+        {
+            String line;
+            while ((line = reader.readLine()) != null)
+            {
+                if (line.isBlank())
+                {
+                    continue;
+                }
+
+                JournalEntry entry;
+                try
+                {
+                    entry = journalGson.fromJson(line, JournalEntry.class);
+                } catch (JsonParseException e)
+                {
+                    // A torn write from a crash can only affect the last line
+                    System.err.println("Ignoring corrupt state journal entry: " + e.getMessage());
+                    torn = true;
+                    break;
+                }
+
+                if (entry == null || entry.repository == null)
+                {
+                    continue;
+                }
+                if (entry.lastCheckTime != null)
+                {
+                    applyLastCheckTime(entry.repository, entry.lastCheckTime);
+                }
+                if (entry.event != null)
+                {
+                    applyProcessedEvent(entry.repository, entry.event);
+                }
+                journalEntryCount++;
+            }
+        } catch (IOException e)
+        {
+            System.err.println("Error replaying state journal: " + e.getMessage());
+            return;
+        }
+
+        if ((journalEntryCount > 0 || torn) && compact(stateMap))
+        {
+            journalEntryCount = 0;
+        }
+    }
+
+    /**
+     * Loads state from file if it exists, verifying its checksum. A corrupt state
+     * file is moved aside so it is not overwritten by the next save.
      */
     private void loadState()
     {
-        Path path = Path.of(Constants.STATE_FILE);
-        if (!Files.exists(path))
+        if (!Files.exists(stateFile))
+        {
+            return;
+        }
+        if (format == StateFormat.BINARY)
+        {
+            loadBinaryState();
+            return;
+        }
+
+        byte[] content;
+        try
+        {
+            content = Files.readAllBytes(stateFile);
+        } catch (IOException e)
         {
+            System.err.println("Error loading state: " + e.getMessage());
             return;
         }
 
-        try (FileReader reader = new FileReader(path.toFile()))
+        try
         {
+            String body = verifiedBody(content);
             TypeToken<Map<String, RepositoryState>> typeToken = new TypeToken<>() {};
-            Map<String, RepositoryState> loaded = gson.fromJson(reader, typeToken.getType());
+            Map<String, RepositoryState> loaded = gson.fromJson(body, typeToken.getType());
             if (loaded != null)
             {
                 stateMap.putAll(loaded);
             }
+        } catch (JsonParseException | IllegalStateException | NumberFormatException | UnsupportedOperationException e)
+        {
+            stateMap.clear();
+            System.err.println("State file is corrupt, starting without previous state: " + e.getMessage());
+            moveAsideCorruptFile();
+        }
+    }
+
+    /**
+     * Loads a binary state file. The file is decoded from a read-only memory
+     * mapping, which saves reading it into a heap array first; the fingerprint
+     * sets are still rebuilt on the heap.
+     */
+    private void loadBinaryState()
+    {
+        List<BinaryStateFile.Section> sections;
+        try
+        {
+            sections = decodeMapped(stateFile);
         } catch (IOException e)
         {
             System.err.println("Error loading state: " + e.getMessage());
+            return;
+        } catch (IllegalStateException e)
+        {
+            System.err.println("State file is corrupt, starting without previous state: " + e.getMessage());
+            moveAsideCorruptFile();
+            return;
+        }
+
+        for (BinaryStateFile.Section section : sections)
+        {
+            RepositoryState state = new RepositoryState();
+            state.lastCheckTime = section.lastCheckTime() == null ? null : section.lastCheckTime().toString();
+            state.processedEvents = section.processedEvents();
+            stateMap.put(section.repository(), state);
+        }
+    }
+
+    /**
+     * Maps and decodes a binary state file. The mapping is only referenced inside
+     * this method, so nothing holds it once decoding returns and the next save can
+     * replace the file while the mapping waits to be garbage collected.
+     */
+    private static List<BinaryStateFile.Section> decodeMapped(Path file) throws IOException
+    {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ))
+        {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return BinaryStateFile.decode(buffer, Constants.MAX_EVENT_IDS);
+        }
+    }
+
+    /**
+     * Returns the state stored in a state file. Checks the header's length and
+     * checksum; files without a header are returned whole.
+     *
+     * @throws JsonParseException if the header does not match the state
+     */
+    private static String verifiedBody(byte[] content)
+    {
+        int newline = 0;
+        while (newline < content.length && content[newline] != '\n')
+        {
+            newline++;
+        }
+
+        JsonObject header = parseHeader(new String(content, 0, newline, StandardCharsets.UTF_8));
+        if (header == null)
+        {
+            // Written before the header was introduced
+            return new String(content, StandardCharsets.UTF_8);
+        }
+
+        int format = header.get(HEADER_FORMAT).getAsInt();
+        if (format > Constants.STATE_FILE_FORMAT_VERSION)
+        {
+            throw new JsonParseException("Unsupported state file format " + format);
+        }
+
+        int bodyOffset = Math.min(newline + 1, content.length);
+        int length = content.length - bodyOffset;
+        if (!header.has(HEADER_LENGTH) || header.get(HEADER_LENGTH).getAsInt() != length)
+        {
+            throw new JsonParseException("Expected " + header.get(HEADER_LENGTH) + " bytes of state, found " + length);
+        }
+
+        CRC32C crc = new CRC32C();
+        crc.update(content, bodyOffset, length);
+        if (!header.has(HEADER_CRC32C) || !header.get(HEADER_CRC32C).getAsString().equals(Long.toHexString(crc.getValue())))
+        {
+            throw new JsonParseException("Checksum mismatch");
+        }
+        return new String(content, bodyOffset, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Parses the first line of a state file as a header.
+     *
+     * @return the header, or {@code null} if the line is not one (a file without header)
+     */
+    private static JsonObject parseHeader(String firstLine)
+    {
+        try
+        {
+            JsonElement element = JsonParser.parseString(firstLine);
+            if (element.isJsonObject() && element.getAsJsonObject().has(HEADER_FORMAT))
+            {
+                return element.getAsJsonObject();
+            }
+        } catch (JsonParseException e)
+        {
+            // A header-less file: its first line is part of the state object
+        }
+        return null;
+    }
+
+    /**
+     * Renames a state file that failed to load, keeping it for inspection.
+     */
+    private void moveAsideCorruptFile()
+    {
+        Path corruptFile = stateFile.resolveSibling(stateFile.getFileName() + Constants.CORRUPT_FILE_SUFFIX);
+        try
+        {
+            Files.move(stateFile, corruptFile, StandardCopyOption.REPLACE_EXISTING);
+            System.err.println("Moved corrupt state file to " + corruptFile);
+        } catch (IOException e)
+        {
+            System.err.println("Error moving corrupt state file: " + e.getMessage());
         }
     }
 
@@ -131,6 +739,59 @@ public class FileStateManager implements StateManager
     private static class RepositoryState
     {
         String lastCheckTime; // ISO-8601 timestamp
-        Set<String> processedEventId; // Event ID's we've seen
+        BoundedLongSet processedEvents; // Fingerprints of events we've seen, as Base64 packed longs
+    }
+
+    /**
+     * One change in the journal: either a check-time update or a processed event.
+     * Serialized as a single compact JSON line.
+     */
+    private static class JournalEntry
+    {
+        String repository;
+        String lastCheckTime; // ISO-8601 timestamp, or null
+        Long event; // processed event fingerprint, or null
+
+        JournalEntry(String repository, String lastCheckTime, Long event)
+        {
+            this.repository = repository;
+            this.lastCheckTime = lastCheckTime;
+            this.event = event;
+        }
+    }
+
+    /**
+     * Serializes a {@link BoundedLongSet} as a Base64 string of packed longs instead
+     * of a JSON array of numbers.
+     */
+    private static class BoundedLongSetAdapter extends TypeAdapter<BoundedLongSet>
+    {
+        @Override
+        public void write(JsonWriter out, BoundedLongSet value) throws IOException
+        {
+            if (value == null)
+            {
+                out.nullValue();
+                return;
+            }
+            out.value(value.toBase64());
+        }
+
+        @Override
+        public BoundedLongSet read(JsonReader in) throws IOException
+        {
+            if (in.peek() == JsonToken.NULL)
+            {
+                in.nextNull();
+                return null;
+            }
+            try
+            {
+                return BoundedLongSet.fromBase64(in.nextString(), Constants.MAX_EVENT_IDS);
+            } catch (IllegalArgumentException e)
+            {
+                throw new JsonParseException("Invalid processed event fingerprints: " + e.getMessage(), e);
+            }
+        }
     }
 }
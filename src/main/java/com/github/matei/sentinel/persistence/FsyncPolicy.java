@@ -0,0 +1,33 @@
+package com.github.matei.sentinel.persistence;
+
+/**
+ * When {@link FileStateManager} forces written state to the storage device.
+ * <p>
+ * State files are always written to a temporary file and atomically renamed into
+ * place, so a killed process never leaves a half-written state file behind. An
+ * {@code fsync} additionally protects against losing the write in a power failure
+ * or kernel crash, at the cost of waiting for the device.
+ * </p>
+ *
+ * <h2>Policies</h2>
+ * <ul>
+ *   <li><b>ALWAYS</b>: every state file write and journal append is forced to disk
+ *       before it is considered done, including the directory entry of a rename.</li>
+ *   <li><b>INTERVAL</b>: a write is forced only if the previous forced write was at
+ *       least {@link com.github.matei.sentinel.util.Constants#FSYNC_INTERVAL} ago;
+ *       otherwise it stays in the page cache until the operating system writes it
+ *       back.</li>
+ *   <li><b>NEVER</b>: writes are left to the operating system.</li>
+ * </ul>
+ * Whatever the policy, a state file that was not fully written is detected by
+ * its checksum on load.
+ *
+ * @see FileStateManager
+ * @since 1.1
+ */
+public enum FsyncPolicy
+{
+    ALWAYS,
+    INTERVAL,
+    NEVER
+}
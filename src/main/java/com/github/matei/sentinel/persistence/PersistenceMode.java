@@ -0,0 +1,26 @@
+package com.github.matei.sentinel.persistence;
+
+/**
+ * How {@link FileStateManager} writes state to disk.
+ *
+ * <h2>Modes</h2>
+ * <ul>
+ *   <li><b>SNAPSHOT</b>: every {@link StateManager#save()} rewrites the whole state
+ *       file. Simple and human-readable, but each save costs I/O proportional to
+ *       the total state.</li>
+ *   <li><b>JOURNAL</b>: every save appends only the changes since the previous save
+ *       (check-time updates and newly processed event IDs) to a journal file next to
+ *       the state file. The journal is periodically compacted into the state file
+ *       via an atomic rename and replayed on top of it at startup, so per-save I/O
+ *       is proportional to what changed.</li>
+ * </ul>
+ *
+ * @see FileStateManager
+ * @see com.github.matei.sentinel.util.Constants#JOURNAL_COMPACTION_THRESHOLD
+ * @since 1.1
+ */
+public enum PersistenceMode
+{
+    SNAPSHOT,
+    JOURNAL
+}
@@ -0,0 +1,24 @@
+package com.github.matei.sentinel.persistence;
+
+/**
+ * Encoding of the state file written by {@link FileStateManager}.
+ *
+ * <h2>Formats</h2>
+ * <ul>
+ *   <li><b>JSON</b>: pretty-printed JSON below a one-line checksum header. Easy to
+ *       read and edit, but every start parses it through Gson.</li>
+ *   <li><b>BINARY</b>: a versioned header followed by one packed section per
+ *       repository (see {@link BinaryStateFile}). It is decoded from a memory-mapped
+ *       file by reading primitives directly, with no text parsing, and is smaller.</li>
+ * </ul>
+ * Both formats are written atomically and checksummed. {@link FileStateManager#convert}
+ * converts a state file from one format to the other.
+ *
+ * @see com.github.matei.sentinel.util.Constants#ARG_STATE_FORMAT_LONG
+ * @since 1.1
+ */
+public enum StateFormat
+{
+    JSON,
+    BINARY
+}
@@ -2,7 +2,6 @@ package com.github.matei.sentinel.persistence;
 
 import java.time.Instant;
 import java.util.Optional;
-import java.util.Set;
 
 /**
  * Interface for managing persistent state across application runs.
@@ -10,7 +9,7 @@ import java.util.Set;
  * The state manager is responsible for:
  * <ul>
  *   <li>Tracking the last time each repository was checked</li>
- *   <li>Storing processed event IDs to prevent duplicate reporting</li>
+ *   <li>Storing processed event fingerprints to prevent duplicate reporting</li>
  *   <li>Persisting this state to durable storage (e.g., file, database)</li>
  * </ul>
  * </p>
@@ -24,10 +23,11 @@ import java.util.Set;
  * </ul>
  *
  * <h2>Event ID Management</h2>
- * Event IDs are stored to detect duplicate events. To prevent unbounded growth:
+ * Events are identified by a 64-bit fingerprint, stored to detect duplicate events.
+ * To prevent unbounded growth:
  * <ul>
- *   <li>Implementations should limit the number of stored event IDs (e.g., 1000)</li>
- *   <li>When the limit is exceeded, the oldest IDs should be removed (FIFO)</li>
+ *   <li>Implementations should limit the number of stored fingerprints (e.g., 1000)</li>
+ *   <li>When the limit is exceeded, the oldest fingerprints should be removed (FIFO)</li>
  *   <li>This is safe because events older than the polling interval won't be re-fetched</li>
  * </ul>
  *
@@ -49,7 +49,9 @@ import java.util.Set;
  *
  * // After processing events
  * stateManager.updateLastCheckTime("owner/repo", Instant.now());
- * stateManager.addProcessedEventId("owner/repo", "event-123");
+ * if (stateManager.markProcessed("owner/repo", event.fingerprint())) {
+ *     // first time this event is seen - report it
+ * }
  * stateManager.save();
  * }</pre>
  *
@@ -90,53 +92,61 @@ public interface StateManager
     void updateLastCheckTime(String repository, Instant timestamp);
 
     /**
-     * Retrieves the set of event IDs that have already been processed for a repository.
-     * <p>
-     * Event IDs are used to prevent duplicate reporting of the same event. An event
-     * ID is typically generated by combining workflow run ID, job ID, step name, and
-     * event type (e.g., "run-123-job-456-step-Build-completed").
-     * </p>
-     *
-     * <p>The returned set is a defensive copy and can be safely modified by the caller.</p>
+     * Checks whether an event has already been processed for a repository.
      *
      * @param repository the repository in format "owner/repo"
-     * @return an immutable set of processed event IDs, may be empty but never {@code null}
+     * @param eventFingerprint the event's {@link com.github.matei.sentinel.model.MonitoringEvent#fingerprint()}
+     * @return {@code true} if the event was marked as processed and has not been evicted since
      * @throws IllegalArgumentException if repository is null or empty
+     * @since 1.1
      */
-    Set<String> getProcessedEventIds(String repository);
+    boolean isProcessed(String repository, long eventFingerprint);
 
     /**
-     * Adds an event ID to the set of processed events for a repository.
+     * Marks an event as processed, reporting whether it was new.
      * <p>
-     * This method marks an event as "already reported" so it won't be reported again
-     * on subsequent polls or runs.
+     * This combines the duplicate check and the insertion in one call, and is what
+     * the monitor uses for every detected event. Events are identified by their
+     * 64-bit {@link com.github.matei.sentinel.model.MonitoringEvent#fingerprint()},
+     * so implementations can store them as primitive longs.
      * </p>
      *
      * <p><b>Memory Management</b>: Implementations should limit the number of stored
-     * event IDs to prevent unbounded growth. When the limit is exceeded, the oldest
-     * IDs should be removed.</p>
+     * fingerprints to prevent unbounded growth. When the limit is exceeded, the oldest
+     * fingerprints should be removed.</p>
      *
      * <p><b>Note</b>: This method only updates in-memory state. Call {@link #save()}
      * to persist the change to durable storage.</p>
      *
      * @param repository the repository in format "owner/repo"
-     * @param eventId the unique identifier for the event
-     * @throws IllegalArgumentException if repository or eventId is null or empty
-     * @see #getProcessedEventIds(String)
+     * @param eventFingerprint the event's fingerprint
+     * @return {@code true} if the event had not been processed before and is now
+     *         marked; {@code false} if it is a duplicate
+     * @throws IllegalArgumentException if repository is null or empty
+     * @since 1.1
      */
-    void addProcessedEventId(String repository, String eventId);
+    boolean markProcessed(String repository, long eventFingerprint);
+
+    /**
+     * Returns the number of processed event fingerprints stored for a repository.
+     *
+     * @param repository the repository in format "owner/repo"
+     * @return number of stored fingerprints, 0 if none
+     * @since 1.1
+     */
+    int getProcessedEventCount(String repository);
 
     /**
      * Persists the current state to durable storage.
      * <p>
      * This method writes all in-memory state changes (last check times and processed
-     * event IDs) to the underlying storage mechanism (e.g., file, database).
+     * event fingerprints) to the underlying storage mechanism (e.g., file, database).
      * </p>
      *
      * <p><b>When to call</b>: Call this method after:</p>
      * <ul>
      *   <li>Updating the last check time with {@link #updateLastCheckTime}</li>
-     *   <li>Adding processed event IDs with {@link #addProcessedEventId}</li>
+     *   <li>Marking events as processed with {@link #markProcessed}</li>
      *   <li>Before application shutdown to ensure state is not lost</li>
      * </ul>
      *
@@ -145,4 +155,27 @@ public interface StateManager
      * prevents a storage failure from crashing the monitoring process.</p>
      */
     void save();
+
+    /**
+     * Captures the state to be saved and returns the I/O that writes it.
+     * <p>
+     * Splits {@link #save()} in two so the disk write can run on another thread:
+     * this method runs on the thread that owns the state and only copies what must
+     * be written; the returned task touches nothing but that copy and the files.
+     * Tasks must be run in the order they were prepared, one at a time. Running a
+     * task has the same effect, and the same error handling, as the {@link #save()}
+     * that would have been called when it was prepared.
+     * </p>
+     *
+     * <p>The default implementation saves synchronously and returns a no-op task.</p>
+     *
+     * @return task that writes the captured state
+     * @see AsyncCheckpointer
+     * @since 1.1
+     */
+    default Runnable prepareSave()
+    {
+        save();
+        return () -> {};
+    }
 }
@@ -0,0 +1,259 @@
+package com.github.matei.sentinel.util;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * Fixed-capacity set of primitive {@code long} values that evicts the oldest entry when full.
+ * <p>
+ * Stores processed event fingerprints without boxing: an open-addressing hash
+ * table with linear probing answers {@link #contains} and {@link #add} in
+ * constant time, and a ring buffer remembers insertion order so the oldest value
+ * can be evicted in constant time once {@link #capacity()} is reached. Neither
+ * operation allocates.
+ * </p>
+ *
+ * <h2>Serialization</h2>
+ * {@link #toBase64()} packs the values in insertion order as big-endian 8-byte
+ * longs and encodes them as Base64, about 11 characters per value.
+ * {@link #fromBase64} restores them in the same order.
+ *
+ * <h2>Thread Safety</h2>
+ * This class is not thread-safe.
+ *
+ * @since 1.1
+ */
+public class BoundedLongSet
+{
+    private final int capacity;
+
+    // Ring buffer of values in insertion order
+    private final long[] order;
+    private int head;
+    private int size;
+
+    // Open-addressing hash table; occupied[i] marks used slots so 0 is a valid value
+    private final long[] table;
+    private final boolean[] occupied;
+    private final int mask;
+
+    /**
+     * Creates an empty set.
+     *
+     * @param capacity maximum number of values kept
+     * @throws IllegalArgumentException if capacity is less than 1
+     */
+    public BoundedLongSet(int capacity)
+    {
+        if (capacity < 1)
+        {
+            throw new IllegalArgumentException("Capacity must be at least 1, got: " + capacity);
+        }
+        this.capacity = capacity;
+        this.order = new long[capacity];
+
+        // Keep the load factor at or below 0.5 so probe sequences stay short
+        int tableSize = Integer.highestOneBit(capacity * 2 - 1) << 1;
+        this.table = new long[tableSize];
+        this.occupied = new boolean[tableSize];
+        this.mask = tableSize - 1;
+    }
+
+    /**
+     * Checks whether a value is in the set.
+     *
+     * @param value value to look up
+     * @return {@code true} if present
+     */
+    public boolean contains(long value)
+    {
+        return indexOf(value) >= 0;
+    }
+
+    /**
+     * Adds a value, evicting the oldest value if the set is full.
+     *
+     * @param value value to add
+     * @return {@code true} if the value was not present before
+     */
+    public boolean add(long value)
+    {
+        if (contains(value))
+        {
+            return false;
+        }
+
+        if (size == capacity)
+        {
+            removeFromTable(order[head]);
+            order[head] = value;
+            head = (head + 1) % capacity;
+        }
+        else
+        {
+            order[(head + size) % capacity] = value;
+            size++;
+        }
+
+        int slot = slotOf(value);
+        while (occupied[slot])
+        {
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = value;
+        occupied[slot] = true;
+        return true;
+    }
+
+    /**
+     * @return number of values in the set
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * @return maximum number of values kept
+     */
+    public int capacity()
+    {
+        return capacity;
+    }
+
+    /**
+     * Returns the values in insertion order, oldest first.
+     *
+     * @return a new array of the values
+     */
+    public long[] toArray()
+    {
+        long[] values = new long[size];
+        for (int i = 0; i < size; i++)
+        {
+            values[i] = order[(head + i) % capacity];
+        }
+        return values;
+    }
+
+    /**
+     * Returns an independent copy with the same capacity, values and eviction order.
+     * Copies the backing arrays without rehashing.
+     *
+     * @return a new set equal to this one
+     */
+    public BoundedLongSet copy()
+    {
+        BoundedLongSet copy = new BoundedLongSet(capacity);
+        System.arraycopy(order, 0, copy.order, 0, capacity);
+        System.arraycopy(table, 0, copy.table, 0, table.length);
+        System.arraycopy(occupied, 0, copy.occupied, 0, occupied.length);
+        copy.head = head;
+        copy.size = size;
+        return copy;
+    }
+
+    /**
+     * Encodes the values in insertion order as Base64 of packed big-endian longs.
+     *
+     * @return Base64 string, empty if the set is empty
+     */
+    public String toBase64()
+    {
+        ByteBuffer buffer = ByteBuffer.allocate(size * Long.BYTES);
+        for (int i = 0; i < size; i++)
+        {
+            buffer.putLong(order[(head + i) % capacity]);
+        }
+        return Base64.getEncoder().encodeToString(buffer.array());
+    }
+
+    /**
+     * Decodes a set written by {@link #toBase64()}.
+     * If the encoded set holds more values than {@code capacity}, the oldest are dropped.
+     *
+     * @param encoded Base64 string of packed big-endian longs
+     * @param capacity capacity of the returned set
+     * @return the decoded set
+     * @throws IllegalArgumentException if encoded is not valid Base64 or not a whole number of longs
+     */
+    public static BoundedLongSet fromBase64(String encoded, int capacity)
+    {
+        byte[] bytes = Base64.getDecoder().decode(encoded);
+        if (bytes.length % Long.BYTES != 0)
+        {
+            throw new IllegalArgumentException("Encoded length is not a multiple of 8 bytes: " + bytes.length);
+        }
+
+        BoundedLongSet set = new BoundedLongSet(capacity);
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        while (buffer.hasRemaining())
+        {
+            set.add(buffer.getLong());
+        }
+        return set;
+    }
+
+    @Override
+    public String toString()
+    {
+        return Arrays.toString(toArray());
+    }
+
+    // ========== Hash Table ==========
+
+    private int slotOf(long value)
+    {
+        // Fibonacci hashing spreads sequential and clustered values over the table
+        return (int) ((value * 0x9E3779B97F4A7C15L) >>> 33) & mask;
+    }
+
+    private int indexOf(long value)
+    {
+        int slot = slotOf(value);
+        while (occupied[slot])
+        {
+            if (table[slot] == value)
+            {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Removes a value using backward-shift deletion, which keeps probe sequences
+     * intact without tombstones.
+     */
+    private void removeFromTable(long value)
+    {
+        int gap = indexOf(value);
+        if (gap < 0)
+        {
+            return;
+        }
+
+        int slot = gap;
+        while (true)
+        {
+            slot = (slot + 1) & mask;
+            if (!occupied[slot])
+            {
+                break;
+            }
+            int home = slotOf(table[slot]);
+            // Move the entry back if its home slot is not in the cyclic range (gap, slot]
+            boolean movable = gap <= slot
+                    ? home <= gap || home > slot
+                    : home <= gap && home > slot;
+            if (movable)
+            {
+                table[gap] = table[slot];
+                gap = slot;
+            }
+        }
+        occupied[gap] = false;
+    }
+}
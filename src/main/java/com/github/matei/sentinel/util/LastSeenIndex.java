@@ -0,0 +1,153 @@
+package com.github.matei.sentinel.util;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+
+/**
+ * Tracks when each ID was last seen and finds the IDs not seen for longer than a
+ * time-to-live, without scanning every tracked ID.
+ * <p>
+ * Last-seen times are kept in a {@link LongLongMap}. In addition, time is divided
+ * into slots of a fixed granularity, and each slot has a bucket listing the IDs
+ * seen during it. An ID is appended to a bucket only the first time it is seen in
+ * that slot, so an ID seen on every poll costs one append per slot, not per poll.
+ * {@link #expire} then only visits buckets whose slot ended before the cutoff;
+ * for each ID in them it checks the last-seen time, and either expires the ID or
+ * skips it because it was seen again since and is listed in a later bucket.
+ * </p>
+ *
+ * <h2>Cost</h2>
+ * {@link #touch} is constant time. {@link #expire} is proportional to the number
+ * of IDs in the buckets that fell out of the time-to-live, i.e. to what was seen
+ * an hour ago rather than to everything tracked. When nothing is due it only
+ * compares the oldest bucket's slot.
+ *
+ * <h2>Precision</h2>
+ * An ID expires at the first {@link #expire} after its slot ended more than the
+ * time-to-live ago, so up to one granularity later than its exact deadline.
+ *
+ * <h2>Thread Safety</h2>
+ * This class is not thread-safe.
+ *
+ * @since 1.1
+ */
+public class LastSeenIndex
+{
+    private static final long[] NONE = new long[0];
+    private static final long NEVER = Long.MIN_VALUE;
+
+    private final long ttlMillis;
+    private final long slotMillis;
+    private final LongLongMap lastSeen = new LongLongMap();
+    private final ArrayDeque<Bucket> buckets = new ArrayDeque<>();
+
+    /**
+     * Creates an empty index.
+     *
+     * @param ttl time after which an ID not seen again expires
+     * @param granularity length of a time slot
+     * @throws IllegalArgumentException if granularity is less than one millisecond
+     */
+    public LastSeenIndex(Duration ttl, Duration granularity)
+    {
+        if (granularity.toMillis() < 1)
+        {
+            throw new IllegalArgumentException("Granularity must be at least 1 ms, got: " + granularity);
+        }
+        this.ttlMillis = ttl.toMillis();
+        this.slotMillis = granularity.toMillis();
+    }
+
+    /**
+     * Records that an ID was seen.
+     *
+     * @param id ID seen
+     * @param nowMillis current time in epoch milliseconds
+     */
+    public void touch(long id, long nowMillis)
+    {
+        long previous = lastSeen.get(id, NEVER);
+        lastSeen.put(id, nowMillis);
+
+        long slot = Math.floorDiv(nowMillis, slotMillis);
+        Bucket newest = buckets.peekLast();
+        if (newest == null || newest.slot < slot)
+        {
+            newest = new Bucket(slot);
+            buckets.addLast(newest);
+        }
+
+        // Already listed in the newest bucket; if the clock went back, list the ID there anyway
+        if (previous != NEVER && Math.floorDiv(previous, slotMillis) >= newest.slot)
+        {
+            return;
+        }
+        newest.add(id);
+    }
+
+    /**
+     * Removes and returns the IDs not seen for longer than the time-to-live.
+     *
+     * @param nowMillis current time in epoch milliseconds
+     * @return the expired IDs, in no particular order; empty if none
+     */
+    public long[] expire(long nowMillis)
+    {
+        long cutoff = nowMillis - ttlMillis;
+        long[] expired = NONE;
+        int count = 0;
+
+        while (!buckets.isEmpty() && (buckets.peekFirst().slot + 1) * slotMillis <= cutoff)
+        {
+            Bucket bucket = buckets.pollFirst();
+            for (int i = 0; i < bucket.size; i++)
+            {
+                long id = bucket.ids[i];
+                // Absent if expired from an earlier bucket; recent if seen again since
+                if (lastSeen.get(id, Long.MAX_VALUE) < cutoff)
+                {
+                    lastSeen.remove(id);
+                    if (count == expired.length)
+                    {
+                        expired = Arrays.copyOf(expired, Math.max(16, count * 2));
+                    }
+                    expired[count++] = id;
+                }
+            }
+        }
+        return count == expired.length ? expired : Arrays.copyOf(expired, count);
+    }
+
+    /**
+     * @return number of IDs tracked
+     */
+    public int size()
+    {
+        return lastSeen.size();
+    }
+
+    /**
+     * IDs first seen in one time slot, in a growable array.
+     */
+    private static class Bucket
+    {
+        final long slot;
+        long[] ids = new long[16];
+        int size;
+
+        Bucket(long slot)
+        {
+            this.slot = slot;
+        }
+
+        void add(long id)
+        {
+            if (size == ids.length)
+            {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+    }
+}
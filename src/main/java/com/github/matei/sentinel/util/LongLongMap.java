@@ -0,0 +1,190 @@
+package com.github.matei.sentinel.util;
+
+/**
+ * Hash map from primitive {@code long} keys to primitive {@code long} values.
+ * <p>
+ * Replaces {@code HashMap<Long, Instant>} for last-seen times: keys and values,
+ * e.g. epoch milliseconds, are stored unboxed in parallel arrays of an
+ * open-addressing table with linear probing, so lookups and updates of existing
+ * keys allocate nothing.
+ * </p>
+ *
+ * <h2>Capacity</h2>
+ * The table doubles whenever it would become more than half full, keeping probe
+ * sequences short. It does not shrink; removed slots are reused.
+ *
+ * <h2>Thread Safety</h2>
+ * This class is not thread-safe.
+ *
+ * @see LongObjectMap
+ * @since 1.1
+ */
+public class LongLongMap
+{
+    private static final int MIN_TABLE_SIZE = 16;
+
+    private long[] keys;
+    private long[] values;
+    private boolean[] occupied;
+    private int mask;
+    private int size;
+
+    /**
+     * Creates an empty map.
+     */
+    public LongLongMap()
+    {
+        allocate(MIN_TABLE_SIZE);
+    }
+
+    /**
+     * Returns the value for a key.
+     *
+     * @param key key to look up
+     * @param missing value returned if the key is absent
+     * @return the value, or {@code missing} if absent
+     */
+    public long get(long key, long missing)
+    {
+        int slot = indexOf(key);
+        return slot < 0 ? missing : values[slot];
+    }
+
+    /**
+     * Checks whether a key is present.
+     *
+     * @param key key to look up
+     * @return {@code true} if present
+     */
+    public boolean containsKey(long key)
+    {
+        return indexOf(key) >= 0;
+    }
+
+    /**
+     * Associates a value with a key, replacing any previous value.
+     *
+     * @param key key
+     * @param value value
+     */
+    public void put(long key, long value)
+    {
+        int slot = slotOf(key);
+        while (occupied[slot])
+        {
+            if (keys[slot] == key)
+            {
+                values[slot] = value;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        keys[slot] = key;
+        values[slot] = value;
+        occupied[slot] = true;
+        if (++size > occupied.length / 2)
+        {
+            resize(occupied.length * 2);
+        }
+    }
+
+    /**
+     * Removes a key.
+     *
+     * @param key key to remove
+     * @return {@code true} if the key was present
+     */
+    public boolean remove(long key)
+    {
+        int gap = indexOf(key);
+        if (gap < 0)
+        {
+            return false;
+        }
+
+        // Backward-shift deletion keeps probe sequences intact without tombstones
+        int slot = gap;
+        while (true)
+        {
+            slot = (slot + 1) & mask;
+            if (!occupied[slot])
+            {
+                break;
+            }
+            int home = slotOf(keys[slot]);
+            boolean movable = gap <= slot
+                    ? home <= gap || home > slot
+                    : home <= gap && home > slot;
+            if (movable)
+            {
+                keys[gap] = keys[slot];
+                values[gap] = values[slot];
+                gap = slot;
+            }
+        }
+        occupied[gap] = false;
+        size--;
+        return true;
+    }
+
+    /**
+     * @return number of entries
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    // ========== Hash Table ==========
+
+    private int slotOf(long key)
+    {
+        // Fibonacci hashing spreads sequential IDs over the table
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> 33) & mask;
+    }
+
+    private int indexOf(long key)
+    {
+        int slot = slotOf(key);
+        while (occupied[slot])
+        {
+            if (keys[slot] == key)
+            {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void allocate(int tableSize)
+    {
+        keys = new long[tableSize];
+        values = new long[tableSize];
+        occupied = new boolean[tableSize];
+        mask = tableSize - 1;
+    }
+
+    private void resize(int tableSize)
+    {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        boolean[] oldOccupied = occupied;
+        allocate(tableSize);
+        for (int i = 0; i < oldOccupied.length; i++)
+        {
+            if (oldOccupied[i])
+            {
+                int slot = slotOf(oldKeys[i]);
+                while (occupied[slot])
+                {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+                occupied[slot] = true;
+            }
+        }
+    }
+}
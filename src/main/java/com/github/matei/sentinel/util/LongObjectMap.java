@@ -0,0 +1,200 @@
+package com.github.matei.sentinel.util;
+
+/**
+ * Hash map from primitive {@code long} keys to non-null object values.
+ * <p>
+ * Replaces {@code HashMap<Long, V>} where entities are tracked by numeric ID:
+ * keys are stored unboxed in an open-addressing table with linear probing, so
+ * {@link #get} allocates nothing and {@link #put} allocates only when the table
+ * grows. Each entry costs one slot in a {@code long[]} and one in an
+ * {@code Object[]}, instead of a {@code Long} and a map entry object.
+ * </p>
+ *
+ * <h2>Capacity</h2>
+ * The table doubles whenever it would become more than half full, keeping probe
+ * sequences short. It does not shrink; removed slots are reused.
+ *
+ * <h2>Thread Safety</h2>
+ * This class is not thread-safe.
+ *
+ * @param <V> type of the values
+ * @see LongLongMap
+ * @since 1.1
+ */
+public class LongObjectMap<V>
+{
+    private static final int MIN_TABLE_SIZE = 16;
+
+    private long[] keys;
+    // A slot is occupied if its value is non-null
+    private Object[] values;
+    private int mask;
+    private int size;
+
+    /**
+     * Creates an empty map.
+     */
+    public LongObjectMap()
+    {
+        allocate(MIN_TABLE_SIZE);
+    }
+
+    /**
+     * Returns the value for a key.
+     *
+     * @param key key to look up
+     * @return the value, or {@code null} if absent
+     */
+    @SuppressWarnings("unchecked")
+    public V get(long key)
+    {
+        int slot = indexOf(key);
+        return slot < 0 ? null : (V) values[slot];
+    }
+
+    /**
+     * Checks whether a key is present.
+     *
+     * @param key key to look up
+     * @return {@code true} if present
+     */
+    public boolean containsKey(long key)
+    {
+        return indexOf(key) >= 0;
+    }
+
+    /**
+     * Associates a value with a key, replacing any previous value.
+     *
+     * @param key key
+     * @param value value, not {@code null}
+     * @return the previous value, or {@code null} if absent
+     * @throws IllegalArgumentException if value is null
+     */
+    @SuppressWarnings("unchecked")
+    public V put(long key, V value)
+    {
+        if (value == null)
+        {
+            throw new IllegalArgumentException("Value must not be null");
+        }
+
+        int slot = slotOf(key);
+        while (values[slot] != null)
+        {
+            if (keys[slot] == key)
+            {
+                V previous = (V) values[slot];
+                values[slot] = value;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size > values.length / 2)
+        {
+            resize(values.length * 2);
+        }
+        return null;
+    }
+
+    /**
+     * Removes a key.
+     *
+     * @param key key to remove
+     * @return the removed value, or {@code null} if absent
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(long key)
+    {
+        int gap = indexOf(key);
+        if (gap < 0)
+        {
+            return null;
+        }
+        V removed = (V) values[gap];
+
+        // Backward-shift deletion keeps probe sequences intact without tombstones
+        int slot = gap;
+        while (true)
+        {
+            slot = (slot + 1) & mask;
+            if (values[slot] == null)
+            {
+                break;
+            }
+            int home = slotOf(keys[slot]);
+            boolean movable = gap <= slot
+                    ? home <= gap || home > slot
+                    : home <= gap && home > slot;
+            if (movable)
+            {
+                keys[gap] = keys[slot];
+                values[gap] = values[slot];
+                gap = slot;
+            }
+        }
+        values[gap] = null;
+        size--;
+        return removed;
+    }
+
+    /**
+     * @return number of entries
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    // ========== Hash Table ==========
+
+    private int slotOf(long key)
+    {
+        // Fibonacci hashing spreads sequential IDs over the table
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> 33) & mask;
+    }
+
+    private int indexOf(long key)
+    {
+        int slot = slotOf(key);
+        while (values[slot] != null)
+        {
+            if (keys[slot] == key)
+            {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void allocate(int tableSize)
+    {
+        keys = new long[tableSize];
+        values = new Object[tableSize];
+        mask = tableSize - 1;
+    }
+
+    private void resize(int tableSize)
+    {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(tableSize);
+        for (int i = 0; i < oldValues.length; i++)
+        {
+            if (oldValues[i] != null)
+            {
+                int slot = slotOf(oldKeys[i]);
+                while (values[slot] != null)
+                {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+}
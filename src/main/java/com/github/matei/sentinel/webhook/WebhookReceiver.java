@@ -0,0 +1,210 @@
+package com.github.matei.sentinel.webhook;
+
+import com.github.matei.sentinel.client.GitHubResponseParser;
+import com.github.matei.sentinel.client.WebhookPayload;
+import com.github.matei.sentinel.util.Constants;
+import com.github.matei.sentinel.util.Logger;
+import com.google.gson.JsonParseException;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * Embedded HTTP endpoint that receives GitHub webhook deliveries.
+ * <p>
+ * Polling notices a change only at the next poll and spends API requests on
+ * repositories where nothing happened. With a webhook configured on the
+ * repository (or organization) for the <i>Workflow runs</i> and <i>Workflow
+ * jobs</i> events, GitHub pushes every change within about a second instead,
+ * and the payloads carry the run or the job with its steps, so no API request
+ * is needed to report it.
+ * </p>
+ *
+ * <h2>Request Handling</h2>
+ * Deliveries are accepted as {@code POST} to {@link Constants#WEBHOOK_PATH}:
+ * <ol>
+ *   <li>The body is read, up to {@link Constants#MAX_WEBHOOK_PAYLOAD_BYTES}
+ *       (413 if larger).</li>
+ *   <li>The {@code X-Hub-Signature-256} header is verified against the body with
+ *       the webhook secret (401 if missing or wrong).</li>
+ *   <li>{@code ping} deliveries are answered with 200; event types other than
+ *       {@code workflow_run} and {@code workflow_job} with 202 and ignored.</li>
+ *   <li>The payload is parsed into a {@link WebhookPayload} (400 if malformed) and
+ *       offered to the sink: 202 if it was accepted, 503 if not.</li>
+ * </ol>
+ * The sink must only queue the payload; GitHub expects an answer within ten
+ * seconds, and event detection runs on the monitoring thread.
+ *
+ * <h2>Thread Safety</h2>
+ * Requests are handled concurrently on virtual threads, so the sink must be
+ * thread-safe. Counters are atomic.
+ *
+ * <h2>Usage Example</h2>
+ * <pre>{@code
+ * MultiRepositoryMonitor monitor = new MultiRepositoryMonitor(monitors);
+ * WebhookReceiver receiver = new WebhookReceiver(new InetSocketAddress(8080), "s3cr3t", monitor::submit);
+ * receiver.start();
+ * monitor.start(); // blocks until stopped
+ * receiver.stop();
+ * }</pre>
+ *
+ * @see WebhookSignature
+ * @see com.github.matei.sentinel.monitor.MultiRepositoryMonitor#submit
+ * @since 1.1
+ */
+public class WebhookReceiver
+{
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final WebhookSignature signature;
+    private final Predicate<WebhookPayload> sink;
+
+    private final AtomicLong acceptedCount = new AtomicLong();
+    private final AtomicLong rejectedCount = new AtomicLong();
+
+    /**
+     * Creates a receiver bound to a local address. Call {@link #start()} to accept deliveries.
+     *
+     * @param address address to listen on; port 0 picks a free port
+     * @param secret secret configured on the GitHub webhook
+     * @param sink receives each verified payload and returns {@code false} if it cannot take it
+     * @throws IOException if the address cannot be bound
+     * @throws IllegalArgumentException if the secret is null or empty
+     */
+    public WebhookReceiver(InetSocketAddress address, String secret, Predicate<WebhookPayload> sink)
+            throws IOException
+    {
+        this.signature = new WebhookSignature(secret);
+        this.sink = sink;
+        this.server = HttpServer.create(address, 0);
+        this.server.createContext(Constants.WEBHOOK_PATH, this::handle);
+        this.server.setExecutor(executor);
+    }
+
+    /**
+     * Starts accepting deliveries.
+     */
+    public void start()
+    {
+        server.start();
+        Logger.info("Receiving webhooks on port " + getPort() + " at " + Constants.WEBHOOK_PATH);
+    }
+
+    /**
+     * Stops accepting deliveries and closes the listening socket.
+     */
+    public void stop()
+    {
+        server.stop(0);
+        executor.shutdown();
+    }
+
+    /**
+     * @return port the receiver is bound to
+     */
+    public int getPort()
+    {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * @return number of workflow run and job deliveries accepted by the sink
+     */
+    public long getAcceptedCount()
+    {
+        return acceptedCount.get();
+    }
+
+    /**
+     * @return number of deliveries rejected because their signature was missing or invalid
+     */
+    public long getRejectedCount()
+    {
+        return rejectedCount.get();
+    }
+
+    /**
+     * Handles one delivery; see the class documentation for the response codes.
+     */
+    private void handle(HttpExchange exchange) throws IOException
+    {
+        try (exchange)
+        {
+            if (!"POST".equals(exchange.getRequestMethod()))
+            {
+                exchange.sendResponseHeaders(Constants.HTTP_METHOD_NOT_ALLOWED, -1);
+                return;
+            }
+
+            byte[] body = readBody(exchange.getRequestBody());
+            if (body == null)
+            {
+                exchange.sendResponseHeaders(Constants.HTTP_PAYLOAD_TOO_LARGE, -1);
+                return;
+            }
+
+            if (!signature.verify(body, exchange.getRequestHeaders().getFirst(Constants.HEADER_HUB_SIGNATURE_256)))
+            {
+                rejectedCount.incrementAndGet();
+                Logger.warn("Rejected webhook delivery with invalid signature: "
+                        + exchange.getRequestHeaders().getFirst(Constants.HEADER_GITHUB_DELIVERY));
+                exchange.sendResponseHeaders(Constants.HTTP_UNAUTHORIZED, -1);
+                return;
+            }
+
+            String event = exchange.getRequestHeaders().getFirst(Constants.HEADER_GITHUB_EVENT);
+            if (Constants.EVENT_PING.equals(event))
+            {
+                exchange.sendResponseHeaders(Constants.HTTP_OK, -1);
+                return;
+            }
+            if (!Constants.EVENT_WORKFLOW_RUN.equals(event) && !Constants.EVENT_WORKFLOW_JOB.equals(event))
+            {
+                exchange.sendResponseHeaders(Constants.HTTP_ACCEPTED, -1);
+                return;
+            }
+
+            WebhookPayload payload;
+            try
+            {
+                payload = GitHubResponseParser.parseWebhookPayload(
+                        new InputStreamReader(new ByteArrayInputStream(body), StandardCharsets.UTF_8));
+            } catch (IOException | JsonParseException | IllegalStateException | DateTimeParseException e)
+            {
+                Logger.warn("Ignoring malformed " + event + " webhook delivery: " + e.getMessage());
+                exchange.sendResponseHeaders(Constants.HTTP_BAD_REQUEST, -1);
+                return;
+            }
+
+            if (!sink.test(payload))
+            {
+                exchange.sendResponseHeaders(Constants.HTTP_SERVICE_UNAVAILABLE, -1);
+                return;
+            }
+            acceptedCount.incrementAndGet();
+            exchange.sendResponseHeaders(Constants.HTTP_ACCEPTED, -1);
+        }
+    }
+
+    /**
+     * Reads a request body up to the maximum payload size.
+     *
+     * @return the body, or {@code null} if it exceeds {@link Constants#MAX_WEBHOOK_PAYLOAD_BYTES}
+     */
+    private static byte[] readBody(InputStream in) throws IOException
+    {
+        byte[] body = in.readNBytes(Constants.MAX_WEBHOOK_PAYLOAD_BYTES + 1);
+        return body.length > Constants.MAX_WEBHOOK_PAYLOAD_BYTES ? null : body;
+    }
+}
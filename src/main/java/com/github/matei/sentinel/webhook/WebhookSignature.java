@@ -0,0 +1,100 @@
+package com.github.matei.sentinel.webhook;
+
+import com.github.matei.sentinel.util.Constants;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+
+/**
+ * Computes and verifies the {@code X-Hub-Signature-256} header of webhook deliveries.
+ * <p>
+ * GitHub signs every delivery with HMAC-SHA256 over the raw request body, keyed
+ * with the secret configured on the webhook, and sends the digest as
+ * {@code sha256=<hex>}. A delivery is only trusted if the digest recomputed
+ * from the received body matches.
+ * </p>
+ *
+ * <h2>Timing</h2>
+ * Digests are compared with {@link MessageDigest#isEqual}, which takes the same
+ * time wherever the first difference is, so the comparison does not reveal how
+ * much of a forged signature was correct.
+ *
+ * <h2>Thread Safety</h2>
+ * This class is immutable and thread-safe. A new {@link Mac} is created per call.
+ *
+ * @see <a href="https://docs.github.com/en/webhooks/using-webhooks/validating-webhook-deliveries">Validating webhook deliveries</a>
+ * @since 1.1
+ */
+public class WebhookSignature
+{
+    private final SecretKeySpec key;
+
+    /**
+     * Creates a verifier for a webhook secret.
+     *
+     * @param secret secret configured on the GitHub webhook
+     * @throws IllegalArgumentException if the secret is null or empty
+     */
+    public WebhookSignature(String secret)
+    {
+        if (secret == null || secret.isEmpty())
+        {
+            throw new IllegalArgumentException("Webhook secret cannot be empty");
+        }
+        this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), Constants.WEBHOOK_HMAC_ALGORITHM);
+    }
+
+    /**
+     * Computes the signature header value for a body.
+     *
+     * @param body raw request body
+     * @return {@code sha256=} followed by the lowercase hex digest
+     */
+    public String sign(byte[] body)
+    {
+        return Constants.WEBHOOK_SIGNATURE_PREFIX + HexFormat.of().formatHex(digest(body));
+    }
+
+    /**
+     * Checks a received signature header against the body it was sent with.
+     *
+     * @param body raw request body
+     * @param header value of the {@code X-Hub-Signature-256} header, may be null
+     * @return {@code true} if the header is a valid signature of the body
+     */
+    public boolean verify(byte[] body, String header)
+    {
+        if (header == null || !header.startsWith(Constants.WEBHOOK_SIGNATURE_PREFIX))
+        {
+            return false;
+        }
+
+        byte[] received;
+        try
+        {
+            received = HexFormat.of().parseHex(header.substring(Constants.WEBHOOK_SIGNATURE_PREFIX.length()));
+        } catch (IllegalArgumentException e)
+        {
+            return false;
+        }
+        return MessageDigest.isEqual(digest(body), received);
+    }
+
+    private byte[] digest(byte[] body)
+    {
+        try
+        {
+            Mac mac = Mac.getInstance(Constants.WEBHOOK_HMAC_ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(body);
+        } catch (GeneralSecurityException e)
+        {
+            // HmacSHA256 is required of every Java platform
+            throw new IllegalStateException("HMAC-SHA256 is not available", e);
+        }
+    }
+}
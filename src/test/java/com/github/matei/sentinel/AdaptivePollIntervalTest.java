@@ -0,0 +1,53 @@
+package com.github.matei.sentinel;
+
+import com.github.matei.sentinel.monitor.AdaptivePollInterval;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptivePollIntervalTest {
+
+    private final AdaptivePollInterval interval = new AdaptivePollInterval(
+            Duration.ofSeconds(5), Duration.ofSeconds(30), Duration.ofSeconds(300));
+
+    @Test
+    void testStartsAtDefaultInterval() {
+        assertEquals(Duration.ofSeconds(30), interval.current());
+    }
+
+    @Test
+    void testActivitySnapsToActiveInterval() {
+        interval.recordPoll(false);
+
+        assertEquals(Duration.ofSeconds(5), interval.recordPoll(true));
+    }
+
+    @Test
+    void testIdleDecaysExponentiallyUpToMaximum() {
+        interval.recordPoll(true);
+
+        assertEquals(Duration.ofSeconds(10), interval.recordPoll(false));
+        assertEquals(Duration.ofSeconds(20), interval.recordPoll(false));
+        assertEquals(Duration.ofSeconds(40), interval.recordPoll(false));
+        assertEquals(Duration.ofSeconds(80), interval.recordPoll(false));
+        assertEquals(Duration.ofSeconds(160), interval.recordPoll(false));
+        assertEquals(Duration.ofSeconds(300), interval.recordPoll(false));
+        assertEquals(Duration.ofSeconds(300), interval.recordPoll(false));
+    }
+
+    @Test
+    void testErrorReturnsToDefaultInterval() {
+        interval.recordPoll(true);
+
+        assertEquals(Duration.ofSeconds(30), interval.recordError());
+    }
+
+    @Test
+    void testInvalidBounds() {
+        assertThrows(IllegalArgumentException.class, () -> {
+            new AdaptivePollInterval(Duration.ofSeconds(60), Duration.ofSeconds(30), Duration.ofSeconds(300));
+        });
+    }
+}
@@ -0,0 +1,245 @@
+package com.github.matei.sentinel;
+
+import com.github.matei.sentinel.persistence.AsyncCheckpointer;
+import com.github.matei.sentinel.persistence.FileStateManager;
+import com.github.matei.sentinel.persistence.PersistenceMode;
+import com.github.matei.sentinel.persistence.StateManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncCheckpointerTest {
+
+    private static final Duration NEVER = Duration.ofHours(1);
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testSavesAreCoalescedIntoOneCheckpoint() {
+        CountingStateManager delegate = new CountingStateManager();
+        AsyncCheckpointer checkpointer = new AsyncCheckpointer(delegate, NEVER, 1000);
+
+        for (int i = 0; i < 50; i++) {
+            checkpointer.save();
+        }
+        assertEquals(0, delegate.writes.get(), "Saves below the threshold should wait for the interval");
+
+        assertTrue(checkpointer.close());
+        assertEquals(1, delegate.writes.get());
+        assertEquals(50, checkpointer.getSaveRequestCount());
+        assertEquals(1, checkpointer.getCheckpointCount());
+    }
+
+    @Test
+    void testDirtyThresholdTriggersCheckpoint() throws InterruptedException {
+        CountingStateManager delegate = new CountingStateManager();
+        AsyncCheckpointer checkpointer = new AsyncCheckpointer(delegate, NEVER, 10);
+
+        for (int i = 0; i < 10; i++) {
+            checkpointer.save();
+        }
+
+        assertTrue(awaitCondition(() -> delegate.writes.get() == 1), "Threshold should trigger a checkpoint");
+        checkpointer.close();
+    }
+
+    @Test
+    void testIntervalTriggersCheckpoint() throws InterruptedException {
+        CountingStateManager delegate = new CountingStateManager();
+        AsyncCheckpointer checkpointer = new AsyncCheckpointer(delegate, Duration.ofMillis(20), 1000);
+
+        checkpointer.save();
+
+        assertTrue(awaitCondition(() -> delegate.writes.get() == 1), "Interval should trigger a checkpoint");
+        Thread.sleep(100);
+        assertEquals(1, delegate.writes.get(), "No checkpoint without a requested save");
+        checkpointer.close();
+    }
+
+    @Test
+    void testSaveDoesNotWaitForSlowWrite() throws InterruptedException {
+        CountDownLatch diskReleased = new CountDownLatch(1);
+        CountingStateManager delegate = new CountingStateManager() {
+            @Override
+            public Runnable prepareSave() {
+                prepares.incrementAndGet();
+                return () -> {
+                    try {
+                        diskReleased.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    writes.incrementAndGet();
+                };
+            }
+        };
+        AsyncCheckpointer checkpointer = new AsyncCheckpointer(delegate, NEVER, 1);
+
+        // The first checkpoint blocks on the disk; later saves must still return at once
+        long start = System.nanoTime();
+        for (int i = 0; i < 100; i++) {
+            checkpointer.save();
+            checkpointer.markProcessed("owner/repo", i);
+        }
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1), "Saves should not block on I/O");
+        assertEquals(0, delegate.writes.get());
+
+        diskReleased.countDown();
+        assertTrue(checkpointer.close());
+        assertTrue(delegate.prepares.get() <= 3,
+                "Saves queued behind a slow write should be coalesced, got " + delegate.prepares.get());
+    }
+
+    @Test
+    void testCloseWritesFinalState() {
+        Path stateFile = tempDir.resolve("state.json");
+        for (PersistenceMode mode : PersistenceMode.values()) {
+            AsyncCheckpointer checkpointer = new AsyncCheckpointer(new FileStateManager(stateFile, mode), NEVER, 1000);
+            Instant checkTime = Instant.parse("2025-01-15T10:30:00Z");
+            checkpointer.updateLastCheckTime("owner/repo", checkTime);
+            checkpointer.markProcessed("owner/repo", 42L + mode.ordinal());
+            checkpointer.save();
+            checkpointer.close();
+
+            FileStateManager reloaded = new FileStateManager(stateFile, mode);
+            assertEquals(Optional.of(checkTime), reloaded.getLastCheckTime("owner/repo"), mode.name());
+            assertTrue(reloaded.isProcessed("owner/repo", 42L + mode.ordinal()), mode.name());
+        }
+    }
+
+    @Test
+    void testCloseFromInterruptedThreadStillWritesFinalState() {
+        Path stateFile = tempDir.resolve("state.json");
+        AsyncCheckpointer checkpointer = new AsyncCheckpointer(new FileStateManager(stateFile, PersistenceMode.SNAPSHOT), NEVER, 1000);
+        checkpointer.markProcessed("owner/repo", 42L);
+        checkpointer.save();
+
+        // As after the shutdown hook interrupted the polling thread
+        Thread.currentThread().interrupt();
+        try {
+            assertTrue(checkpointer.close(), "Close should wait despite the interrupt");
+            assertTrue(Thread.currentThread().isInterrupted(), "The interrupt should be restored");
+        } finally {
+            Thread.interrupted();
+        }
+        assertTrue(checkpointer.close(), "A repeated close should report the same outcome");
+
+        assertTrue(new FileStateManager(stateFile, PersistenceMode.SNAPSHOT).isProcessed("owner/repo", 42L));
+    }
+
+    @Test
+    void testSaveAfterCloseWaitsForFinalCheckpoint() throws InterruptedException {
+        CountDownLatch finalWriteStarted = new CountDownLatch(1);
+        CountDownLatch diskReleased = new CountDownLatch(1);
+        AtomicInteger concurrentWrites = new AtomicInteger();
+        AtomicInteger maxConcurrentWrites = new AtomicInteger();
+        CountingStateManager delegate = new CountingStateManager() {
+            @Override
+            public Runnable prepareSave() {
+                int prepare = prepares.incrementAndGet();
+                return () -> {
+                    maxConcurrentWrites.accumulateAndGet(concurrentWrites.incrementAndGet(), Math::max);
+                    if (prepare == 1) {
+                        finalWriteStarted.countDown();
+                        try {
+                            diskReleased.await();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }
+                    writes.incrementAndGet();
+                    concurrentWrites.decrementAndGet();
+                };
+            }
+        };
+        AsyncCheckpointer checkpointer = new AsyncCheckpointer(delegate, NEVER, 1000);
+
+        Thread closer = new Thread(checkpointer::close);
+        closer.start();
+        assertTrue(finalWriteStarted.await(5, TimeUnit.SECONDS));
+
+        // Written inline, but only after the final checkpoint still on the disk
+        Thread saver = new Thread(checkpointer::save);
+        saver.start();
+        Thread.sleep(200);
+        assertEquals(1, delegate.prepares.get(), "Inline save should wait for the final write");
+
+        diskReleased.countDown();
+        closer.join();
+        saver.join();
+        assertEquals(2, delegate.writes.get());
+        assertEquals(1, maxConcurrentWrites.get(), "Checkpoint writes should never overlap");
+    }
+
+    @Test
+    void testInvalidArguments() {
+        CountingStateManager delegate = new CountingStateManager();
+        assertThrows(IllegalArgumentException.class, () -> new AsyncCheckpointer(delegate, Duration.ZERO, 1));
+        assertThrows(IllegalArgumentException.class, () -> new AsyncCheckpointer(delegate, NEVER, 0));
+    }
+
+    private static boolean awaitCondition(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            if (condition.getAsBoolean()) {
+                return true;
+            }
+            Thread.sleep(5);
+        }
+        return condition.getAsBoolean();
+    }
+
+    /**
+     * In-memory state manager that counts how often its state is captured and written.
+     */
+    private static class CountingStateManager implements StateManager {
+        final AtomicInteger prepares = new AtomicInteger();
+        final AtomicInteger writes = new AtomicInteger();
+
+        @Override
+        public Optional<Instant> getLastCheckTime(String repository) {
+            return Optional.empty();
+        }
+
+        @Override
+        public void updateLastCheckTime(String repository, Instant timestamp) {
+        }
+
+        @Override
+        public boolean isProcessed(String repository, long eventFingerprint) {
+            return false;
+        }
+
+        @Override
+        public boolean markProcessed(String repository, long eventFingerprint) {
+            return true;
+        }
+
+        @Override
+        public int getProcessedEventCount(String repository) {
+            return 0;
+        }
+
+        @Override
+        public void save() {
+            prepareSave().run();
+        }
+
+        @Override
+        public Runnable prepareSave() {
+            prepares.incrementAndGet();
+            return writes::incrementAndGet;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.github.matei.sentinel;
+
+import com.github.matei.sentinel.client.BoundedCache;
+import com.github.matei.sentinel.client.CacheStats;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedCacheTest {
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2025-11-15T10:00:00Z"));
+
+    @Test
+    void testEvictsLeastRecentlyUsedBeyondMaxWeight() {
+        BoundedCache<String, String> cache = new BoundedCache<>(100, Duration.ofSeconds(10), clock);
+        cache.put("a", "A", 40);
+        cache.put("b", "B", 40);
+        cache.get("a"); // "b" is now least recently used
+
+        cache.put("c", "C", 40);
+
+        assertEquals("A", cache.get("a"));
+        assertNull(cache.get("b"));
+        assertEquals("C", cache.get("c"));
+        CacheStats stats = cache.stats();
+        assertEquals(1, stats.evictionCount());
+        assertEquals(2, stats.size());
+        assertEquals(80, stats.weight());
+    }
+
+    @Test
+    void testEntryHeavierThanMaxWeightIsNotStored() {
+        BoundedCache<String, String> cache = new BoundedCache<>(100, Duration.ofSeconds(10), clock);
+        cache.put("a", "A", 10);
+        cache.put("a", "huge", 101);
+
+        assertNull(cache.get("a"));
+        assertEquals(0, cache.stats().weight());
+    }
+
+    @Test
+    void testExpiredEntriesAreSweptWithoutBeingRequested() {
+        BoundedCache<String, String> cache = new BoundedCache<>(1000, Duration.ofSeconds(10), clock);
+        for (int i = 0; i < 5; i++) {
+            cache.put("run-" + i, "jobs", 10);
+        }
+
+        clock.advance(Duration.ofSeconds(11));
+        cache.put("fresh", "jobs", 10);
+
+        CacheStats stats = cache.stats();
+        assertEquals(1, stats.size());
+        assertEquals(10, stats.weight());
+        assertEquals(5, stats.expirationCount());
+    }
+
+    @Test
+    void testHitRatio() {
+        BoundedCache<String, String> cache = new BoundedCache<>(100, Duration.ofSeconds(10), clock);
+        cache.put("a", "A", 1);
+        cache.get("a");
+        cache.get("a");
+        cache.get("a");
+        cache.get("missing");
+
+        CacheStats stats = cache.stats();
+        assertEquals(3, stats.hitCount());
+        assertEquals(1, stats.missCount());
+        assertEquals(0.75, stats.hitRatio(), 1e-9);
+    }
+
+    @Test
+    void testConcurrentAccessKeepsWeightConsistent() throws Exception {
+        BoundedCache<Integer, Integer> cache = new BoundedCache<>(500, Duration.ofMinutes(1));
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                int offset = t * 10_000;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        cache.put(offset + i % 200, i, 7);
+                        cache.get(offset + (i * 31) % 200);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        CacheStats stats = cache.stats();
+        assertTrue(stats.weight() <= 500);
+        assertEquals(stats.size() * 7L, stats.weight());
+    }
+
+    @Test
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new BoundedCache<>(0, Duration.ofSeconds(1)));
+        assertThrows(IllegalArgumentException.class, () -> new BoundedCache<>(1, Duration.ofSeconds(-1)));
+        BoundedCache<String, String> cache = new BoundedCache<>(10, Duration.ofSeconds(1));
+        assertThrows(IllegalArgumentException.class, () -> cache.put("a", "A", -1));
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.github.matei.sentinel;
+
+import com.github.matei.sentinel.util.BoundedLongSet;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedLongSetTest {
+
+    @Test
+    void testAddAndContains() {
+        BoundedLongSet set = new BoundedLongSet(10);
+
+        assertTrue(set.add(0L));
+        assertTrue(set.add(-1L));
+        assertFalse(set.add(0L));
+
+        assertTrue(set.contains(0L));
+        assertTrue(set.contains(-1L));
+        assertFalse(set.contains(1L));
+        assertEquals(2, set.size());
+    }
+
+    @Test
+    void testEvictsOldestWhenFull() {
+        BoundedLongSet set = new BoundedLongSet(3);
+        set.add(1L);
+        set.add(2L);
+        set.add(3L);
+        set.add(4L);
+
+        assertFalse(set.contains(1L));
+        assertArrayEquals(new long[] {2L, 3L, 4L}, set.toArray());
+    }
+
+    @Test
+    void testBase64RoundTrip() {
+        BoundedLongSet set = new BoundedLongSet(3);
+        set.add(Long.MIN_VALUE);
+        set.add(42L);
+        set.add(Long.MAX_VALUE);
+        set.add(7L);
+
+        BoundedLongSet decoded = BoundedLongSet.fromBase64(set.toBase64(), 3);
+
+        assertArrayEquals(set.toArray(), decoded.toArray());
+        assertTrue(decoded.contains(Long.MAX_VALUE));
+    }
+
+    @Test
+    void testMatchesReferenceSetUnderChurn() {
+        // Random values exercise probing and backward-shift deletion on eviction
+        BoundedLongSet set = new BoundedLongSet(100);
+        Random random = new Random(1);
+        long[] inserted = new long[5000];
+
+        for (int i = 0; i < inserted.length; i++) {
+            inserted[i] = random.nextInt(400);
+            set.add(inserted[i]);
+        }
+
+        Set<Long> expected = new HashSet<>();
+        for (long value : set.toArray()) {
+            expected.add(value);
+        }
+        assertEquals(set.size(), expected.size(), "Values in insertion order should be unique");
+        for (long value = 0; value < 400; value++) {
+            assertEquals(expected.contains(value), set.contains(value), "Mismatch for " + value);
+        }
+    }
+
+    @Test
+    void testCopyIsIndependent() {
+        BoundedLongSet set = new BoundedLongSet(3);
+        set.add(1);
+        set.add(2);
+        set.add(3);
+        set.add(4); // evicts 1
+
+        BoundedLongSet copy = set.copy();
+        assertArrayEquals(set.toArray(), copy.toArray());
+
+        copy.add(5); // evicts 2 from the copy only
+        assertTrue(set.contains(2));
+        assertFalse(copy.contains(2));
+        assertFalse(set.contains(5));
+        assertArrayEquals(new long[] {3, 4, 5}, copy.toArray());
+    }
+
+    @Test
+    void testInvalidCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new BoundedLongSet(0));
+    }
+}
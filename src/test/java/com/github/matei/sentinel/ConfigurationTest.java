@@ -1,7 +1,11 @@
 package com.github.matei.sentinel;
 
 import com.github.matei.sentinel.config.Configuration;
+import com.github.matei.sentinel.util.Constants;
 import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class ConfigurationTest {
@@ -44,4 +48,63 @@ class ConfigurationTest {
         assertEquals("my-org", config.getOwner());
         assertEquals("my-repo-name", config.getRepo());
     }
+
+    @Test
+    void testDefaultJobFetchConcurrency() {
+        Configuration config = new Configuration("owner/repo", "token");
+
+        assertEquals(Constants.DEFAULT_JOB_FETCH_CONCURRENCY, config.getJobFetchConcurrency());
+    }
+
+    @Test
+    void testInvalidJobFetchConcurrency() {
+        assertThrows(IllegalArgumentException.class, () -> {
+            new Configuration("owner/repo", "token", 0);
+        });
+    }
+
+    @Test
+    void testMultipleRepositories() {
+        Configuration config = new Configuration(List.of("owner/a", "owner/b", "owner/a"), "token", 4);
+
+        assertEquals(List.of("owner/a", "owner/b"), config.getRepositories());
+        assertEquals("owner/a", config.getRepository());
+    }
+
+    @Test
+    void testForRepositoryKeepsSettings() {
+        Configuration config = new Configuration(List.of("owner/a", "other/b"), "token", 4);
+
+        Configuration single = config.forRepository("other/b");
+
+        assertEquals("other", single.getOwner());
+        assertEquals("b", single.getRepo());
+        assertEquals("token", single.getToken());
+        assertEquals(4, single.getJobFetchConcurrency());
+    }
+
+    @Test
+    void testEmptyRepositoryList() {
+        assertThrows(IllegalArgumentException.class, () -> {
+            new Configuration(List.of(), "token", 1);
+        });
+    }
+
+    @Test
+    void testRunFiltersArePassedToEachRepository() {
+        Configuration config = new Configuration(List.of("owner/a", "other/b"), "token", 4, "main", " ");
+
+        Configuration single = config.forRepository("other/b");
+
+        assertEquals("main", single.getBranch());
+        assertNull(single.getEvent(), "Blank filters should be treated as unset");
+    }
+
+    @Test
+    void testWebhookModeIsPassedToEachRepository() {
+        Configuration config = new Configuration(List.of("owner/a", "other/b"), "token", 4, null, null, true);
+
+        assertTrue(config.forRepository("owner/a").isWebhookMode());
+        assertFalse(new Configuration("owner/a", "token").isWebhookMode());
+    }
 }
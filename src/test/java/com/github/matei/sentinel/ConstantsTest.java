@@ -31,6 +31,8 @@ class ConstantsTest {
     void testMonitoringConstants() {
         assertEquals(30, Constants.POLL_INTERVAL_SECONDS);
         assertEquals(".sentinel-state.json", Constants.STATE_FILE);
+        assertTrue(Constants.CACHE_TTL.toSeconds() < Constants.ACTIVE_POLL_INTERVAL_SECONDS,
+                "Every active poll should revalidate instead of reading the cache");
     }
 
     @Test
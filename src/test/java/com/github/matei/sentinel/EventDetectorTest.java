@@ -0,0 +1,179 @@
+package com.github.matei.sentinel;
+
+import com.github.matei.sentinel.model.EventType;
+import com.github.matei.sentinel.model.Job;
+import com.github.matei.sentinel.model.MonitoringEvent;
+import com.github.matei.sentinel.model.Step;
+import com.github.matei.sentinel.model.WorkflowRun;
+import com.github.matei.sentinel.monitor.EventDetector;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventDetectorTest {
+
+    private static final Instant T0 = Instant.parse("2025-01-15T10:00:00Z");
+
+    private static WorkflowRun run(String status) {
+        return new WorkflowRun(1L, "CI", status, "completed".equals(status) ? "success" : null,
+                "main", "abc123", T0, "completed".equals(status) ? T0.plusSeconds(60) : null);
+    }
+
+    private static Job job(String status, List<Step> steps) {
+        return new Job(10L, 1L, "build", status, "completed".equals(status) ? "success" : null,
+                T0, "completed".equals(status) ? T0.plusSeconds(50) : null, steps);
+    }
+
+    private static Step step(int number, String name, String status) {
+        return new Step(number, name, status, "completed".equals(status) ? "success" : null,
+                T0.plusSeconds(number), "completed".equals(status) ? T0.plusSeconds(number + 5) : null);
+    }
+
+    private static List<EventType> types(List<MonitoringEvent> events) {
+        return events.stream().map(MonitoringEvent::getType).toList();
+    }
+
+    @Test
+    void testWorkflowJobAndStepLifecycle() {
+        EventDetector detector = new EventDetector("owner/repo");
+
+        List<MonitoringEvent> started = detector.detectEvents(List.of(run("in_progress")), Map.of(1L,
+                List.of(job("in_progress", List.of(step(1, "Checkout", "in_progress"), step(2, "Build", "queued"))))));
+        assertEquals(List.of(EventType.WORKFLOW_STARTED, EventType.JOB_STARTED, EventType.STEP_STARTED),
+                types(started));
+
+        List<MonitoringEvent> unchanged = detector.detectEvents(List.of(run("in_progress")), Map.of(1L,
+                List.of(job("in_progress", List.of(step(1, "Checkout", "in_progress"), step(2, "Build", "queued"))))));
+        assertTrue(unchanged.isEmpty(), "Unchanged state should report nothing");
+
+        List<MonitoringEvent> completed = detector.detectEvents(List.of(run("completed")), Map.of(1L,
+                List.of(job("completed", List.of(step(1, "Checkout", "completed"), step(2, "Build", "completed"))))));
+        assertEquals(List.of(EventType.WORKFLOW_COMPLETED, EventType.JOB_COMPLETED,
+                EventType.STEP_COMPLETED, EventType.STEP_COMPLETED), types(completed));
+        assertEquals(2, completed.get(3).getStepNumber());
+    }
+
+    @Test
+    void testStepsAreTrackedByNumberWithinTheirJob() {
+        EventDetector detector = new EventDetector("owner/repo");
+        // Two steps with the same name are distinct steps
+        detector.detectEvents(List.of(run("in_progress")), Map.of(1L, List.of(job("in_progress",
+                List.of(step(1, "Run script", "in_progress"), step(2, "Run script", "queued"))))));
+
+        List<MonitoringEvent> events = detector.detectEvents(List.of(run("in_progress")), Map.of(1L,
+                List.of(job("in_progress", List.of(step(1, "Run script", "in_progress"),
+                        step(2, "Run script", "completed"), step(3, "Post", "in_progress"))))));
+
+        assertEquals(List.of(EventType.STEP_COMPLETED, EventType.STEP_STARTED), types(events));
+        assertEquals(2, events.get(0).getStepNumber());
+        assertEquals(3, events.get(1).getStepNumber());
+    }
+
+    @Test
+    void testStepsWithoutNumberAreTrackedByName() {
+        EventDetector detector = new EventDetector("owner/repo");
+        detector.detectEvents(List.of(run("in_progress")), Map.of(1L, List.of(job("in_progress",
+                List.of(step(0, "Checkout", "in_progress"), step(0, "Build", "queued"))))));
+
+        List<MonitoringEvent> events = detector.detectEvents(List.of(run("in_progress")), Map.of(1L,
+                List.of(job("in_progress", List.of(step(0, "Checkout", "completed"), step(0, "Build", "in_progress"))))));
+
+        assertEquals(List.of(EventType.STEP_COMPLETED), types(events));
+        assertEquals("Checkout", events.get(0).getStepName());
+        assertEquals(5, events.get(0).getDuration().getSeconds());
+    }
+
+    @Test
+    void testJobEventsOfUnknownRunAreIgnored() {
+        EventDetector detector = new EventDetector("owner/repo");
+
+        assertTrue(detector.detectJobEvents(1L, List.of(job("in_progress", List.of()))).isEmpty());
+
+        detector.detectEvents(List.of(run("in_progress")), Map.of());
+        assertEquals(List.of(EventType.JOB_STARTED),
+                types(detector.detectJobEvents(1L, List.of(job("in_progress", List.of())))));
+    }
+
+    @Test
+    void testWaitingRunIsReportedLikeQueued() {
+        EventDetector detector = new EventDetector("owner/repo");
+
+        assertEquals(List.of(EventType.WORKFLOW_QUEUED, EventType.JOB_QUEUED),
+                types(detector.detectEvents(List.of(run("waiting")), Map.of(1L, List.of(job("waiting", List.of()))))));
+        assertEquals(List.of(EventType.WORKFLOW_STARTED, EventType.JOB_STARTED),
+                types(detector.detectEvents(List.of(run("in_progress")), Map.of(1L, List.of(job("in_progress", List.of()))))));
+    }
+
+    @Test
+    void testQueuedStraightToCompletedReportsOnlyCompletion() {
+        EventDetector detector = new EventDetector("owner/repo");
+        detector.detectEvents(List.of(run("queued")), Map.of(1L, List.of(job("queued", List.of()))));
+
+        List<MonitoringEvent> events = detector.detectEvents(List.of(run("completed")),
+                Map.of(1L, List.of(job("completed", List.of()))));
+
+        assertEquals(List.of(EventType.WORKFLOW_COMPLETED, EventType.JOB_COMPLETED), types(events));
+        assertEquals(T0.plusSeconds(60), events.get(0).getTimestamp());
+        assertEquals("success", events.get(1).getConclusion());
+        assertEquals(50, events.get(1).getDuration().getSeconds());
+    }
+
+    @Test
+    void testFirstSeenEntitiesWithoutTimestampsAreNotReported() {
+        EventDetector detector = new EventDetector("owner/repo");
+        WorkflowRun completedRun = new WorkflowRun(1L, "CI", "completed", "success", "main", "abc123", T0, null);
+        Job startedJob = new Job(10L, 1L, "build", "in_progress", null, null, null,
+                List.of(new Step(1, "Checkout", "in_progress", null, null, null)));
+
+        assertTrue(detector.detectEvents(List.of(completedRun), Map.of(1L, List.of(startedJob))).isEmpty());
+    }
+
+    @Test
+    void testParallelDetectionMatchesSequentialInMergeOrder() {
+        EventDetector sequential = new EventDetector("owner/repo");
+        EventDetector parallel = new EventDetector("owner/repo", 4);
+        Comparator<MonitoringEvent> mergeOrder = Comparator.comparing(MonitoringEvent::getTimestamp)
+                .thenComparingLong(MonitoringEvent::getRunId)
+                .thenComparingLong(MonitoringEvent::getJobId)
+                .thenComparingInt(MonitoringEvent::getStepNumber);
+
+        for (String status : List.of("in_progress", "completed")) {
+            List<WorkflowRun> runs = new ArrayList<>();
+            Map<Long, List<Job>> jobs = new HashMap<>();
+            for (long runId = 1; runId <= 100; runId++) {
+                runs.add(new WorkflowRun(runId, "CI", status, null, "main", "abc123",
+                        T0.plusSeconds(runId % 7), T0.plusSeconds(100 + runId % 5)));
+                List<Job> runJobs = new ArrayList<>();
+                for (long j = 0; j < 3; j++) {
+                    runJobs.add(new Job(runId * 10 + j, runId, "job" + j, status, null, T0.plusSeconds(j),
+                            T0.plusSeconds(50 + j), List.of(new Step(1, "Checkout", status, null, T0, T0.plusSeconds(5)))));
+                }
+                jobs.put(runId, runJobs);
+            }
+
+            List<MonitoringEvent> expected = new ArrayList<>(sequential.detectEvents(runs, jobs));
+            expected.sort(mergeOrder);
+            List<MonitoringEvent> actual = parallel.detectEvents(runs, jobs);
+
+            assertEquals(100 * 7, actual.size());
+            assertEquals(expected.stream().map(MonitoringEvent::fingerprint).toList(),
+                    actual.stream().map(MonitoringEvent::fingerprint).toList());
+        }
+
+        // Webhook deliveries reach the shard that saw the run
+        Job rerun = new Job(999L, 42L, "rerun", "in_progress", null, T0, null, List.of());
+        assertEquals(List.of(EventType.JOB_STARTED), types(parallel.detectJobEvents(42L, List.of(rerun))));
+    }
+
+    @Test
+    void testInvalidParallelism() {
+        assertThrows(IllegalArgumentException.class, () -> new EventDetector("owner/repo", 0));
+    }
+}
@@ -0,0 +1,93 @@
+package com.github.matei.sentinel;
+
+import com.github.matei.sentinel.model.EventType;
+import com.github.matei.sentinel.model.MonitoringEvent;
+import com.github.matei.sentinel.monitor.EventPipeline;
+import com.github.matei.sentinel.monitor.StageMetrics;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventPipelineTest {
+
+    @Test
+    void testEventsAreWrittenInOrder() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        EventPipeline pipeline = new EventPipeline(MonitoringEvent::getWorkflowName,
+                new PrintStream(bytes, true, StandardCharsets.UTF_8), 10);
+
+        for (int i = 0; i < 100; i++) {
+            pipeline.publish(event("run-" + i));
+        }
+
+        assertTrue(pipeline.close());
+        String[] lines = bytes.toString(StandardCharsets.UTF_8).split(System.lineSeparator());
+        assertEquals(100, lines.length);
+        assertEquals("run-0", lines[0]);
+        assertEquals("run-99", lines[99]);
+    }
+
+    @Test
+    void testSlowOutputDoesNotBlockPublisher() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        OutputStream blocked = new OutputStream() {
+            @Override
+            public void write(int b) {
+                write(new byte[]{(byte) b}, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                bytes.write(b, off, len);
+            }
+        };
+        EventPipeline pipeline = new EventPipeline(MonitoringEvent::getWorkflowName,
+                new PrintStream(blocked, true, StandardCharsets.UTF_8), 10);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 5; i++) {
+            pipeline.publish(event("run-" + i));
+        }
+        long publishMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertTrue(publishMillis < 1000, "Publishing should not wait for the output");
+        release.countDown();
+        assertTrue(pipeline.close());
+        assertTrue(bytes.toString(StandardCharsets.UTF_8).contains("run-4"));
+    }
+
+    @Test
+    void testMetricsCoverEveryStage() {
+        EventPipeline pipeline = new EventPipeline(MonitoringEvent::getWorkflowName,
+                new PrintStream(OutputStream.nullOutputStream()), 10);
+
+        pipeline.publish(event("a"));
+        pipeline.publish(event("b"));
+        pipeline.close();
+
+        List<StageMetrics> metrics = pipeline.metrics();
+        assertEquals(List.of("format", "output"), metrics.stream().map(StageMetrics::stage).toList());
+        assertTrue(metrics.stream().allMatch(m -> m.processedCount() == 2 && m.queueDepth() == 0));
+        assertTrue(pipeline.close(), "Closing again should be a no-op");
+    }
+
+    private static MonitoringEvent event(String workflowName) {
+        return new MonitoringEvent(EventType.WORKFLOW_STARTED, Instant.now(), "owner/repo", "main", "abc123",
+                workflowName, null, null, null, null);
+    }
+}
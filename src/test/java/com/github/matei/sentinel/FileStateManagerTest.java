@@ -1,17 +1,21 @@
 package com.github.matei.sentinel;
 
 import com.github.matei.sentinel.persistence.FileStateManager;
+import com.github.matei.sentinel.persistence.FsyncPolicy;
+import com.github.matei.sentinel.persistence.PersistenceMode;
+import com.github.matei.sentinel.persistence.StateFormat;
 import com.github.matei.sentinel.util.Constants;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.time.Instant;
 import java.util.Optional;
-import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -67,19 +71,18 @@ class FileStateManagerTest {
     }
 
     @Test
-    void testAddAndGetProcessedEventIds() {
+    void testMarkAndCheckProcessedEvents() {
         String testRepo = "owner/repo";
 
-        stateManager.addProcessedEventId(testRepo, "event1");
-        stateManager.addProcessedEventId(testRepo, "event2");
-        stateManager.addProcessedEventId(testRepo, "event3");
+        stateManager.markProcessed(testRepo, 1L);
+        stateManager.markProcessed(testRepo, 2L);
+        stateManager.markProcessed(testRepo, 3L);
 
-        Set<String> eventIds = stateManager.getProcessedEventIds(testRepo);
-
-        assertEquals(3, eventIds.size());
-        assertTrue(eventIds.contains("event1"));
-        assertTrue(eventIds.contains("event2"));
-        assertTrue(eventIds.contains("event3"));
+        assertEquals(3, stateManager.getProcessedEventCount(testRepo));
+        assertTrue(stateManager.isProcessed(testRepo, 1L));
+        assertTrue(stateManager.isProcessed(testRepo, 2L));
+        assertTrue(stateManager.isProcessed(testRepo, 3L));
+        assertFalse(stateManager.isProcessed(testRepo, 4L));
     }
 
     @Test
@@ -87,18 +90,38 @@ class FileStateManagerTest {
         String testRepo = "owner/repo";
 
         // Add more than MAX_EVENT_IDS (1000)
-        for (int i = 0; i < 1100; i++) {
-            stateManager.addProcessedEventId(testRepo, "event" + i);
+        for (long i = 0; i < 1100; i++) {
+            stateManager.markProcessed(testRepo, i);
         }
 
-        Set<String> eventIds = stateManager.getProcessedEventIds(testRepo);
-
         // Should be limited to 1000
-        assertEquals(1000, eventIds.size(), "Event IDs should be limited to 1000");
+        assertEquals(1000, stateManager.getProcessedEventCount(testRepo), "Event IDs should be limited to 1000");
 
         // Should keep the most recent ones (last 1000)
-        assertTrue(eventIds.contains("event1099"), "Should contain most recent event");
-        assertFalse(eventIds.contains("event0"), "Oldest event should be removed");
+        assertTrue(stateManager.isProcessed(testRepo, 1099L), "Should contain most recent event");
+        assertFalse(stateManager.isProcessed(testRepo, 0L), "Oldest event should be removed");
+    }
+
+    @Test
+    void testMarkProcessedReportsDuplicates() {
+        String testRepo = "owner/repo";
+
+        assertTrue(stateManager.markProcessed(testRepo, 1L));
+        assertFalse(stateManager.markProcessed(testRepo, 1L));
+        assertTrue(stateManager.markProcessed("other/repo", 1L));
+        assertEquals(1, stateManager.getProcessedEventCount(testRepo));
+    }
+
+    @Test
+    void testMarkProcessedEvictsOldestBeyondLimit() {
+        String testRepo = "owner/repo";
+
+        for (long i = 0; i <= Constants.MAX_EVENT_IDS; i++) {
+            stateManager.markProcessed(testRepo, i);
+        }
+
+        assertTrue(stateManager.markProcessed(testRepo, 0L), "Evicted event should be new again");
+        assertFalse(stateManager.markProcessed(testRepo, Constants.MAX_EVENT_IDS));
     }
 
     @Test
@@ -107,7 +130,7 @@ class FileStateManagerTest {
         String testRepo = "owner/repo";
 
         stateManager.updateLastCheckTime(testRepo, now);
-        stateManager.addProcessedEventId(testRepo, "event1");
+        stateManager.markProcessed(testRepo, -42L);
         stateManager.save();
 
         // Verify file was created
@@ -120,8 +143,7 @@ class FileStateManagerTest {
         assertTrue(lastCheck.isPresent(), "Should load saved state");
         assertEquals(now, lastCheck.get(), "Should load correct timestamp");
 
-        Set<String> eventIds = newStateManager.getProcessedEventIds(testRepo);
-        assertTrue(eventIds.contains("event1"), "Should load saved event IDs");
+        assertTrue(newStateManager.isProcessed(testRepo, -42L), "Should load saved event fingerprints");
     }
 
     @Test
@@ -131,17 +153,17 @@ class FileStateManagerTest {
 
         stateManager.updateLastCheckTime("owner1/repo1", now1);
         stateManager.updateLastCheckTime("owner2/repo2", now2);
-        stateManager.addProcessedEventId("owner1/repo1", "event1");
-        stateManager.addProcessedEventId("owner2/repo2", "event2");
+        stateManager.markProcessed("owner1/repo1", 1L);
+        stateManager.markProcessed("owner2/repo2", 2L);
 
         assertEquals(now1, stateManager.getLastCheckTime("owner1/repo1").get());
         assertEquals(now2, stateManager.getLastCheckTime("owner2/repo2").get());
 
-        assertTrue(stateManager.getProcessedEventIds("owner1/repo1").contains("event1"));
-        assertTrue(stateManager.getProcessedEventIds("owner2/repo2").contains("event2"));
+        assertTrue(stateManager.isProcessed("owner1/repo1", 1L));
+        assertTrue(stateManager.isProcessed("owner2/repo2", 2L));
 
-        assertFalse(stateManager.getProcessedEventIds("owner1/repo1").contains("event2"));
-        assertFalse(stateManager.getProcessedEventIds("owner2/repo2").contains("event1"));
+        assertFalse(stateManager.isProcessed("owner1/repo1", 2L));
+        assertFalse(stateManager.isProcessed("owner2/repo2", 1L));
     }
 
     @Test
@@ -150,7 +172,204 @@ class FileStateManagerTest {
         Optional<Instant> lastCheck = stateManager.getLastCheckTime("nonexistent/repo");
         assertTrue(lastCheck.isEmpty(), "Non-existent repository should return empty");
 
-        Set<String> eventIds = stateManager.getProcessedEventIds("nonexistent/repo");
-        assertTrue(eventIds.isEmpty(), "Non-existent repository should return empty set");
+        assertEquals(0, stateManager.getProcessedEventCount("nonexistent/repo"),
+                "Non-existent repository should have no processed events");
+    }
+
+    @Test
+    void testJournalReplaysChangesOnStartup(@TempDir Path dir) {
+        Path stateFile = dir.resolve("state.json");
+        Instant now = Instant.parse("2025-11-15T10:00:00Z");
+
+        FileStateManager journaled = new FileStateManager(stateFile, PersistenceMode.JOURNAL);
+        journaled.updateLastCheckTime("owner/repo", now);
+        journaled.markProcessed("owner/repo", 1L);
+        journaled.save();
+
+        assertFalse(Files.exists(stateFile), "Journal mode should not rewrite the state file on save");
+        assertTrue(Files.exists(dir.resolve("state.json.log")));
+
+        FileStateManager reloaded = new FileStateManager(stateFile, PersistenceMode.JOURNAL);
+
+        assertEquals(Optional.of(now), reloaded.getLastCheckTime("owner/repo"));
+        assertFalse(reloaded.markProcessed("owner/repo", 1L));
+    }
+
+    @Test
+    void testJournalIsCompactedIntoStateFile(@TempDir Path dir) throws IOException {
+        Path stateFile = dir.resolve("state.json");
+        FileStateManager journaled = new FileStateManager(stateFile, PersistenceMode.JOURNAL);
+
+        for (long i = 0; i < Constants.JOURNAL_COMPACTION_THRESHOLD; i++) {
+            journaled.markProcessed("owner/repo", i);
+        }
+        journaled.save();
+
+        assertTrue(Files.exists(stateFile));
+        assertEquals(0, Files.size(dir.resolve("state.json.log")));
+
+        // The compacted snapshot is readable in snapshot mode too
+        FileStateManager snapshot = new FileStateManager(stateFile, PersistenceMode.SNAPSHOT);
+        assertEquals(Constants.JOURNAL_COMPACTION_THRESHOLD, snapshot.getProcessedEventCount("owner/repo"));
+    }
+
+    @Test
+    void testJournalIgnoresTornLastLine(@TempDir Path dir) throws IOException {
+        Path stateFile = dir.resolve("state.json");
+        FileStateManager journaled = new FileStateManager(stateFile, PersistenceMode.JOURNAL);
+        journaled.markProcessed("owner/repo", 1L);
+        journaled.save();
+
+        Files.writeString(dir.resolve("state.json.log"), "{\"repository\":\"owner/re",
+                StandardOpenOption.APPEND);
+
+        FileStateManager reloaded = new FileStateManager(stateFile, PersistenceMode.JOURNAL);
+
+        assertTrue(reloaded.isProcessed("owner/repo", 1L));
+        assertEquals(1, reloaded.getProcessedEventCount("owner/repo"));
+    }
+
+    @Test
+    void testTornLineWithoutValidEntriesIsCleanedUp(@TempDir Path dir) throws IOException {
+        Path stateFile = dir.resolve("state.json");
+        Path journalFile = dir.resolve("state.json.log");
+        Files.writeString(journalFile, "{\"repository\":\"owner/re");
+
+        FileStateManager restarted = new FileStateManager(stateFile, PersistenceMode.JOURNAL);
+        assertEquals(0, Files.size(journalFile), "Torn line should be removed on replay");
+
+        restarted.markProcessed("owner/repo", 1L);
+        restarted.markProcessed("owner/repo", 2L);
+        restarted.save();
+
+        FileStateManager reloaded = new FileStateManager(stateFile, PersistenceMode.JOURNAL);
+        assertTrue(reloaded.isProcessed("owner/repo", 1L));
+        assertTrue(reloaded.isProcessed("owner/repo", 2L));
+    }
+
+    @Test
+    void testStateFileIsReplacedAtomically(@TempDir Path dir) throws IOException {
+        Path stateFile = dir.resolve("state.json");
+        for (FsyncPolicy policy : FsyncPolicy.values()) {
+            FileStateManager manager = new FileStateManager(stateFile, PersistenceMode.SNAPSHOT, policy);
+            manager.markProcessed("owner/repo", policy.ordinal());
+            manager.save();
+
+            assertFalse(Files.exists(dir.resolve("state.json.tmp")), "Temporary file should be renamed");
+            assertTrue(Files.readString(stateFile).startsWith("{\"format\":2,"), "State file should start with a header");
+            FileStateManager reloaded = new FileStateManager(stateFile, PersistenceMode.SNAPSHOT, policy);
+            assertTrue(reloaded.isProcessed("owner/repo", policy.ordinal()), policy.name());
+        }
+    }
+
+    @Test
+    void testCorruptStateFileIsDetected(@TempDir Path dir) throws IOException {
+        Path stateFile = dir.resolve("state.json");
+        FileStateManager manager = new FileStateManager(stateFile, PersistenceMode.SNAPSHOT);
+        manager.updateLastCheckTime("owner/repo", Instant.parse("2025-01-15T10:30:00Z"));
+        manager.save();
+
+        // Flip the check time's year without touching the length
+        Files.writeString(stateFile, Files.readString(stateFile).replace("2025", "2024"));
+
+        FileStateManager reloaded = new FileStateManager(stateFile, PersistenceMode.SNAPSHOT);
+
+        assertTrue(reloaded.getLastCheckTime("owner/repo").isEmpty(), "Corrupt state should not be trusted");
+        assertTrue(Files.exists(dir.resolve("state.json.corrupt")), "Corrupt file should be kept for inspection");
+        assertFalse(Files.exists(stateFile));
+    }
+
+    @Test
+    void testTruncatedStateFileIsDetected(@TempDir Path dir) throws IOException {
+        Path stateFile = dir.resolve("state.json");
+        FileStateManager manager = new FileStateManager(stateFile, PersistenceMode.SNAPSHOT);
+        manager.markProcessed("owner/repo", 1L);
+        manager.save();
+
+        String content = Files.readString(stateFile);
+        Files.writeString(stateFile, content.substring(0, content.length() / 2));
+
+        FileStateManager reloaded = new FileStateManager(stateFile, PersistenceMode.SNAPSHOT);
+
+        assertEquals(0, reloaded.getProcessedEventCount("owner/repo"));
+        assertTrue(Files.exists(dir.resolve("state.json.corrupt")));
+    }
+
+    @Test
+    void testLoadsStateFileWithoutHeader(@TempDir Path dir) throws IOException {
+        Path stateFile = dir.resolve("state.json");
+        Files.writeString(stateFile, """
+                {
+                  "owner/repo": {
+                    "lastCheckTime": "2025-01-15T10:30:00Z",
+                    "processedEvents": "AAAAAAAAAAEAAAAAAAAAAg=="
+                  }
+                }""");
+
+        FileStateManager manager = new FileStateManager(stateFile, PersistenceMode.SNAPSHOT);
+
+        assertEquals(Optional.of(Instant.parse("2025-01-15T10:30:00Z")), manager.getLastCheckTime("owner/repo"));
+        assertTrue(manager.isProcessed("owner/repo", 1L));
+        assertTrue(manager.isProcessed("owner/repo", 2L));
+    }
+
+    @Test
+    void testBinaryStateRoundTrip(@TempDir Path dir) {
+        Path stateFile = dir.resolve("state.bin");
+        Instant checkTime = Instant.parse("2025-01-15T10:30:00.123456789Z");
+        for (PersistenceMode mode : PersistenceMode.values()) {
+            FileStateManager manager = new FileStateManager(stateFile, mode, FsyncPolicy.NEVER, StateFormat.BINARY);
+            manager.updateLastCheckTime("owner/repo", checkTime);
+            manager.markProcessed("owner/repo", -1L);
+            manager.markProcessed("owner/other", Long.MAX_VALUE);
+            manager.save();
+
+            FileStateManager reloaded = new FileStateManager(stateFile, mode, FsyncPolicy.NEVER, StateFormat.BINARY);
+            assertEquals(Optional.of(checkTime), reloaded.getLastCheckTime("owner/repo"), mode.name());
+            assertTrue(reloaded.isProcessed("owner/repo", -1L), mode.name());
+            assertTrue(reloaded.getLastCheckTime("owner/other").isEmpty(), mode.name());
+            assertTrue(reloaded.isProcessed("owner/other", Long.MAX_VALUE), mode.name());
+        }
+    }
+
+    @Test
+    void testCorruptBinaryStateFileIsDetected(@TempDir Path dir) throws IOException {
+        Path stateFile = dir.resolve("state.bin");
+        FileStateManager manager = new FileStateManager(stateFile, PersistenceMode.SNAPSHOT, FsyncPolicy.NEVER,
+                StateFormat.BINARY);
+        manager.markProcessed("owner/repo", 1L);
+        manager.save();
+
+        byte[] content = Files.readAllBytes(stateFile);
+        content[content.length - 1] ^= 1;
+        Files.write(stateFile, content);
+
+        FileStateManager reloaded = new FileStateManager(stateFile, PersistenceMode.SNAPSHOT, FsyncPolicy.NEVER,
+                StateFormat.BINARY);
+
+        assertEquals(0, reloaded.getProcessedEventCount("owner/repo"));
+        assertTrue(Files.exists(dir.resolve("state.bin.corrupt")));
+    }
+
+    @Test
+    void testConvertJsonToBinary(@TempDir Path dir) throws IOException {
+        Path jsonFile = dir.resolve("state.json");
+        Path binaryFile = dir.resolve("state.bin");
+        Instant checkTime = Instant.parse("2025-01-15T10:30:00Z");
+        FileStateManager json = new FileStateManager(jsonFile, PersistenceMode.SNAPSHOT);
+        json.updateLastCheckTime("owner/repo", checkTime);
+        for (long i = 0; i < Constants.MAX_EVENT_IDS; i++) {
+            json.markProcessed("owner/repo", i * 0x9E3779B97F4A7C15L);
+        }
+        json.save();
+
+        FileStateManager.convert(jsonFile, StateFormat.JSON, binaryFile, StateFormat.BINARY);
+
+        FileStateManager binary = new FileStateManager(binaryFile, PersistenceMode.SNAPSHOT, FsyncPolicy.NEVER,
+                StateFormat.BINARY);
+        assertEquals(Optional.of(checkTime), binary.getLastCheckTime("owner/repo"));
+        assertEquals(Constants.MAX_EVENT_IDS, binary.getProcessedEventCount("owner/repo"));
+        assertTrue(binary.isProcessed("owner/repo", 7 * 0x9E3779B97F4A7C15L));
+        assertTrue(Files.size(binaryFile) < Files.size(jsonFile), "Binary state should be smaller");
     }
 }
@@ -0,0 +1,348 @@
+package com.github.matei.sentinel;
+
+import com.github.matei.sentinel.client.GitHubApiClientImpl;
+import com.github.matei.sentinel.client.RateLimitExceededException;
+import com.github.matei.sentinel.client.RunFilter;
+import com.github.matei.sentinel.model.Job;
+import com.github.matei.sentinel.model.WorkflowRun;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GitHubApiClientImplTest {
+
+    private static final String RUNS_BODY = """
+            {"total_count": 2, "workflow_runs": [
+              {"id": 11, "name": "CI", "status": "completed", "conclusion": "success",
+               "head_branch": "main", "head_sha": "abc123", "updated_at": "2025-11-15T10:05:00Z",
+               "run_finished_at": "2025-11-15T10:05:00Z", "repository": {"id": 1, "name": "repo"}},
+              {"id": 12, "name": "CI", "status": "in_progress", "conclusion": null,
+               "head_branch": "dev", "head_sha": "def456", "updated_at": "2025-11-15T09:00:00Z"}
+            ]}
+            """;
+
+    private static final String JOBS_BODY = """
+            {"total_count": 1, "jobs": [
+              {"id": 101, "run_id": 11, "name": "build", "status": "completed", "conclusion": "success",
+               "started_at": "2025-11-15T10:00:00Z", "completed_at": "2025-11-15T10:04:00Z",
+               "labels": ["ubuntu-latest"],
+               "steps": [
+                 {"name": "Checkout", "status": "completed", "conclusion": "success", "number": 1,
+                  "started_at": "2025-11-15T10:00:00Z", "completed_at": "2025-11-15T10:00:05Z"},
+                 {"name": "Build", "status": "in_progress", "conclusion": null, "number": 2,
+                  "started_at": "2025-11-15T10:00:05Z", "completed_at": null}
+               ]}
+            ]}
+            """;
+
+    private static final Instant RESET = Instant.parse("2030-01-01T00:00:00Z");
+
+    private HttpServer server;
+    private final Map<String, String> bodies = new ConcurrentHashMap<>();
+    private final AtomicInteger notModifiedResponses = new AtomicInteger();
+    private final AtomicInteger requests = new AtomicInteger();
+    private final List<String> queries = new CopyOnWriteArrayList<>();
+    private final List<String> paths = new CopyOnWriteArrayList<>();
+    private GitHubApiClientImpl client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        bodies.put("/repos/owner/repo/actions/runs", RUNS_BODY);
+        bodies.put("/repos/owner/repo/actions/runs/11/jobs", JOBS_BODY);
+
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", this::handle);
+        server.start();
+
+        client = new GitHubApiClientImpl("token",
+                "http://127.0.0.1:" + server.getAddress().getPort(), Duration.ZERO);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void testParsesWorkflowRuns() throws Exception {
+        List<WorkflowRun> runs = client.getWorkflowRuns("owner", "repo", null);
+
+        assertEquals(2, runs.size());
+        WorkflowRun run = runs.get(0);
+        assertEquals(11L, run.getId());
+        assertEquals("CI", run.getName());
+        assertEquals("completed", run.getStatus());
+        assertEquals("success", run.getConclusion());
+        assertEquals("main", run.getHeadBranch());
+        assertEquals(Instant.parse("2025-11-15T10:05:00Z"), run.getConcludedAt());
+        assertNull(runs.get(1).getConclusion());
+        assertNull(runs.get(1).getConcludedAt());
+    }
+
+    @Test
+    void testFiltersWorkflowRunsBySince() throws Exception {
+        List<WorkflowRun> runs = client.getWorkflowRuns("owner", "repo", Instant.parse("2025-11-15T10:00:00Z"));
+
+        assertEquals(1, runs.size());
+        assertEquals(11L, runs.get(0).getId());
+    }
+
+    @Test
+    void testPushesFiltersIntoQueryString() throws Exception {
+        List<WorkflowRun> runs = client.getWorkflowRuns("owner", "repo",
+                Instant.parse("2025-11-15T10:00:00Z"), new RunFilter("main", "push"));
+
+        assertEquals(7, queries.size(),
+                "Recent runs, active statuses and the creation window are queried separately");
+        for (String status : List.of("in_progress", "queued", "waiting", "requested", "pending")) {
+            assertTrue(queries.stream().anyMatch(q -> q.contains("status=" + status)), status);
+        }
+        assertTrue(queries.stream().anyMatch(q -> q.contains("created=>=2025-11-15T09:59:00Z")),
+                "Creation window should start a clock-skew margin before since");
+        assertTrue(queries.stream().allMatch(q -> q.contains("branch=main") && q.contains("event=push")));
+        assertEquals(1, runs.size(), "Runs returned by several queries should be merged");
+    }
+
+    @Test
+    void testCatchUpReadsEveryPage() throws Exception {
+        addPagedRuns();
+
+        List<WorkflowRun> runs = client.getWorkflowRuns("owner", "paged", Instant.parse("2025-11-15T10:00:00Z"));
+
+        assertEquals(List.of(21L, 22L, 23L), runs.stream().map(WorkflowRun::getId).sorted().toList());
+        assertEquals(21, requests.get(), "Each of the seven listings should be read in three pages");
+        assertEquals(7, queries.stream().filter(q -> q.contains("page=3")).count());
+    }
+
+    @Test
+    void testSteadyStatePollReadsFirstPageOnly() throws Exception {
+        addPagedRuns();
+
+        // The newest runs were last updated before the previous poll
+        List<WorkflowRun> runs = client.getWorkflowRuns("owner", "paged", Instant.parse("2025-11-15T10:10:00Z"));
+
+        assertTrue(runs.isEmpty());
+        assertEquals(7, requests.get(), "Each listing should stop after its first page");
+    }
+
+    @Test
+    void testRunsAreStreamedPageByPage() throws Exception {
+        addPagedRuns();
+        List<List<WorkflowRun>> batches = new CopyOnWriteArrayList<>();
+
+        client.streamWorkflowRuns("owner", "paged", Instant.parse("2025-11-15T10:00:00Z"),
+                RunFilter.NONE, batches::add);
+
+        assertEquals(3, batches.size(), "Each page should be delivered separately, runs already seen are dropped");
+        assertTrue(batches.stream().allMatch(batch -> batch.size() == 1));
+    }
+
+    @Test
+    void testRunsNoLongerActiveAreFetchedById() throws Exception {
+        Instant since = Instant.parse("2025-11-15T10:00:00Z");
+        bodies.put("/repos/owner/repo/actions/runs", """
+                {"total_count": 2, "workflow_runs": [
+                  {"id": 12, "name": "CI", "status": "in_progress", "conclusion": null,
+                   "head_branch": "dev", "head_sha": "def456", "updated_at": "2025-11-15T10:05:00Z"},
+                  {"id": 13, "name": "CI", "status": "queued", "conclusion": null,
+                   "head_branch": "main", "head_sha": "abc123", "updated_at": "2025-11-15T10:06:00Z"}
+                ]}
+                """);
+        client.getWorkflowRuns("owner", "repo", since);
+
+        // Run 12 completed and dropped out of every listing; run 13 was deleted
+        bodies.put("/repos/owner/repo/actions/runs", "{\"total_count\": 0, \"workflow_runs\": []}");
+        bodies.put("/repos/owner/repo/actions/runs/12", """
+                {"id": 12, "name": "CI", "status": "completed", "conclusion": "success",
+                 "head_branch": "dev", "head_sha": "def456", "updated_at": "2025-11-15T10:10:00Z",
+                 "run_finished_at": "2025-11-15T10:10:00Z"}
+                """);
+        List<WorkflowRun> runs = client.getWorkflowRuns("owner", "repo", since);
+
+        assertEquals(1, runs.size());
+        assertEquals(12L, runs.get(0).getId());
+        assertEquals("completed", runs.get(0).getStatus());
+
+        client.getWorkflowRuns("owner", "repo", since);
+        assertEquals(1, paths.stream().filter("/repos/owner/repo/actions/runs/12"::equals).count(),
+                "A completed run should not be fetched again");
+        assertEquals(1, paths.stream().filter("/repos/owner/repo/actions/runs/13"::equals).count(),
+                "A deleted run should be dropped");
+    }
+
+    @Test
+    void testFirstPollCatchesRunsCompletedDuringDowntime() throws Exception {
+        Instant since = Instant.parse("2025-11-15T10:00:00Z");
+        // Run 11 was in progress at shutdown, so it is neither active nor newly created
+        bodies.put("/repos/owner/repo/actions/runs", """
+                {"total_count": 1, "workflow_runs": [
+                  {"id": 11, "name": "CI", "status": "completed", "conclusion": "success",
+                   "head_branch": "main", "head_sha": "abc123", "updated_at": "2025-11-15T10:05:00Z",
+                   "run_finished_at": "2025-11-15T10:05:00Z"}
+                ]}
+                """);
+        bodies.put("/repos/owner/repo/actions/runs?filtered", "{\"total_count\": 0, \"workflow_runs\": []}");
+
+        List<WorkflowRun> runs = client.getWorkflowRuns("owner", "repo", since);
+
+        assertEquals(List.of(11L), runs.stream().map(WorkflowRun::getId).toList());
+
+        queries.clear();
+        client.getWorkflowRuns("owner", "repo", since);
+        assertEquals(6, queries.size(), "Later polls should not read the unfiltered listing");
+    }
+
+    @Test
+    void testParsesJobsWithSteps() throws Exception {
+        List<Job> jobs = client.getJobsForRun("owner", "repo", 11);
+
+        assertEquals(1, jobs.size());
+        Job job = jobs.get(0);
+        assertEquals(101L, job.getId());
+        assertEquals(11L, job.getRunId());
+        assertEquals(2, job.getSteps().size());
+        assertEquals("Checkout", job.getSteps().get(0).getName());
+        assertEquals(2, job.getSteps().get(1).getNumber());
+        assertNull(job.getSteps().get(1).getCompletedAt());
+    }
+
+    @Test
+    void testNotModifiedReusesPreviousResult() throws Exception {
+        List<Job> first = client.getJobsForRun("owner", "repo", 11);
+        List<Job> second = client.getJobsForRun("owner", "repo", 11);
+
+        assertEquals(1, notModifiedResponses.get(), "Second request should be revalidated with 304");
+        assertSame(first, second, "304 should reuse the previously parsed result");
+        assertEquals(1, client.getConditionalHitCount());
+        assertEquals(1, client.getConditionalMissCount());
+    }
+
+    @Test
+    void testChangedResourceIsFetchedAgain() throws Exception {
+        client.getJobsForRun("owner", "repo", 11);
+        bodies.put("/repos/owner/repo/actions/runs/11/jobs", JOBS_BODY.replace("\"build\"", "\"test\""));
+
+        List<Job> jobs = client.getJobsForRun("owner", "repo", 11);
+
+        assertEquals("test", jobs.get(0).getName());
+        assertEquals(0, client.getConditionalHitCount());
+        assertEquals(2, client.getConditionalMissCount());
+    }
+
+    @Test
+    void testFreshResultIsServedWithoutRequest() throws Exception {
+        GitHubApiClientImpl cachingClient = new GitHubApiClientImpl("token",
+                "http://127.0.0.1:" + server.getAddress().getPort(), Duration.ofMinutes(1));
+
+        List<Job> first = cachingClient.getJobsForRun("owner", "repo", 11);
+        List<Job> second = cachingClient.getJobsForRun("owner", "repo", 11);
+
+        assertEquals(1, requests.get());
+        assertSame(first, second, "Cache hit should return the parsed result as is");
+        assertThrows(UnsupportedOperationException.class, () -> second.add(first.get(0)));
+        assertEquals(1, cachingClient.getResponseCacheStats().hitCount());
+        assertEquals(1, cachingClient.getResponseCacheStats().size());
+    }
+
+    @Test
+    void testErrorStatusThrows() {
+        RuntimeException e = assertThrows(RuntimeException.class,
+                () -> client.getJobsForRun("owner", "repo", 999));
+
+        assertTrue(e.getMessage().contains("404"));
+    }
+
+    @Test
+    void testRateLimitHeadersAreTracked() throws Exception {
+        client.getWorkflowRuns("owner", "repo", null);
+
+        assertEquals(4999, client.getRateLimitTracker().getStatus().orElseThrow().remaining());
+        assertEquals(1, client.getRateLimitTracker().getChargedRequestCount());
+    }
+
+    @Test
+    void testExhaustedRateLimitThrowsTypedException() {
+        RateLimitExceededException e = assertThrows(RateLimitExceededException.class,
+                () -> client.getWorkflowRuns("owner", "limited", null));
+
+        assertTrue(e.getMessage().contains("403"));
+        assertEquals(RESET, e.getRetryAt());
+    }
+
+    private void addPagedRuns() {
+        // 250 runs in total: three pages of 100, one run on each served here
+        for (int page = 1; page <= 3; page++) {
+            String body = """
+                    {"total_count": 250, "workflow_runs": [
+                      {"id": %d, "name": "CI", "status": "completed", "conclusion": "success",
+                       "head_branch": "main", "head_sha": "abc123", "updated_at": "2025-11-15T10:05:00Z"}
+                    ]}
+                    """.formatted(20 + page);
+            bodies.put("/repos/owner/paged/actions/runs" + (page == 1 ? "" : "?page=" + page), body);
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        queries.add(String.valueOf(exchange.getRequestURI().getQuery()));
+        paths.add(exchange.getRequestURI().getPath());
+        if (exchange.getRequestURI().getPath().startsWith("/repos/owner/limited/")) {
+            exchange.getResponseHeaders().add("X-RateLimit-Limit", "5000");
+            exchange.getResponseHeaders().add("X-RateLimit-Remaining", "0");
+            exchange.getResponseHeaders().add("X-RateLimit-Reset", String.valueOf(RESET.getEpochSecond()));
+            send(exchange, 403, "{\"message\": \"API rate limit exceeded\"}");
+            return;
+        }
+        exchange.getResponseHeaders().add("X-RateLimit-Limit", "5000");
+        exchange.getResponseHeaders().add("X-RateLimit-Remaining", "4999");
+        exchange.getResponseHeaders().add("X-RateLimit-Reset", String.valueOf(RESET.getEpochSecond()));
+
+        String path = exchange.getRequestURI().getPath();
+        String query = String.valueOf(exchange.getRequestURI().getQuery());
+        Matcher page = Pattern.compile("(?:^|&)page=(\\d+)").matcher(query);
+        String body = bodies.get(page.find() ? path + "?page=" + page.group(1) : path);
+        if (query.contains("status=") || query.contains("created=")) {
+            body = bodies.getOrDefault(path + "?filtered", body);
+        }
+        if (body == null) {
+            send(exchange, 404, "{\"message\": \"Not Found\"}");
+            return;
+        }
+
+        String etag = "\"" + Integer.toHexString(body.hashCode()) + "\"";
+        exchange.getResponseHeaders().add("ETag", etag);
+        if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+            notModifiedResponses.incrementAndGet();
+            exchange.sendResponseHeaders(304, -1);
+            exchange.close();
+            return;
+        }
+        send(exchange, 200, body);
+    }
+
+    private void send(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
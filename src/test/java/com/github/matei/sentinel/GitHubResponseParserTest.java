@@ -0,0 +1,114 @@
+package com.github.matei.sentinel;
+
+import com.github.matei.sentinel.client.GitHubResponseParser;
+import com.github.matei.sentinel.client.WebhookPayload;
+import com.github.matei.sentinel.model.Job;
+import com.github.matei.sentinel.model.WorkflowRun;
+import com.google.gson.JsonParseException;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GitHubResponseParserTest {
+
+    @Test
+    void testSkipsUnknownNestedFields() throws Exception {
+        String body = """
+                {"total_count": 1, "workflow_runs": [
+                  {"head_commit": {"id": "abc", "author": {"name": "x", "email": "y"}, "message": "m"},
+                   "id": 7, "name": "CI", "status": "queued", "conclusion": null,
+                   "pull_requests": [{"id": 1, "head": {"ref": "x"}}],
+                   "head_branch": "main", "head_sha": "abc", "updated_at": "2025-11-15T10:00:00Z",
+                   "repository": {"id": 1, "owner": {"login": "owner"}}}
+                ], "extra": [1, 2, 3]}
+                """;
+
+        List<WorkflowRun> runs = GitHubResponseParser.parseWorkflowRuns(new StringReader(body));
+
+        assertEquals(1, runs.size());
+        assertEquals(7L, runs.get(0).getId());
+        assertEquals("queued", runs.get(0).getStatus());
+        assertEquals(Instant.parse("2025-11-15T10:00:00Z"), runs.get(0).getUpdatedAt());
+    }
+
+    @Test
+    void testNullStepsBecomeEmptyList() throws Exception {
+        String body = """
+                {"jobs": [{"id": 1, "run_id": 2, "name": "build", "status": "queued", "steps": null}]}
+                """;
+
+        List<Job> jobs = GitHubResponseParser.parseJobs(new StringReader(body));
+
+        assertEquals(1, jobs.size());
+        assertTrue(jobs.get(0).getSteps().isEmpty());
+        assertNull(jobs.get(0).getStartedAt());
+    }
+
+    @Test
+    void testMissingRequiredFieldThrows() {
+        String body = """
+                {"jobs": [{"id": 1, "name": "build", "status": "queued"}]}
+                """;
+
+        assertThrows(JsonParseException.class, () -> GitHubResponseParser.parseJobs(new StringReader(body)));
+    }
+
+    @Test
+    void testEmptyResponse() throws Exception {
+        assertTrue(GitHubResponseParser.parseWorkflowRuns(new StringReader("{\"total_count\": 0}")).isEmpty());
+    }
+
+    @Test
+    void testParsesWorkflowRunWebhook() throws Exception {
+        String body = """
+                {"action": "completed",
+                 "workflow_run": {"id": 7, "name": "CI", "status": "completed", "conclusion": "failure",
+                   "event": "push", "head_branch": "main", "head_sha": "abc",
+                   "updated_at": "2025-11-15T10:05:00Z", "head_repository": {"full_name": "fork/repo"}},
+                 "workflow": {"id": 3, "name": "CI"},
+                 "repository": {"id": 1, "full_name": "owner/repo", "owner": {"login": "owner"}},
+                 "sender": {"login": "someone"}}
+                """;
+
+        WebhookPayload payload = GitHubResponseParser.parseWebhookPayload(new StringReader(body));
+
+        assertEquals("owner/repo", payload.repository());
+        assertEquals("push", payload.event());
+        assertNull(payload.workflowJob());
+        assertEquals(7L, payload.workflowRun().getId());
+        assertEquals(Instant.parse("2025-11-15T10:05:00Z"), payload.workflowRun().getConcludedAt(),
+                "A completed webhook run should be concluded at its last update");
+    }
+
+    @Test
+    void testParsesWorkflowJobWebhook() throws Exception {
+        String body = """
+                {"action": "in_progress",
+                 "workflow_job": {"id": 101, "run_id": 7, "name": "build", "status": "in_progress",
+                   "workflow_name": "CI", "head_branch": "main", "started_at": "2025-11-15T10:00:00Z",
+                   "steps": [{"name": "Checkout", "status": "in_progress", "number": 1,
+                              "started_at": "2025-11-15T10:00:00Z"}]},
+                 "repository": {"full_name": "owner/repo"}}
+                """;
+
+        WebhookPayload payload = GitHubResponseParser.parseWebhookPayload(new StringReader(body));
+
+        assertNull(payload.workflowRun());
+        assertEquals(7L, payload.workflowJob().getRunId());
+        assertEquals(1, payload.workflowJob().getSteps().size());
+    }
+
+    @Test
+    void testWebhookWithoutRunOrJobThrows() {
+        String body = """
+                {"zen": "Keep it logically awesome.", "repository": {"full_name": "owner/repo"}}
+                """;
+
+        assertThrows(JsonParseException.class,
+                () -> GitHubResponseParser.parseWebhookPayload(new StringReader(body)));
+    }
+}
@@ -0,0 +1,108 @@
+package com.github.matei.sentinel;
+
+import com.github.matei.sentinel.client.GitHubApiClient;
+import com.github.matei.sentinel.model.Job;
+import com.github.matei.sentinel.model.WorkflowRun;
+import com.github.matei.sentinel.monitor.JobFetcher;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JobFetcherTest {
+
+    @Test
+    void testFetchesJobsForEveryRun() throws Exception {
+        JobFetcher fetcher = new JobFetcher(new SlowClient(0), 4);
+
+        Map<Long, List<Job>> jobsMap = fetcher.fetchJobs("owner", "repo", runs(20));
+
+        assertEquals(20, jobsMap.size());
+        for (long id = 1; id <= 20; id++) {
+            assertEquals(id, jobsMap.get(id).get(0).getRunId());
+        }
+    }
+
+    @Test
+    void testConcurrencyIsCapped() throws Exception {
+        SlowClient client = new SlowClient(50);
+        JobFetcher fetcher = new JobFetcher(client, 3);
+
+        fetcher.fetchJobs("owner", "repo", runs(12));
+
+        assertTrue(client.maxInFlight.get() <= 3, "Should never exceed the concurrency cap");
+        assertTrue(client.maxInFlight.get() > 1, "Requests should overlap");
+    }
+
+    @Test
+    void testSequentialWhenConcurrencyIsOne() throws Exception {
+        SlowClient client = new SlowClient(5);
+        JobFetcher fetcher = new JobFetcher(client, 1);
+
+        Map<Long, List<Job>> jobsMap = fetcher.fetchJobs("owner", "repo", runs(5));
+
+        assertEquals(5, jobsMap.size());
+        assertEquals(1, client.maxInFlight.get());
+    }
+
+    @Test
+    void testFailureIsRethrownUnwrapped() {
+        GitHubApiClient failing = new SlowClient(0) {
+            @Override
+            public List<Job> getJobsForRun(String owner, String repo, long runId) {
+                throw new RuntimeException("GitHub API error: 404 - Not Found");
+            }
+        };
+        JobFetcher fetcher = new JobFetcher(failing, 4);
+
+        RuntimeException e = assertThrows(RuntimeException.class,
+                () -> fetcher.fetchJobs("owner", "repo", runs(3)));
+        assertTrue(e.getMessage().contains("404"));
+    }
+
+    @Test
+    void testInvalidConcurrency() {
+        assertThrows(IllegalArgumentException.class, () -> new JobFetcher(new SlowClient(0), 0));
+    }
+
+    private static List<WorkflowRun> runs(int count) {
+        List<WorkflowRun> runs = new ArrayList<>();
+        Instant now = Instant.now();
+        for (long id = 1; id <= count; id++) {
+            runs.add(new WorkflowRun(id, "CI", "in_progress", null, "main", "abc", now, null));
+        }
+        return runs;
+    }
+
+    private static class SlowClient implements GitHubApiClient {
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicInteger maxInFlight = new AtomicInteger();
+        private final long delayMillis;
+
+        SlowClient(long delayMillis) {
+            this.delayMillis = delayMillis;
+        }
+
+        @Override
+        public List<WorkflowRun> getWorkflowRuns(String owner, String repo, Instant since) {
+            return List.of();
+        }
+
+        @Override
+        public List<Job> getJobsForRun(String owner, String repo, long runId) throws Exception {
+            int current = inFlight.incrementAndGet();
+            maxInFlight.accumulateAndGet(current, Math::max);
+            try {
+                Thread.sleep(delayMillis);
+                return List.of(new Job(runId * 100, runId, "build", "queued", null, null, null, null));
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        }
+    }
+}
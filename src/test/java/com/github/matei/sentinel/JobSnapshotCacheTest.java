@@ -0,0 +1,75 @@
+package com.github.matei.sentinel;
+
+import com.github.matei.sentinel.model.Job;
+import com.github.matei.sentinel.model.WorkflowRun;
+import com.github.matei.sentinel.monitor.JobSnapshotCache;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JobSnapshotCacheTest {
+
+    private static final Instant UPDATED = Instant.parse("2025-11-15T10:00:00Z");
+
+    private final JobSnapshotCache cache = new JobSnapshotCache();
+
+    @Test
+    void testOnlyActiveRunsAreFetchedOnceSeen() {
+        List<WorkflowRun> runs = new ArrayList<>();
+        for (long id = 1; id <= 100; id++) {
+            runs.add(run(id, "completed", UPDATED));
+        }
+        runs.add(run(101, "in_progress", UPDATED));
+        runs.add(run(102, "queued", UPDATED));
+
+        assertEquals(102, cache.runsToFetch(runs).size(), "Every run is new on the first poll");
+        cache.merge(runs, jobsFor(runs));
+
+        List<WorkflowRun> toFetch = cache.runsToFetch(runs);
+        Map<Long, List<Job>> jobsMap = cache.merge(runs, jobsFor(toFetch));
+
+        assertEquals(List.of(101L, 102L), toFetch.stream().map(WorkflowRun::getId).toList());
+        assertEquals(102, jobsMap.size(), "Unchanged runs should reuse their previous jobs");
+        assertEquals(100, cache.getSkippedFetchCount());
+    }
+
+    @Test
+    void testRunWithNewUpdatedAtIsFetchedAgain() {
+        List<WorkflowRun> first = List.of(run(1, "completed", UPDATED));
+        cache.merge(first, jobsFor(cache.runsToFetch(first)));
+
+        List<WorkflowRun> rerun = List.of(run(1, "completed", UPDATED.plusSeconds(60)));
+
+        assertEquals(1, cache.runsToFetch(rerun).size());
+    }
+
+    @Test
+    void testRunsMissingFromPollAreForgotten() {
+        List<WorkflowRun> first = List.of(run(1, "completed", UPDATED), run(2, "completed", UPDATED));
+        cache.merge(first, jobsFor(first));
+        cache.merge(List.of(run(2, "completed", UPDATED)), Map.of());
+        cache.retain(Set.of(2L));
+
+        assertEquals(1, cache.runsToFetch(first).size(), "Run 1 was dropped and counts as new");
+    }
+
+    private static WorkflowRun run(long id, String status, Instant updatedAt) {
+        return new WorkflowRun(id, "CI", status, null, "main", "abc", updatedAt, null);
+    }
+
+    private static Map<Long, List<Job>> jobsFor(List<WorkflowRun> runs) {
+        Map<Long, List<Job>> jobs = new HashMap<>();
+        for (WorkflowRun run : runs) {
+            jobs.put(run.getId(), List.of(new Job(run.getId() * 10, run.getId(), "build",
+                    run.getStatus(), null, UPDATED, null, List.of())));
+        }
+        return jobs;
+    }
+}
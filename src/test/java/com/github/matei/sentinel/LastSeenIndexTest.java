@@ -0,0 +1,66 @@
+package com.github.matei.sentinel;
+
+import com.github.matei.sentinel.util.LastSeenIndex;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LastSeenIndexTest {
+
+    private static final long MINUTE = 60_000;
+    private static final long HOUR = 60 * MINUTE;
+
+    @Test
+    void testExpiresIdsNotSeenWithinTtl() {
+        LastSeenIndex index = new LastSeenIndex(Duration.ofHours(1), Duration.ofMinutes(1));
+        index.touch(1, 0);
+        index.touch(2, 30 * MINUTE);
+
+        assertEquals(0, index.expire(HOUR).length, "Nothing is older than the TTL yet");
+
+        // ID 1's slot ended more than an hour ago
+        assertArrayEquals(new long[] {1}, index.expire(HOUR + MINUTE + 1));
+        assertEquals(1, index.size());
+
+        assertArrayEquals(new long[] {2}, index.expire(2 * HOUR));
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void testRefreshedIdsSurvive() {
+        LastSeenIndex index = new LastSeenIndex(Duration.ofHours(1), Duration.ofMinutes(1));
+        // Seen on every poll for two hours
+        for (long now = 0; now <= 2 * HOUR; now += 5_000) {
+            index.touch(1, now);
+            index.touch(2, Math.min(now, 10 * MINUTE));
+            long[] expired = index.expire(now);
+            assertFalse(Arrays.stream(expired).anyMatch(id -> id == 1), "ID 1 is still being seen");
+        }
+
+        assertEquals(1, index.size(), "ID 2 was last seen more than an hour ago");
+        assertEquals(0, index.expire(2 * HOUR).length, "Expired IDs are reported once");
+    }
+
+    @Test
+    void testManyIdsExpireTogether() {
+        LastSeenIndex index = new LastSeenIndex(Duration.ofMinutes(10), Duration.ofSeconds(1));
+        for (long id = 0; id < 1000; id++) {
+            index.touch(id, id);
+        }
+
+        long[] expired = index.expire(20 * MINUTE);
+        Arrays.sort(expired);
+
+        assertEquals(1000, expired.length);
+        assertEquals(999, expired[999]);
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void testInvalidGranularity() {
+        assertThrows(IllegalArgumentException.class, () -> new LastSeenIndex(Duration.ofHours(1), Duration.ZERO));
+    }
+}
@@ -0,0 +1,53 @@
+package com.github.matei.sentinel;
+
+import com.github.matei.sentinel.util.LongLongMap;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongLongMapTest {
+
+    @Test
+    void testPutGetAndRemove() {
+        LongLongMap map = new LongLongMap();
+        map.put(7L, 100L);
+        map.put(7L, 200L);
+        map.put(-1L, 0L);
+
+        assertEquals(200L, map.get(7L, -1));
+        assertEquals(0L, map.get(-1L, -1));
+        assertEquals(-1L, map.get(8L, -1));
+        assertEquals(2, map.size());
+
+        assertTrue(map.remove(7L));
+        assertFalse(map.remove(7L));
+        assertFalse(map.containsKey(7L));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    void testMatchesReferenceMapUnderChurn() {
+        LongLongMap map = new LongLongMap();
+        Map<Long, Long> expected = new HashMap<>();
+        Random random = new Random(2);
+
+        for (int i = 0; i < 20_000; i++) {
+            long key = random.nextInt(2000);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key) != null, map.remove(key));
+            } else {
+                expected.put(key, (long) i);
+                map.put(key, i);
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        for (long key = 0; key < 2000; key++) {
+            assertEquals(expected.getOrDefault(key, -1L), map.get(key, -1L), "Mismatch for " + key);
+        }
+    }
+}
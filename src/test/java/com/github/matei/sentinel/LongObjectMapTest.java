@@ -0,0 +1,59 @@
+package com.github.matei.sentinel;
+
+import com.github.matei.sentinel.util.LongObjectMap;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongObjectMapTest {
+
+    @Test
+    void testPutGetAndRemove() {
+        LongObjectMap<String> map = new LongObjectMap<>();
+
+        assertNull(map.put(1L, "one"));
+        assertNull(map.put(0L, "zero")); // 0 is a valid key
+        assertEquals("one", map.put(1L, "uno"));
+
+        assertEquals("uno", map.get(1L));
+        assertEquals("zero", map.get(0L));
+        assertNull(map.get(2L));
+        assertEquals(2, map.size());
+
+        assertEquals("uno", map.remove(1L));
+        assertNull(map.remove(1L));
+        assertFalse(map.containsKey(1L));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    void testMatchesReferenceMapUnderChurn() {
+        // Random keys from a small range exercise growth, probing and backward-shift deletion
+        LongObjectMap<Long> map = new LongObjectMap<>();
+        Map<Long, Long> expected = new HashMap<>();
+        Random random = new Random(1);
+
+        for (int i = 0; i < 20_000; i++) {
+            long key = random.nextInt(2000) * 1_000_003L;
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                assertEquals(expected.put(key, (long) i), map.put(key, (long) i));
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        for (long k = 0; k < 2000; k++) {
+            assertEquals(expected.get(k * 1_000_003L), map.get(k * 1_000_003L), "Mismatch for " + k);
+        }
+    }
+
+    @Test
+    void testNullValueIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new LongObjectMap<String>().put(1L, null));
+    }
+}
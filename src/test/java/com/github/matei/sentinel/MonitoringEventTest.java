@@ -82,4 +82,34 @@ class MonitoringEventTest {
         assertEquals("Compile", event.getStepName());
         assertEquals("success", event.getConclusion());
     }
+
+    @Test
+    void testFingerprintIdentifiesEvent() {
+        Instant now = Instant.parse("2025-11-15T10:00:00Z");
+
+        long fingerprint = stepEvent(EventType.STEP_COMPLETED, now, 11, 101, 2).fingerprint();
+
+        assertEquals(fingerprint, stepEvent(EventType.STEP_COMPLETED, now, 11, 101, 2).fingerprint());
+        assertNotEquals(fingerprint, stepEvent(EventType.STEP_STARTED, now, 11, 101, 2).fingerprint());
+        assertNotEquals(fingerprint, stepEvent(EventType.STEP_COMPLETED, now.plusMillis(1), 11, 101, 2).fingerprint());
+        assertNotEquals(fingerprint, stepEvent(EventType.STEP_COMPLETED, now, 12, 101, 2).fingerprint());
+        assertNotEquals(fingerprint, stepEvent(EventType.STEP_COMPLETED, now, 11, 102, 2).fingerprint());
+        assertNotEquals(fingerprint, stepEvent(EventType.STEP_COMPLETED, now, 11, 101, 3).fingerprint());
+    }
+
+    @Test
+    void testFingerprintWithoutIdsUsesNames() {
+        Instant now = Instant.parse("2025-11-15T10:00:00Z");
+        MonitoringEvent build = new MonitoringEvent(EventType.JOB_STARTED, now, "owner/repo", "main", "abc123",
+                "CI", "build", null, null, null);
+        MonitoringEvent test = new MonitoringEvent(EventType.JOB_STARTED, now, "owner/repo", "main", "abc123",
+                "CI", "test", null, null, null);
+
+        assertNotEquals(build.fingerprint(), test.fingerprint());
+    }
+
+    private static MonitoringEvent stepEvent(EventType type, Instant timestamp, long runId, long jobId, int step) {
+        return new MonitoringEvent(type, timestamp, "owner/repo", "main", "abc123", "CI", "build", "Test",
+                null, null, runId, jobId, step);
+    }
 }
@@ -0,0 +1,106 @@
+package com.github.matei.sentinel;
+
+import com.github.matei.sentinel.client.RateLimitTracker;
+import com.github.matei.sentinel.monitor.RateLimitPacer;
+import org.junit.jupiter.api.Test;
+
+import java.net.http.HttpHeaders;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitPacerTest {
+
+    private static final Instant NOW = Instant.parse("2025-11-15T10:00:00Z");
+    private static final Clock CLOCK = Clock.fixed(NOW, ZoneOffset.UTC);
+
+    private final RateLimitTracker tracker = new RateLimitTracker(CLOCK);
+    private final RateLimitPacer pacer = new RateLimitPacer(tracker, CLOCK);
+
+    @Test
+    void testNoRateLimitInformation() {
+        tracker.recordResponse(200, headers(Map.of()));
+
+        assertEquals(Duration.ZERO, pacer.reserveNext());
+    }
+
+    @Test
+    void testSpreadsRemainingBudgetOverWindow() {
+        // 1000 left, 500 reserved: 500 spendable over 1000s (+1s margin) -> ~2s per request
+        Instant reset = NOW.plusSeconds(1000);
+        for (int i = 0; i < 10; i++) {
+            tracker.recordResponse(200, rateLimitHeaders(5000, 1000, reset));
+        }
+
+        Duration delay = pacer.reserveNext();
+
+        assertEquals(Duration.ofSeconds(1001).multipliedBy(10).dividedBy(500), delay);
+    }
+
+    @Test
+    void testNotModifiedResponsesAreFree() {
+        tracker.recordResponse(304, rateLimitHeaders(5000, 1000, NOW.plusSeconds(1000)));
+
+        assertEquals(0, tracker.getChargedRequestCount());
+        assertEquals(Duration.ZERO, pacer.reserveNext());
+    }
+
+    @Test
+    void testReservationsFromSeveralCallersAccumulate() {
+        Instant reset = NOW.plusSeconds(1000);
+        tracker.recordResponse(200, rateLimitHeaders(5000, 1000, reset));
+        Duration first = pacer.reserveNext();
+        tracker.recordResponse(200, rateLimitHeaders(5000, 1000, reset));
+        Duration second = pacer.reserveNext();
+
+        assertEquals(first.multipliedBy(2), second);
+    }
+
+    @Test
+    void testPausesUntilResetWhenReserveReached() {
+        Instant reset = NOW.plusSeconds(600);
+        tracker.recordResponse(200, rateLimitHeaders(5000, 400, reset));
+
+        assertEquals(Duration.ofSeconds(601), pacer.reserveNext());
+    }
+
+    @Test
+    void testRetryAfterTakesPrecedence() {
+        tracker.recordResponse(403, headers(Map.of("Retry-After", "60")));
+
+        assertEquals(Duration.ofSeconds(60), pacer.reserveNext());
+    }
+
+    @Test
+    void testTrackerKeepsLowestRemainingWithinWindow() {
+        Instant reset = NOW.plusSeconds(1000);
+        tracker.recordResponse(200, rateLimitHeaders(5000, 900, reset));
+        tracker.recordResponse(200, rateLimitHeaders(5000, 950, reset));
+
+        assertEquals(900, tracker.getStatus().orElseThrow().remaining());
+
+        tracker.recordResponse(200, rateLimitHeaders(5000, 4999, reset.plusSeconds(3600)));
+
+        assertEquals(4999, tracker.getStatus().orElseThrow().remaining());
+    }
+
+    private static HttpHeaders rateLimitHeaders(int limit, int remaining, Instant reset) {
+        return headers(Map.of(
+                "X-RateLimit-Limit", String.valueOf(limit),
+                "X-RateLimit-Remaining", String.valueOf(remaining),
+                "X-RateLimit-Used", String.valueOf(limit - remaining),
+                "X-RateLimit-Reset", String.valueOf(reset.getEpochSecond())));
+    }
+
+    private static HttpHeaders headers(Map<String, String> values) {
+        Map<String, List<String>> map = new HashMap<>();
+        values.forEach((name, value) -> map.put(name, List.of(value)));
+        return HttpHeaders.of(map, (name, value) -> true);
+    }
+}
@@ -0,0 +1,113 @@
+package com.github.matei.sentinel;
+
+import com.github.matei.sentinel.client.WebhookPayload;
+import com.github.matei.sentinel.webhook.WebhookReceiver;
+import com.github.matei.sentinel.webhook.WebhookSignature;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WebhookReceiverTest {
+
+    private static final String SECRET = "It's a Secret to Everybody";
+
+    private static final String RUN_BODY = """
+            {"action": "requested",
+             "workflow_run": {"id": 7, "name": "CI", "status": "queued", "conclusion": null, "event": "push",
+               "head_branch": "main", "head_sha": "abc", "updated_at": "2025-11-15T10:00:00Z"},
+             "repository": {"full_name": "owner/repo"}}
+            """;
+
+    private final List<WebhookPayload> received = new CopyOnWriteArrayList<>();
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private WebhookReceiver receiver;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        receiver = new WebhookReceiver(new InetSocketAddress("127.0.0.1", 0), SECRET, received::add);
+        receiver.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        receiver.stop();
+    }
+
+    @Test
+    void testSignatureMatchesGitHubExample() {
+        // Example from GitHub's "Validating webhook deliveries" documentation
+        String signature = new WebhookSignature(SECRET).sign("Hello, World!".getBytes(StandardCharsets.UTF_8));
+
+        assertEquals("sha256=757107ea0eb2509fc211221cce984b8a37570b6d7586c22c46f4379c8b043e17", signature);
+    }
+
+    @Test
+    void testSignedDeliveryIsAccepted() throws Exception {
+        HttpResponse<String> response = deliver("workflow_run", RUN_BODY, sign(RUN_BODY));
+
+        assertEquals(202, response.statusCode());
+        assertEquals(1, received.size());
+        assertEquals("owner/repo", received.get(0).repository());
+        assertEquals(7L, received.get(0).workflowRun().getId());
+        assertEquals(1, receiver.getAcceptedCount());
+    }
+
+    @Test
+    void testInvalidSignatureIsRejected() throws Exception {
+        HttpResponse<String> response = deliver("workflow_run", RUN_BODY, sign(RUN_BODY.replace("7", "8")));
+
+        assertEquals(401, response.statusCode());
+        assertTrue(received.isEmpty());
+        assertEquals(1, receiver.getRejectedCount());
+    }
+
+    @Test
+    void testMissingSignatureIsRejected() throws Exception {
+        assertEquals(401, deliver("workflow_run", RUN_BODY, null).statusCode());
+        assertTrue(received.isEmpty());
+    }
+
+    @Test
+    void testOtherEventsAreAcknowledgedAndIgnored() throws Exception {
+        String ping = "{\"zen\": \"Design for failure.\"}";
+
+        assertEquals(200, deliver("ping", ping, sign(ping)).statusCode());
+        assertEquals(202, deliver("push", ping, sign(ping)).statusCode());
+        assertTrue(received.isEmpty());
+    }
+
+    @Test
+    void testMalformedPayloadIsRejected() throws Exception {
+        String body = "{\"repository\": {\"full_name\": \"owner/repo\"}}";
+
+        assertEquals(400, deliver("workflow_job", body, sign(body)).statusCode());
+        assertTrue(received.isEmpty());
+    }
+
+    private String sign(String body) {
+        return new WebhookSignature(SECRET).sign(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private HttpResponse<String> deliver(String event, String body, String signature) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(
+                        URI.create("http://127.0.0.1:" + receiver.getPort() + "/webhook"))
+                .header("X-GitHub-Event", event)
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+        if (signature != null) {
+            request.header("X-Hub-Signature-256", signature);
+        }
+        return httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -1,5 +1,6 @@
 package com.github.matei.sentinel;
 
+import com.github.matei.sentinel.model.Status;
 import com.github.matei.sentinel.model.WorkflowRun;
 import org.junit.jupiter.api.Test;
 
@@ -26,6 +27,7 @@ class WorkflowRunTest {
         assertEquals(12345L, run.getId());
         assertEquals("CI Pipeline", run.getName());
         assertEquals("completed", run.getStatus());
+        assertEquals(Status.COMPLETED, run.getState());
         assertEquals("success", run.getConclusion());
         assertEquals("main", run.getHeadBranch());
         assertEquals("abc123def456", run.getHeadSha());
@@ -56,4 +58,15 @@ class WorkflowRunTest {
         assertTrue(str.contains("CI"));
         assertTrue(str.contains("completed"));
     }
+
+    @Test
+    void testStatusIsParsedOnce() {
+        Instant now = Instant.now();
+
+        assertEquals(Status.WAITING, new WorkflowRun(1L, "CI", "waiting", null, "main", "abc", now, null).getState());
+        assertEquals(Status.UNKNOWN, new WorkflowRun(1L, "CI", null, null, "main", "abc", now, null).getState());
+        assertEquals(Status.UNKNOWN, new WorkflowRun(1L, "CI", "new_status", null, "main", "abc", now, null).getState());
+        assertTrue(Status.REQUESTED.isPending());
+        assertFalse(Status.IN_PROGRESS.isPending());
+    }
 }